@@ -0,0 +1,111 @@
+package br.com.authentication.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Blocking calls to the real HTTP endpoints, one per virtual thread. Every call is recorded in
+ * the report under its endpoint, measured from the given scheduled time.
+ */
+final class AuthApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final URI baseUri;
+    private final LatencyReport report;
+
+    AuthApiClient(URI baseUri, LatencyReport report) {
+        this.baseUri = baseUri;
+        this.report = report;
+    }
+
+    boolean register(String email, String password, long scheduledNanos) {
+        return isSuccess(send(Endpoint.REGISTER, post("/api/auth/register", Map.of(
+                "fullName", "Load Test User",
+                "email", email,
+                "password", password,
+                "confirmPassword", password)), scheduledNanos));
+    }
+
+    /**
+     * @return the JWT, or null when the login failed
+     */
+    String login(String email, String password, long scheduledNanos) {
+        HttpResponse<String> response = send(Endpoint.LOGIN, post("/api/auth/login", Map.of(
+                "email", email,
+                "password", password)), scheduledNanos);
+        if (!isSuccess(response)) {
+            return null;
+        }
+        try {
+            return mapper.readTree(response.body()).path("data").path("token").asText(null);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    boolean profile(String token, long scheduledNanos) {
+        return isSuccess(send(Endpoint.PROFILE, request("/api/user/profile")
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build(), scheduledNanos));
+    }
+
+    boolean forgotPassword(String email, long scheduledNanos) {
+        return isSuccess(send(Endpoint.FORGOT_PASSWORD, post("/api/auth/forgot-password", Map.of(
+                "email", email)), scheduledNanos));
+    }
+
+    boolean resetPassword(String token, String newPassword, long scheduledNanos) {
+        return isSuccess(send(Endpoint.RESET_PASSWORD, post("/api/auth/reset-password", Map.of(
+                "token", token,
+                "newPassword", newPassword)), scheduledNanos));
+    }
+
+    private HttpResponse<String> send(Endpoint endpoint, HttpRequest request, long scheduledNanos) {
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            report.record(endpoint, scheduledNanos, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            report.record(endpoint, scheduledNanos, LatencyReport.NO_RESPONSE);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpRequest post(String path, Map<String, String> body) {
+        try {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private static boolean isSuccess(HttpResponse<String> response) {
+        return response != null && response.statusCode() < 400;
+    }
+}
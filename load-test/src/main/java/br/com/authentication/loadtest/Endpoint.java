@@ -0,0 +1,22 @@
+package br.com.authentication.loadtest;
+
+/**
+ * HTTP endpoints whose latency is reported separately.
+ */
+enum Endpoint {
+    REGISTER("register"),
+    LOGIN("login"),
+    PROFILE("profile"),
+    FORGOT_PASSWORD("forgot-password"),
+    RESET_PASSWORD("reset-password");
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+}
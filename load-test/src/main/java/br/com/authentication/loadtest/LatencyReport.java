@@ -0,0 +1,110 @@
+package br.com.authentication.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and status codes per endpoint. Latency runs from the time the request was scheduled,
+ * not sent, so a saturated server or generator shows up in the percentiles instead of being
+ * hidden by coordinated omission.
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    // Status recorded when no HTTP response arrived (connection failure, timeout)
+    static final int NO_RESPONSE = 0;
+
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+
+    LatencyReport() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    void record(Endpoint endpoint, long scheduledNanos, int status) {
+        long micros = Math.min(HIGHEST_TRACKABLE_MICROS, (System.nanoTime() - scheduledNanos) / 1_000);
+        EndpointStats endpointStats = stats.get(endpoint);
+        endpointStats.recorder.recordValue(Math.max(0, micros));
+        endpointStats.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    /**
+     * Discards everything recorded so far, e.g. seeding and warm-up.
+     */
+    void reset() {
+        for (EndpointStats endpointStats : stats.values()) {
+            endpointStats.recorder.getIntervalHistogram();
+            endpointStats.statuses.clear();
+        }
+    }
+
+    /**
+     * Takes the results recorded since the last reset.
+     */
+    Map<String, Map<String, Object>> snapshot(double seconds) {
+        Map<String, Map<String, Object>> endpoints = new LinkedHashMap<>();
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().recorder.getIntervalHistogram();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            Map<String, Long> statuses = new TreeMap<>();
+            long errors = 0;
+            for (Map.Entry<Integer, LongAdder> status : entry.getValue().statuses.entrySet()) {
+                long count = status.getValue().sum();
+                statuses.put(status.getKey() == NO_RESPONSE ? "none" : status.getKey().toString(), count);
+                if (status.getKey() == NO_RESPONSE || status.getKey() >= 400) {
+                    errors += count;
+                }
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("count", histogram.getTotalCount());
+            result.put("errors", errors);
+            result.put("throughputPerSecond", histogram.getTotalCount() / seconds);
+            result.put("statuses", statuses);
+            result.put("latencyMicros", percentiles(histogram));
+            // Compressed HdrHistogram, for merging runs or plotting with the HdrHistogram tools
+            result.put("histogram", encode(histogram));
+            endpoints.put(entry.getKey().label(), result);
+        }
+        return endpoints;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("min", histogram.getMinValue());
+        percentiles.put("mean", histogram.getMean());
+        percentiles.put("p50", histogram.getValueAtPercentile(50));
+        percentiles.put("p90", histogram.getValueAtPercentile(90));
+        percentiles.put("p99", histogram.getValueAtPercentile(99));
+        percentiles.put("p99.9", histogram.getValueAtPercentile(99.9));
+        percentiles.put("max", histogram.getMaxValue());
+        return percentiles;
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static final class EndpointStats {
+
+        final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,251 @@
+package br.com.authentication.loadtest;
+
+import br.com.authentication.AuthenticationApiApplication;
+import br.com.authentication.domain.repository.UserRepository;
+import br.com.authentication.loadtest.UserPool.SeededUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the register, login, profile and password reset flows against the application started
+ * in this JVM (profile "loadtest": H2 in memory, mock EmailService). Arrivals follow a fixed
+ * schedule whatever the response times (open model), each scenario runs on its own virtual
+ * thread, and per-endpoint HdrHistogram latencies are written to a JSON report.
+ * Run with: ./gradlew :load-test:run --args="--rate=200 --duration=60s"
+ */
+public final class LoadTest {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+    private static final int SEED_CONCURRENCY = 2 * Runtime.getRuntime().availableProcessors();
+
+    private final LoadTestOptions options;
+    private final AuthApiClient client;
+    private final LatencyReport report;
+    private final UserPool users;
+    private final UserRepository userRepository;
+    private final SplittableRandom random;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong registrations = new AtomicLong();
+    private final long[] scheduledByScenario = new long[Scenario.values().length];
+    private long dropped;
+
+    private LoadTest(LoadTestOptions options, URI baseUri, UserRepository userRepository) {
+        this.options = options;
+        this.report = new LatencyReport();
+        this.client = new AuthApiClient(baseUri, report);
+        this.users = new UserPool(options.users());
+        this.userRepository = userRepository;
+        this.random = new SplittableRandom(options.seed());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(AuthenticationApiApplication.class)
+                .profiles("loadtest")
+                .run()) {
+            URI baseUri = URI.create("http://localhost:" + app.getEnvironment().getProperty("local.server.port"));
+            new LoadTest(options, baseUri, app.getBean(UserRepository.class)).run();
+        }
+    }
+
+    private void run() throws Exception {
+        Instant startedAt = Instant.now();
+        seed();
+        System.out.printf("Seeded %d users, warming up for %s%n", users.size(), options.warmup());
+        generate(options.warmup());
+        drain();
+        report.reset();
+        dropped = 0;
+        Arrays.fill(scheduledByScenario, 0);
+
+        System.out.printf("Measuring %s at %.1f arrivals/s%n", options.duration(), options.rate());
+        generate(options.duration());
+        boolean drained = drain();
+        workers.close();
+
+        double seconds = options.duration().toNanos() / 1e9;
+        Map<String, Map<String, Object>> endpoints = report.snapshot(seconds);
+        print(endpoints);
+        write(startedAt, endpoints, drained);
+    }
+
+    /**
+     * Registers every pooled account and signs it in once, so login, profile and reset have users.
+     */
+    private void seed() throws InterruptedException {
+        Semaphore permits = new Semaphore(SEED_CONCURRENCY);
+        AtomicInteger failures = new AtomicInteger();
+        for (int i = 0; i < users.size(); i++) {
+            SeededUser user = users.get(i);
+            permits.acquire();
+            workers.execute(() -> {
+                try {
+                    if (client.register(user.email, UserPool.PASSWORD, System.nanoTime())) {
+                        user.token = client.login(user.email, UserPool.PASSWORD, System.nanoTime());
+                    }
+                    if (user.token == null) {
+                        failures.incrementAndGet();
+                    }
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+        permits.acquire(SEED_CONCURRENCY);
+        permits.release(SEED_CONCURRENCY);
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " of " + users.size() + " users could not be seeded");
+        }
+    }
+
+    /**
+     * Issues arrivals on schedule for the given time. An arrival that finds the generator late is
+     * sent at once, and its latency still counts from the scheduled time.
+     */
+    private void generate(Duration phase) {
+        double meanIntervalNanos = 1e9 / options.rate();
+        long next = System.nanoTime();
+        long end = next + phase.toNanos();
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // Drawn for every arrival, dropped or not, so the schedule only depends on the seed
+            Scenario scenario = options.mix().pick(random.nextDouble());
+            int userIndex = random.nextInt(users.size());
+            long scheduledNanos = next;
+            scheduledByScenario[scenario.ordinal()]++;
+            if (inFlight.incrementAndGet() > options.maxInFlight()) {
+                inFlight.decrementAndGet();
+                dropped++;
+            } else {
+                workers.execute(() -> {
+                    try {
+                        execute(scenario, userIndex, scheduledNanos);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+            next += options.poisson()
+                    ? (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos)
+                    : (long) meanIntervalNanos;
+        }
+    }
+
+    private void execute(Scenario scenario, int userIndex, long scheduledNanos) {
+        switch (scenario) {
+            case REGISTER -> client.register("new-" + registrations.incrementAndGet() + "@load.test",
+                    UserPool.PASSWORD, scheduledNanos);
+            case LOGIN -> {
+                SeededUser user = users.get(userIndex);
+                client.login(user.email, UserPool.PASSWORD, scheduledNanos);
+            }
+            case PROFILE -> client.profile(users.get(userIndex).token, scheduledNanos);
+            case RESET -> reset(userIndex, scheduledNanos);
+        }
+    }
+
+    private void reset(int userIndex, long scheduledNanos) {
+        SeededUser user = users.acquireForReset(userIndex);
+        if (user == null) {
+            return;
+        }
+        try {
+            if (!client.forgotPassword(user.email, scheduledNanos)) {
+                return;
+            }
+            // The reset email is mocked; the token is read where the email would have taken it from
+            String token = userRepository.findByEmail(user.email).map(found -> found.passwordResetToken).orElse(null);
+            if (token != null) {
+                client.resetPassword(token, UserPool.PASSWORD, System.nanoTime());
+            }
+        } finally {
+            users.release(user);
+        }
+    }
+
+    private boolean drain() throws InterruptedException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                System.out.printf("%d scenarios still running after %s%n", inFlight.get(), DRAIN_TIMEOUT);
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return true;
+    }
+
+    private void print(Map<String, Map<String, Object>> endpoints) {
+        System.out.printf("%-16s %9s %7s %10s %10s %10s %10s%n", "endpoint", "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, Map<String, Object>> entry : endpoints.entrySet()) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> latency = (Map<String, Object>) entry.getValue().get("latencyMicros");
+            System.out.printf(Locale.ROOT, "%-16s %9d %7d %10.2f %10.2f %10.2f %10.2f%n",
+                    entry.getKey(), entry.getValue().get("count"), entry.getValue().get("errors"),
+                    millis(latency.get("p50")), millis(latency.get("p99")), millis(latency.get("p99.9")), millis(latency.get("max")));
+        }
+        if (dropped > 0) {
+            System.out.printf("%d arrivals dropped at %d scenarios in flight%n", dropped, options.maxInFlight());
+        }
+    }
+
+    private void write(Instant startedAt, Map<String, Map<String, Object>> endpoints, boolean drained) throws Exception {
+        Map<String, Long> byScenario = new LinkedHashMap<>();
+        long scheduled = 0;
+        for (Scenario scenario : Scenario.values()) {
+            byScenario.put(scenario.name().toLowerCase(Locale.ROOT), scheduledByScenario[scenario.ordinal()]);
+            scheduled += scheduledByScenario[scenario.ordinal()];
+        }
+        Map<String, Object> arrivals = new LinkedHashMap<>();
+        arrivals.put("scheduled", scheduled);
+        arrivals.put("dropped", dropped);
+        arrivals.put("drained", drained);
+        arrivals.put("byScenario", byScenario);
+
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("java", Runtime.version().toString());
+        environment.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        environment.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("label", options.label());
+        json.put("startedAt", startedAt.toString());
+        json.put("options", options.toReport());
+        json.put("environment", environment);
+        json.put("arrivals", arrivals);
+        json.put("endpoints", endpoints);
+
+        if (options.report().getParent() != null) {
+            Files.createDirectories(options.report().getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.report().toFile(), json);
+        System.out.println("Report written to " + options.report().toAbsolutePath());
+    }
+
+    private static double millis(Object micros) {
+        return ((Number) micros).doubleValue() / 1_000;
+    }
+}
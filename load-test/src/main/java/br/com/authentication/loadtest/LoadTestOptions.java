@@ -0,0 +1,78 @@
+package br.com.authentication.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options, all given as {@code --name=value}.
+ *
+ * @param rate        arrivals per second, independent of how fast responses come back (open model)
+ * @param duration    length of the measured phase
+ * @param warmup      length of the unrecorded phase before it, at the same rate
+ * @param poisson     exponential inter-arrival times when true, evenly spaced arrivals otherwise
+ * @param mix         scenario weights
+ * @param users       accounts registered and signed in before the warm-up
+ * @param seed        seed of the arrival schedule, scenario and user choices
+ * @param maxInFlight arrivals beyond this many unfinished scenarios are dropped and counted
+ * @param report      JSON report file
+ * @param label       release or run name written to the report
+ */
+record LoadTestOptions(double rate, Duration duration, Duration warmup, boolean poisson, ScenarioMix mix,
+                       int users, long seed, int maxInFlight, Path report, String label) {
+
+    private static final Set<String> NAMES = Set.of(
+            "rate", "duration", "warmup", "arrivals", "mix", "users", "seed", "max-in-flight", "report", "label");
+
+    static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0 || !NAMES.contains(arg.substring(2, separator))) {
+                throw new IllegalArgumentException("Unknown option " + arg + ", expected --name=value with name in " + NAMES);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        String arrivals = values.getOrDefault("arrivals", "poisson");
+        if (!arrivals.equals("poisson") && !arrivals.equals("constant")) {
+            throw new IllegalArgumentException("--arrivals must be poisson or constant: " + arrivals);
+        }
+        String label = values.getOrDefault("label", "local");
+        LoadTestOptions options = new LoadTestOptions(
+                Double.parseDouble(values.getOrDefault("rate", "100")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                arrivals.equals("poisson"),
+                ScenarioMix.parse(values.getOrDefault("mix", "login=60,profile=25,register=10,reset=5")),
+                Integer.parseInt(values.getOrDefault("users", "500")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+                Path.of(values.getOrDefault("report",
+                        "build/reports/load-test/" + label + "-" + System.currentTimeMillis() + ".json")),
+                label);
+        if (options.rate <= 0 || options.users <= 0 || options.maxInFlight <= 0 || options.duration.isNegative()
+                || options.duration.isZero() || options.warmup.isNegative()) {
+            throw new IllegalArgumentException("rate, users, max-in-flight and duration must be positive, warmup not negative");
+        }
+        return options;
+    }
+
+    Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rate", rate);
+        report.put("duration", duration.toString());
+        report.put("warmup", warmup.toString());
+        report.put("arrivals", poisson ? "poisson" : "constant");
+        report.put("mix", mix.shares());
+        report.put("users", users);
+        report.put("seed", seed);
+        report.put("maxInFlight", maxInFlight);
+        return report;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.authentication.loadtest;
+
+/**
+ * A user flow started by one arrival. Multi-step flows record each request under its own endpoint.
+ */
+enum Scenario {
+    /** A new account with a unique email */
+    REGISTER,
+    /** A seeded user signs in */
+    LOGIN,
+    /** A seeded user reads their profile with the token from seeding */
+    PROFILE,
+    /** A seeded user requests a reset and redeems the token, keeping the same password */
+    RESET
+}
@@ -0,0 +1,75 @@
+package br.com.authentication.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Relative weights of the scenarios, e.g. {@code login=60,profile=25,register=10,reset=5}.
+ */
+final class ScenarioMix {
+
+    private final Scenario[] scenarios;
+    private final double[] cumulativeWeights;
+
+    private ScenarioMix(Scenario[] scenarios, double[] cumulativeWeights) {
+        this.scenarios = scenarios;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    static ScenarioMix parse(String spec) {
+        List<Scenario> scenarios = new ArrayList<>();
+        List<Double> cumulative = new ArrayList<>();
+        double total = 0;
+        for (String part : spec.split(",")) {
+            String[] entry = part.trim().split("=");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Expected scenario=weight in mix: " + part);
+            }
+            Scenario scenario = Scenario.valueOf(entry[0].trim().toUpperCase(Locale.ROOT));
+            double weight = Double.parseDouble(entry[1].trim());
+            if (weight < 0 || scenarios.contains(scenario)) {
+                throw new IllegalArgumentException("Invalid or repeated weight for " + entry[0] + " in mix: " + spec);
+            }
+            if (weight > 0) {
+                total += weight;
+                scenarios.add(scenario);
+                cumulative.add(total);
+            }
+        }
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no scenario with a positive weight: " + spec);
+        }
+        return new ScenarioMix(scenarios.toArray(Scenario[]::new),
+                cumulative.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    /**
+     * @param uniform a value in [0, 1)
+     */
+    Scenario pick(double uniform) {
+        double point = uniform * cumulativeWeights[cumulativeWeights.length - 1];
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+
+    /**
+     * @return the share of arrivals per scenario, summing to 1
+     */
+    Map<String, Double> shares() {
+        double total = cumulativeWeights[cumulativeWeights.length - 1];
+        Map<String, Double> shares = new LinkedHashMap<>();
+        double previous = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            shares.put(scenarios[i].name().toLowerCase(Locale.ROOT), (cumulativeWeights[i] - previous) / total);
+            previous = cumulativeWeights[i];
+        }
+        return shares;
+    }
+}
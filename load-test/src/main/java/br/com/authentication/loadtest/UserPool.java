@@ -0,0 +1,57 @@
+package br.com.authentication.loadtest;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Accounts registered before the run. Logins and profile reads may share an account; a password
+ * reset holds it exclusively, since a second reset would replace the token the first one redeems.
+ */
+final class UserPool {
+
+    static final String PASSWORD = "LoadTest1!";
+
+    private final SeededUser[] users;
+
+    UserPool(int size) {
+        users = new SeededUser[size];
+        for (int i = 0; i < size; i++) {
+            users[i] = new SeededUser("user-" + i + "@load.test");
+        }
+    }
+
+    int size() {
+        return users.length;
+    }
+
+    SeededUser get(int index) {
+        return users[index];
+    }
+
+    /**
+     * @return the first account from {@code index} on that is not being reset, or null when all are
+     */
+    SeededUser acquireForReset(int index) {
+        for (int i = 0; i < users.length; i++) {
+            SeededUser user = users[(index + i) % users.length];
+            if (user.resetting.compareAndSet(false, true)) {
+                return user;
+            }
+        }
+        return null;
+    }
+
+    void release(SeededUser user) {
+        user.resetting.set(false);
+    }
+
+    static final class SeededUser {
+
+        final String email;
+        final AtomicBoolean resetting = new AtomicBoolean();
+        volatile String token;
+
+        SeededUser(String email) {
+            this.email = email;
+        }
+    }
+}
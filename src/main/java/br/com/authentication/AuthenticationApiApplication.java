@@ -1,12 +1,19 @@
 package br.com.authentication;
 
+import br.com.authentication.config.LiquibaseMigrationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Arrays;
+
 @SpringBootApplication
 public class AuthenticationApiApplication {
 
     public static void main(String[] args) {
+        if (args.length > 0 && LiquibaseMigrationRunner.COMMAND.equals(args[0])) {
+            System.exit(LiquibaseMigrationRunner.run(Arrays.copyOfRange(args, 1, args.length)));
+            return;
+        }
         SpringApplication.run(AuthenticationApiApplication.class, args);
     }
 }
@@ -0,0 +1,74 @@
+package br.com.authentication.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Picks the highest bcrypt cost whose measured hash time stays within the latency target on
+ * the current hardware. Each cost step doubles the work, so the search stops as soon as a
+ * measurement exceeds the target.
+ */
+@Slf4j
+public class BCryptCostCalibrator {
+    
+    private static final String SAMPLE_PASSWORD = "Calibration-Sample-Password-1!";
+    private static final int MIN_BCRYPT_COST = 4;
+    private static final int MAX_BCRYPT_COST = 31;
+    
+    private final Duration targetLatency;
+    private final int minCost;
+    private final int maxCost;
+    private final int samples;
+    
+    public BCryptCostCalibrator(Duration targetLatency, int minCost, int maxCost, int samples) {
+        if (minCost < MIN_BCRYPT_COST || maxCost > MAX_BCRYPT_COST || minCost > maxCost) {
+            throw new IllegalArgumentException("Invalid bcrypt cost bounds: " + minCost + ".." + maxCost);
+        }
+        this.targetLatency = targetLatency;
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+        this.samples = Math.max(1, samples);
+    }
+    
+    public int calibrate() {
+        long targetNanos = targetLatency.toNanos();
+        // Warm up the JIT on the cheapest cost so the first measurement is not inflated
+        measure(MIN_BCRYPT_COST);
+        
+        int chosen = minCost;
+        long chosenNanos = measure(minCost);
+        while (chosen < maxCost && chosenNanos * 2 <= targetNanos) {
+            long nextNanos = measure(chosen + 1);
+            if (nextNanos > targetNanos) {
+                break;
+            }
+            chosen++;
+            chosenNanos = nextNanos;
+        }
+        
+        if (chosenNanos > targetNanos) {
+            log.warn("bcrypt cost {} takes {} ms, above the {} ms target; using the configured minimum",
+                    chosen, chosenNanos / 1_000_000, targetLatency.toMillis());
+        } else {
+            log.info("Calibrated bcrypt cost to {} ({} ms per hash, target {} ms)",
+                    chosen, chosenNanos / 1_000_000, targetLatency.toMillis());
+        }
+        return chosen;
+    }
+    
+    // Median of the samples, to ignore one-off scheduling hiccups
+    private long measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long[] durations = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            durations[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(durations);
+        return durations[samples / 2];
+    }
+}
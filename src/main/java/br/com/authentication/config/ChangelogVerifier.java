@@ -0,0 +1,62 @@
+package br.com.authentication.config;
+
+import liquibase.change.CheckSum;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks the changesets recorded in DATABASECHANGELOG against the changelog shipped with this
+ * build, without taking the Liquibase lock. Every changeset of the changelog must be applied
+ * with an unchanged checksum. Applied changesets unknown to this build are accepted: during a
+ * rolling deploy the previous version keeps running against the migrated schema.
+ */
+final class ChangelogVerifier {
+
+    private ChangelogVerifier() {
+    }
+
+    /**
+     * @return the number of changesets verified
+     * @throws IllegalStateException listing pending and modified changesets
+     */
+    static int verify(DatabaseChangeLog changeLog, Collection<AppliedChangeSet> applied) {
+        Map<String, AppliedChangeSet> appliedByKey = new HashMap<>(applied.size() * 2);
+        for (AppliedChangeSet changeSet : applied) {
+            appliedByKey.put(key(changeSet.id(), changeSet.author()), changeSet);
+        }
+
+        List<String> pending = new ArrayList<>();
+        List<String> modified = new ArrayList<>();
+        for (ChangeSet changeSet : changeLog.getChangeSets()) {
+            AppliedChangeSet record = appliedByKey.get(key(changeSet.getId(), changeSet.getAuthor()));
+            if (record == null) {
+                pending.add(changeSet.getId());
+            } else if (record.checksum() != null && !changeSet.isCheckSumValid(CheckSum.parse(record.checksum()))) {
+                // A cleared checksum (NULL) is recomputed by the next migration, as Liquibase does
+                modified.add(changeSet.getId());
+            }
+        }
+
+        if (!pending.isEmpty() || !modified.isEmpty()) {
+            throw new IllegalStateException("Database schema does not match the changelog (pending: " + pending
+                    + ", modified: " + modified + "); run the migration runner before starting in verify mode");
+        }
+        return changeLog.getChangeSets().size();
+    }
+
+    private static String key(String id, String author) {
+        return id + "::" + author;
+    }
+
+    /**
+     * One DATABASECHANGELOG row; {@code checksum} is the MD5SUM column.
+     */
+    record AppliedChangeSet(String id, String author, String checksum) {
+    }
+}
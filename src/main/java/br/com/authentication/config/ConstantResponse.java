@@ -0,0 +1,68 @@
+package br.com.authentication.config;
+
+import br.com.authentication.usecase.user.create.endpoint.SaveUserEndpoint.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+
+/**
+ * An {@link ApiResponse} whose body never changes, serialized once when the constant is created.
+ * Serving it skips building the response object and Jackson entirely: the bytes are written as
+ * they are, with the JSON content type and length already set. Meant for static fields; bodies
+ * that include request data still go through {@link ApiResponse}.
+ */
+public final class ConstantResponse {
+
+    // The API's JSON has no custom Jackson settings, so a plain mapper produces the same bytes
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpStatus status;
+    private final byte[] body;
+    private final ResponseEntity<byte[]> entity;
+
+    private ConstantResponse(HttpStatus status, ApiResponse<?> response) {
+        this.status = status;
+        try {
+            this.body = MAPPER.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Response body is not serializable", e);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(body.length);
+        // ResponseEntity keeps a read-only copy of the headers, so one instance serves every request
+        this.entity = new ResponseEntity<>(body, headers, status);
+    }
+
+    public static ConstantResponse error(HttpStatus status, String message) {
+        return new ConstantResponse(status, ApiResponse.error(message));
+    }
+
+    public static ConstantResponse success(HttpStatus status, Object data) {
+        return new ConstantResponse(status, ApiResponse.success(data));
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    public ResponseEntity<byte[]> entity() {
+        return entity;
+    }
+
+    /**
+     * Writes the response outside of Spring MVC, e.g. from a servlet filter.
+     */
+    public void writeTo(HttpServletResponse response) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -3,26 +3,70 @@ package br.com.authentication.config;
 import br.com.authentication.domain.model.User;
 import br.com.authentication.service.EmailService;
 import br.com.authentication.service.IEmailService;
+import br.com.authentication.service.IEmailTemplateEngine;
+import br.com.authentication.service.PooledJavaMailSender;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.mail.javamail.JavaMailSender;
 
+import java.time.Duration;
+import java.util.Properties;
+
 @Configuration
+@EnableConfigurationProperties(MailProperties.class)
 @Slf4j
 public class EmailServiceConfig {
 
+    /**
+     * Replaces Boot's per-send JavaMailSenderImpl (which backs off when a MailSender bean exists)
+     * with the pooled sender, applying the same spring.mail.* properties.
+     */
+    @Bean
+    public PooledJavaMailSender javaMailSender(
+            MailProperties mailProperties,
+            @Value("${app.mail-pool.max-connections:4}") int maxConnections,
+            @Value("${app.mail-pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+            @Value("${app.mail-pool.max-idle:30s}") Duration maxIdle,
+            @Value("${app.mail-pool.validate-after:5s}") Duration validateAfter,
+            @Value("${app.mail-pool.borrow-timeout:30s}") Duration borrowTimeout,
+            MeterRegistry meterRegistry
+    ) {
+        PooledJavaMailSender mailSender = new PooledJavaMailSender(
+                maxConnections, maxMessagesPerConnection, maxIdle, validateAfter, borrowTimeout, meterRegistry);
+        mailSender.setHost(mailProperties.getHost());
+        if (mailProperties.getPort() != null) {
+            mailSender.setPort(mailProperties.getPort());
+        }
+        mailSender.setUsername(mailProperties.getUsername());
+        mailSender.setPassword(mailProperties.getPassword());
+        mailSender.setProtocol(mailProperties.getProtocol());
+        if (mailProperties.getDefaultEncoding() != null) {
+            mailSender.setDefaultEncoding(mailProperties.getDefaultEncoding().name());
+        }
+        if (!mailProperties.getProperties().isEmpty()) {
+            Properties javaMailProperties = new Properties();
+            javaMailProperties.putAll(mailProperties.getProperties());
+            mailSender.setJavaMailProperties(javaMailProperties);
+        }
+        return mailSender;
+    }
+
     @Bean
     @Primary
     public IEmailService emailService(
             @Value("${email-service.enable:false}") boolean emailServiceEnabled,
-            JavaMailSender javaMailSender
+            JavaMailSender javaMailSender,
+            IEmailTemplateEngine emailTemplateEngine
     ) {
         if (emailServiceEnabled) {
             log.info("Email service is ENABLED. Using real EmailService implementation.");
-            return new EmailService(javaMailSender);
+            return new EmailService(javaMailSender, emailTemplateEngine);
         }
 
         log.info("Email service is DISABLED. Using mock EmailService implementation.");
@@ -0,0 +1,64 @@
+package br.com.authentication.config;
+
+import br.com.authentication.service.IFlightRecorderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+public class FlightRecorderConfig {
+
+    @Bean
+    public FlightRecorderEndpoint flightRecorderEndpoint(IFlightRecorderService flightRecorderService) {
+        return new FlightRecorderEndpoint(flightRecorderService);
+    }
+
+    /**
+     * GET /actuator/jfr describes the continuous recording; POST /actuator/jfr dumps it to a file
+     * on the host. Like every actuator endpoint but health and info, it requires the DEVOPS role.
+     */
+    @Endpoint(id = "jfr")
+    @RequiredArgsConstructor
+    public static class FlightRecorderEndpoint {
+
+        private final IFlightRecorderService flightRecorderService;
+
+        @ReadOperation
+        public Map<String, Object> status() throws IOException {
+            IFlightRecorderService.Status status = flightRecorderService.status();
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("recording", status.recording());
+            body.put("startTime", status.startTime() != null ? status.startTime().toString() : null);
+            body.put("maxAge", status.maxAge().toString());
+            body.put("maxSizeBytes", status.maxSizeBytes());
+            body.put("dumpDirectory", status.dumpDirectory().toString());
+            body.put("dumps", status.dumps());
+            return body;
+        }
+
+        @WriteOperation
+        public WebEndpointResponse<Map<String, Object>> dump() throws IOException {
+            Path file;
+            try {
+                file = flightRecorderService.dump();
+            } catch (IllegalStateException e) {
+                return new WebEndpointResponse<>(Map.of("error", e.getMessage()), HttpStatus.CONFLICT.value());
+            }
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("file", file.toString());
+            body.put("bytes", Files.size(file));
+            return new WebEndpointResponse<>(body, WebEndpointResponse.STATUS_OK);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.authentication.config;
 
+import br.com.authentication.service.PasswordHashingRejectedException;
 import br.com.authentication.usecase.user.create.endpoint.SaveUserEndpoint.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -23,6 +24,22 @@ import java.util.List;
 @Slf4j
 public class GlobalExceptionHandler {
     
+    // Fixed error bodies are serialized once; during credential stuffing they are most of what is served
+    private static final ConstantResponse INVALID_CREDENTIALS = ConstantResponse.error(HttpStatus.UNAUTHORIZED,
+            "Invalid email or password");
+    private static final ConstantResponse ACCESS_DENIED = ConstantResponse.error(HttpStatus.FORBIDDEN,
+            "Access denied");
+    private static final ConstantResponse NOT_FOUND = ConstantResponse.error(HttpStatus.NOT_FOUND,
+            "Resource not found");
+    private static final ConstantResponse UNSUPPORTED_MEDIA_TYPE = ConstantResponse.error(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+            "Unsupported media type");
+    private static final ConstantResponse MALFORMED_JSON = ConstantResponse.error(HttpStatus.BAD_REQUEST,
+            "Malformed JSON");
+    private static final ConstantResponse BUSY = ConstantResponse.error(HttpStatus.SERVICE_UNAVAILABLE,
+            "Service is busy, please retry shortly");
+    private static final ConstantResponse UNEXPECTED_ERROR = ConstantResponse.error(HttpStatus.INTERNAL_SERVER_ERROR,
+            "An unexpected error occurred");
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         List<String> errors = new ArrayList<>();
@@ -47,58 +64,56 @@ public class GlobalExceptionHandler {
     }
     
     @ExceptionHandler(BadCredentialsException.class)
-    public ResponseEntity<ApiResponse<String>> handleBadCredentialsException(BadCredentialsException ex) {
+    public ResponseEntity<byte[]> handleBadCredentialsException(BadCredentialsException ex) {
         log.warn("Bad credentials: {}", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(ApiResponse.error("Invalid email or password"));
+        return INVALID_CREDENTIALS.entity();
     }
     
     @ExceptionHandler(UsernameNotFoundException.class)
-    public ResponseEntity<ApiResponse<String>> handleUsernameNotFoundException(UsernameNotFoundException ex) {
+    public ResponseEntity<byte[]> handleUsernameNotFoundException(UsernameNotFoundException ex) {
         log.warn("User not found: {}", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(ApiResponse.error("Invalid email or password"));
+        return INVALID_CREDENTIALS.entity();
     }
     
     @ExceptionHandler(AuthenticationException.class)
-    public ResponseEntity<ApiResponse<String>> handleAuthenticationException(AuthenticationException ex) {
+    public ResponseEntity<byte[]> handleAuthenticationException(AuthenticationException ex) {
         log.warn("Authentication error: {}", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(ApiResponse.error("Invalid email or password"));
+        return INVALID_CREDENTIALS.entity();
     }
     
     @ExceptionHandler(AccessDeniedException.class)
-    public ResponseEntity<ApiResponse<String>> handleAccessDeniedException(AccessDeniedException ex) {
+    public ResponseEntity<byte[]> handleAccessDeniedException(AccessDeniedException ex) {
         log.warn("Access denied: {}", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                .body(ApiResponse.error("Access denied"));
+        return ACCESS_DENIED.entity();
     }
     
     @ExceptionHandler(NoHandlerFoundException.class)
-    public ResponseEntity<ApiResponse<String>> handleNoHandlerFoundException(NoHandlerFoundException ex) {
+    public ResponseEntity<byte[]> handleNoHandlerFoundException(NoHandlerFoundException ex) {
         log.warn("No handler found for: {} {}", ex.getHttpMethod(), ex.getRequestURL());
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body(ApiResponse.error("Resource not found"));
+        return NOT_FOUND.entity();
     }
     
     @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
-    public ResponseEntity<ApiResponse<String>> handleHttpMediaTypeNotSupportedException(HttpMediaTypeNotSupportedException ex) {
+    public ResponseEntity<byte[]> handleHttpMediaTypeNotSupportedException(HttpMediaTypeNotSupportedException ex) {
         log.warn("Unsupported media type: {}", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
-                .body(ApiResponse.error("Unsupported media type"));
+        return UNSUPPORTED_MEDIA_TYPE.entity();
     }
     
     @ExceptionHandler(HttpMessageNotReadableException.class)
-    public ResponseEntity<ApiResponse<String>> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
+    public ResponseEntity<byte[]> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
         log.warn("Malformed JSON: {}", ex.getMessage());
-        return ResponseEntity.badRequest()
-                .body(ApiResponse.error("Malformed JSON"));
+        return MALFORMED_JSON.entity();
+    }
+    
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<byte[]> handlePasswordHashingRejectedException(PasswordHashingRejectedException ex) {
+        log.warn("Password hashing rejected: {}", ex.getMessage());
+        return BUSY.entity();
     }
     
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ApiResponse<String>> handleGenericException(Exception ex) {
+    public ResponseEntity<byte[]> handleGenericException(Exception ex) {
         log.error("Unexpected error occurred", ex);
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(ApiResponse.error("An unexpected error occurred"));
+        return UNEXPECTED_ERROR.entity();
     }
 }
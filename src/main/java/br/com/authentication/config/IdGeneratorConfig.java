@@ -0,0 +1,36 @@
+package br.com.authentication.config;
+
+import br.com.authentication.domain.model.id.IdGenerator;
+import br.com.authentication.domain.model.id.IdGenerators;
+import br.com.authentication.domain.model.id.TsidGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.security.SecureRandom;
+
+@Configuration
+@Slf4j
+public class IdGeneratorConfig {
+
+    // Every replica needs its own node id: two replicas on the same node can mint the same primary key.
+    // A random node is only acceptable for single-process contexts (tests, CDS training run)
+    @Bean
+    public IdGenerator idGenerator(
+            @Value("${app.id-generator.node-id:-1}") int nodeId,
+            @Value("${app.id-generator.allow-random-node-id:false}") boolean allowRandomNodeId
+    ) {
+        if (nodeId < 0 && !allowRandomNodeId) {
+            throw new IllegalStateException(
+                    "app.id-generator.node-id (ID_GENERATOR_NODE_ID) must be set to a value unique per replica, 0-" + TsidGenerator.MAX_NODE);
+        }
+        int node = nodeId >= 0 ? nodeId : new SecureRandom().nextInt(TsidGenerator.MAX_NODE + 1);
+        if (nodeId < 0) {
+            log.warn("app.id-generator.node-id not set, using random node id {}", node);
+        }
+        IdGenerator generator = new TsidGenerator(node);
+        IdGenerators.use(generator);
+        return generator;
+    }
+}
@@ -0,0 +1,215 @@
+package br.com.authentication.config;
+
+import br.com.authentication.service.IIdempotencyService;
+import br.com.authentication.service.IIdempotencyService.Claim;
+import br.com.authentication.service.IIdempotencyService.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+@Configuration
+public class IdempotencyConfig {
+
+    /**
+     * Registered here rather than as a @Component so that only these write endpoints are wrapped
+     * and MVC slice tests do not pick the filter up.
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IIdempotencyService idempotencyService,
+            @Value("${app.idempotency.paths:/api/auth/register,/api/auth/forgot-password,/api/auth/reset-password}") List<String> paths,
+            @Value("${app.idempotency.max-body-bytes:65536}") int maxBodyBytes
+    ) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyService, maxBodyBytes));
+        registration.setUrlPatterns(paths);
+        return registration;
+    }
+
+    /**
+     * Replays the stored response of a POST that carries an already used Idempotency-Key, so
+     * client retries never run registration or password reset twice.
+     */
+    @Slf4j
+    @RequiredArgsConstructor
+    public static class IdempotencyFilter extends OncePerRequestFilter {
+        static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+        static final String REPLAYED_HEADER = "Idempotent-Replayed";
+        private static final int MAX_KEY_LENGTH = 255;
+        private static final ConstantResponse INVALID_KEY = ConstantResponse.error(HttpStatus.BAD_REQUEST,
+                "Idempotency-Key must have 1 to " + MAX_KEY_LENGTH + " characters");
+        private static final ConstantResponse BODY_TOO_LARGE = ConstantResponse.error(HttpStatus.PAYLOAD_TOO_LARGE,
+                "Request body too large");
+        private static final ConstantResponse KEY_REUSED = ConstantResponse.error(HttpStatus.UNPROCESSABLE_ENTITY,
+                "Idempotency-Key was already used with a different request");
+        private static final ConstantResponse IN_PROGRESS = ConstantResponse.error(HttpStatus.CONFLICT,
+                "A request with this Idempotency-Key is still being processed");
+
+        private final IIdempotencyService idempotencyService;
+        private final int maxBodyBytes;
+
+        @Override
+        protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+            return !"POST".equals(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+        }
+
+        @Override
+        protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                        @NonNull HttpServletResponse response,
+                                        @NonNull FilterChain filterChain) throws ServletException, IOException {
+            String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+            if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+                INVALID_KEY.writeTo(response);
+                return;
+            }
+            byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+            if (body.length > maxBodyBytes) {
+                BODY_TOO_LARGE.writeTo(response);
+                return;
+            }
+
+            String key = sha256((request.getMethod() + " " + request.getRequestURI() + "\n" + idempotencyKey)
+                    .getBytes(StandardCharsets.UTF_8));
+            String fingerprint = sha256(body);
+
+            switch (idempotencyService.begin(key, fingerprint)) {
+                case Claim.Acquired acquired -> execute(new CachedBodyRequest(request, body), response, filterChain, key, fingerprint);
+                case Claim.Replay replay -> replay(response, replay.response());
+                case Claim.Mismatch mismatch -> KEY_REUSED.writeTo(response);
+                case Claim.InProgress inProgress -> IN_PROGRESS.writeTo(response);
+            }
+        }
+
+        private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                             String key, String fingerprint) throws ServletException, IOException {
+            ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+            boolean stored = false;
+            try {
+                filterChain.doFilter(request, responseWrapper);
+                // Server errors are transient (e.g. hashing pool saturation), so the retry should execute again
+                if (responseWrapper.getStatus() < 500) {
+                    idempotencyService.complete(key, fingerprint, new StoredResponse(
+                            responseWrapper.getStatus(), responseWrapper.getContentType(), responseWrapper.getContentAsByteArray()));
+                    stored = true;
+                }
+            } finally {
+                if (!stored) {
+                    abandon(key);
+                }
+                responseWrapper.copyBodyToResponse();
+            }
+        }
+
+        private void abandon(String key) {
+            try {
+                idempotencyService.abandon(key);
+            } catch (Exception e) {
+                // The claim expires through the in-progress timeout
+                log.warn("Could not release Idempotency-Key claim", e);
+            }
+        }
+
+        private void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+            response.setStatus(stored.status());
+            if (stored.contentType() != null) {
+                response.setContentType(stored.contentType());
+            }
+            response.setHeader(REPLAYED_HEADER, "true");
+            byte[] body = stored.body() != null ? stored.body() : new byte[0];
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+
+        private static String sha256(byte[] input) {
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(input));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+
+    /**
+     * Serves the already consumed body to the rest of the chain.
+     */
+    static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.authentication.config;
+
+import br.com.authentication.config.ChangelogVerifier.AppliedChangeSet;
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import liquibase.parser.ChangeLogParser;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.resource.ResourceAccessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Configuration
+@Slf4j
+public class LiquibaseConfig {
+
+    static final String APPLIED_CHANGESETS_QUERY = "SELECT ID, AUTHOR, MD5SUM FROM DATABASECHANGELOG";
+
+    /**
+     * Replaces the auto-configured SpringLiquibase; only spring.liquibase.change-log and
+     * spring.liquibase.enabled are honoured. In "migrate" mode the changelog runs at startup as
+     * before. In "verify" mode migrations are left to the migration runner
+     * ({@code java -jar app.jar migrate}) and startup only reads DATABASECHANGELOG once, so
+     * replicas restarting together never queue on DATABASECHANGELOGLOCK.
+     */
+    @Bean
+    public SpringLiquibase liquibase(
+            DataSource dataSource,
+            @Value("${spring.liquibase.change-log:classpath:/db/changelog/db.changelog-master.yaml}") String changeLog,
+            @Value("${spring.liquibase.enabled:true}") boolean enabled,
+            @Value("${app.liquibase.mode:migrate}") String mode
+    ) {
+        SpringLiquibase liquibase = switch (mode.toLowerCase(Locale.ROOT)) {
+            case "migrate" -> new SpringLiquibase();
+            case "verify" -> new VerifyingLiquibase();
+            default -> throw new IllegalArgumentException("app.liquibase.mode must be 'migrate' or 'verify': " + mode);
+        };
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog(changeLog);
+        liquibase.setShouldRun(enabled);
+        return liquibase;
+    }
+
+    /**
+     * Fails startup unless every changeset of the changelog is applied with its current checksum.
+     * Still a SpringLiquibase, so JPA waits for the verification like it waits for a migration.
+     */
+    static class VerifyingLiquibase extends SpringLiquibase {
+
+        @Override
+        public void afterPropertiesSet() throws LiquibaseException {
+            if (!shouldRun) {
+                log.info("Liquibase disabled, schema not verified");
+                return;
+            }
+            long start = System.nanoTime();
+            int verified = ChangelogVerifier.verify(parseChangeLog(), appliedChangeSets());
+            log.info("Verified {} applied changesets in {} ms", verified, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        private DatabaseChangeLog parseChangeLog() throws LiquibaseException {
+            try (ResourceAccessor resourceAccessor = createResourceOpener()) {
+                ChangeLogParser parser = ChangeLogParserFactory.getInstance().getParser(getChangeLog(), resourceAccessor);
+                return parser.parse(getChangeLog(), new ChangeLogParameters(), resourceAccessor);
+            } catch (LiquibaseException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new LiquibaseException("Could not read changelog " + getChangeLog(), e);
+            }
+        }
+
+        private List<AppliedChangeSet> appliedChangeSets() {
+            List<AppliedChangeSet> applied = new ArrayList<>();
+            try (Connection connection = getDataSource().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery(APPLIED_CHANGESETS_QUERY)) {
+                while (rows.next()) {
+                    applied.add(new AppliedChangeSet(rows.getString(1), rows.getString(2), rows.getString(3)));
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not read DATABASECHANGELOG; run the migration runner before starting in verify mode", e);
+            }
+            return applied;
+        }
+    }
+}
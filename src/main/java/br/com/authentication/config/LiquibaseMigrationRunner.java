@@ -0,0 +1,39 @@
+package br.com.authentication.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.SpringProperties;
+
+/**
+ * Applies the changelog and exits: {@code java -jar app.jar migrate}, run once per release
+ * (CI step or init container) before replicas start with {@code app.liquibase.mode=verify}.
+ * Only the datasource and Liquibase are started, from the same configuration as the application.
+ * Deliberately not a @Configuration, so the application's component scan ignores it.
+ */
+@ImportAutoConfiguration({DataSourceAutoConfiguration.class, LiquibaseAutoConfiguration.class})
+public final class LiquibaseMigrationRunner {
+
+    public static final String COMMAND = "migrate";
+
+    private LiquibaseMigrationRunner() {
+    }
+
+    /**
+     * @return the process exit code
+     */
+    public static int run(String... args) {
+        // AOT-generated initializers exist only for the application context, not for this one
+        SpringProperties.setProperty(AotDetector.AOT_ENABLED, "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(LiquibaseMigrationRunner.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.liquibase.enabled=true")
+                .run(args);
+        return SpringApplication.exit(context);
+    }
+}
@@ -1,14 +1,68 @@
 package br.com.authentication.config;
 
+import br.com.authentication.service.PasswordHashingService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
 
 @Configuration
+@Slf4j
 public class PasswordConfig {
+	private static final String BCRYPT_ID = "bcrypt";
+
+	// Every PasswordEncoder consumer (UserService, DaoAuthenticationProvider) hashes on the bounded pool
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordHashingService passwordEncoder(
+			@Value("${app.password-hashing.pool-size:0}") int poolSize,
+			@Value("${app.password-hashing.bulk-pool-size:0}") int bulkPoolSize,
+			@Value("${app.password-hashing.queue-capacity:256}") int queueCapacity,
+			@Value("${app.password-hashing.bulk-queue-capacity:0}") int bulkQueueCapacity,
+			@Value("${app.password-hashing.max-queue-wait:2s}") Duration maxQueueWait,
+			@Value("${app.password-hashing.bcrypt.calibrate:true}") boolean calibrate,
+			@Value("${app.password-hashing.bcrypt.target-latency:250ms}") Duration targetLatency,
+			@Value("${app.password-hashing.bcrypt.min-cost:10}") int minCost,
+			@Value("${app.password-hashing.bcrypt.max-cost:14}") int maxCost,
+			@Value("${app.password-hashing.bcrypt.calibration-samples:3}") int calibrationSamples,
+			MeterRegistry meterRegistry
+	) {
+		int cost = calibrate
+				? new BCryptCostCalibrator(targetLatency, minCost, maxCost, calibrationSamples).calibrate()
+				: minCost;
+		if (!calibrate) {
+			log.info("bcrypt calibration disabled, using cost {}", cost);
+		}
+		Gauge.builder("auth.password.bcrypt.cost", () -> cost)
+				.description("bcrypt cost factor used for new password hashes")
+				.register(meterRegistry);
+
+		int cores = Runtime.getRuntime().availableProcessors();
+		int threads = poolSize > 0 ? poolSize : cores;
+		int bulkThreads = bulkPoolSize > 0 ? bulkPoolSize : Math.max(1, cores / 2);
+		// Follows the thread count, so the default never drops below what one bulk call keeps in flight
+		int bulkQueue = bulkQueueCapacity > 0 ? bulkQueueCapacity : Math.max(64, 2 * bulkThreads);
+		return new PasswordHashingService(delegatingEncoder(cost), threads, bulkThreads, queueCapacity, bulkQueue,
+				maxQueueWait, meterRegistry);
+	}
+
+	// New hashes are written as {bcrypt}...; any other id, or an outdated cost, reports upgradeEncoding
+	private static PasswordEncoder delegatingEncoder(int bcryptCost) {
+		BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptCost);
+		DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.<String, PasswordEncoder>of(
+				BCRYPT_ID, bcrypt,
+				"pbkdf2@SpringSecurity_v5_8", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()
+		));
+		// Hashes stored before the {id} prefix was introduced are plain bcrypt
+		encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+		return encoder;
 	}
 }
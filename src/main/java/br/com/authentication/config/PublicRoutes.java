@@ -0,0 +1,130 @@
+package br.com.authentication.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Routes reachable without authentication, compiled once into a trie over path segments.
+ * Patterns are literal segments, {@code *} for exactly one segment and a trailing {@code /**}
+ * for the path itself and everything below it. Matching walks the request URI in place, so
+ * classifying a request allocates nothing.
+ */
+public final class PublicRoutes {
+
+    private static final String ANY_SEGMENT = "*";
+    private static final String ANY_SUFFIX = "**";
+
+    private final List<String> patterns;
+    private final Node root = new Node();
+
+    private PublicRoutes(List<String> patterns) {
+        this.patterns = patterns;
+        for (String pattern : patterns) {
+            add(pattern);
+        }
+    }
+
+    public static PublicRoutes compile(String... patterns) {
+        return new PublicRoutes(List.of(patterns));
+    }
+
+    public List<String> patterns() {
+        return patterns;
+    }
+
+    public boolean matches(HttpServletRequest request) {
+        String contextPath = request.getContextPath();
+        return matches(request.getRequestURI(), contextPath == null ? 0 : contextPath.length());
+    }
+
+    public boolean matches(String path) {
+        return matches(path, 0);
+    }
+
+    public RequestMatcher requestMatcher() {
+        return this::matches;
+    }
+
+    private boolean matches(String path, int start) {
+        if (start >= path.length() || path.charAt(start) != '/') {
+            return false;
+        }
+        // Path parameters (";jsessionid=...") are not part of the route
+        int end = path.indexOf(';', start);
+        return match(root, path, start + 1, end < 0 ? path.length() : end);
+    }
+
+    private static boolean match(Node node, String path, int from, int end) {
+        if (node.subtree) {
+            return true;
+        }
+        if (from > end) {
+            return node.terminal;
+        }
+        int slash = path.indexOf('/', from);
+        int segmentEnd = slash < 0 || slash > end ? end : slash;
+        int length = segmentEnd - from;
+        for (int i = 0; i < node.segments.length; i++) {
+            String segment = node.segments[i];
+            if (segment.length() == length && path.regionMatches(from, segment, 0, length)
+                    && match(node.children[i], path, segmentEnd + 1, end)) {
+                return true;
+            }
+        }
+        return node.anySegment != null && length > 0 && match(node.anySegment, path, segmentEnd + 1, end);
+    }
+
+    private void add(String pattern) {
+        if (!pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Route pattern must start with '/': " + pattern);
+        }
+        String[] segments = pattern.substring(1).split("/", -1);
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (ANY_SUFFIX.equals(segment)) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' is only supported at the end of a route pattern: " + pattern);
+                }
+                node.subtree = true;
+                return;
+            }
+            node = ANY_SEGMENT.equals(segment) ? node.anySegment() : node.child(segment);
+        }
+        node.terminal = true;
+    }
+
+    private static final class Node {
+
+        // Parallel arrays scanned linearly: routes fan out into a handful of children at most
+        String[] segments = new String[0];
+        Node[] children = new Node[0];
+        Node anySegment;
+        boolean terminal;
+        boolean subtree;
+
+        Node child(String segment) {
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].equals(segment)) {
+                    return children[i];
+                }
+            }
+            Node child = new Node();
+            segments = Arrays.copyOf(segments, segments.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            segments[segments.length - 1] = segment;
+            children[children.length - 1] = child;
+            return child;
+        }
+
+        Node anySegment() {
+            if (anySegment == null) {
+                anySegment = new Node();
+            }
+            return anySegment;
+        }
+    }
+}
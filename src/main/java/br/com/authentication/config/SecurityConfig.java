@@ -1,7 +1,14 @@
 package br.com.authentication.config;
 
+import br.com.authentication.domain.model.User;
+import br.com.authentication.service.AuthEvents;
+import br.com.authentication.service.AuthMetrics;
+import br.com.authentication.service.AuthenticationFailures;
 import br.com.authentication.service.IJwtService;
+import br.com.authentication.service.IPasswordRehashService;
 import br.com.authentication.service.IUserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,14 +16,20 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -26,6 +39,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.csrf.CsrfFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.lang.NonNull;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -36,19 +51,45 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
+    /**
+     * The single list of unauthenticated routes: the authorization rules, the public filter chain
+     * and the JWT filter all classify requests through it.
+     */
+    public static final PublicRoutes PUBLIC_ROUTES = PublicRoutes.compile(
+            "/api/auth/**",
+            "/oauth2/**",
+            "/login/oauth2/**",
+            "/swagger-ui.html",
+            "/swagger-ui/**",
+            "/v3/api-docs/**"
+    );
+
+    /**
+     * Actuator writes (e.g. POST /actuator/jfr) must carry this header. Browsers resend cached
+     * Basic credentials on cross-site requests, but a cross-site page cannot add a custom header
+     * without a CORS preflight, which the actuator endpoints never allow.
+     */
+    public static final String ACTUATOR_WRITE_HEADER = "X-Requested-With";
+    static final RequestMatcher ACTUATOR_CSRF_MATCHER = request ->
+            CsrfFilter.DEFAULT_CSRF_MATCHER.matches(request) && request.getHeader(ACTUATOR_WRITE_HEADER) == null;
+
     private final IJwtService jwtService;
     private final IUserService userService;
     private final PasswordEncoder passwordEncoder;
+    private final IPasswordRehashService passwordRehashService;
+    private final MeterRegistry meterRegistry;
     @Value("${app.cors.allowed-origin-patterns:}")
     private String allowedOriginPatternsConfig;
 
     @Bean
+    @Order(1)
     SecurityFilterChain actuatorSecurity(HttpSecurity http) throws Exception {
         http
                 .securityMatcher(EndpointRequest.toAnyEndpoint())
@@ -56,6 +97,8 @@ public class SecurityConfig {
                         .requestMatchers(EndpointRequest.to("health", "info")).permitAll()
                         .anyRequest().hasRole("DEVOPS")
                 )
+                // Writes without ACTUATOR_WRITE_HEADER need a CSRF token, which Basic clients never have: they get 403
+                .csrf(csrf -> csrf.requireCsrfProtectionMatcher(ACTUATOR_CSRF_MATCHER))
                 .httpBasic(Customizer.withDefaults());
 
         return http.build();
@@ -63,7 +106,7 @@ public class SecurityConfig {
 
     @Bean
     public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+        DaoAuthenticationProvider authProvider = new RehashingAuthenticationProvider(passwordRehashService, meterRegistry);
         authProvider.setUserDetailsService((UserDetailsService) userService);
         authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
@@ -76,7 +119,15 @@ public class SecurityConfig {
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtService, userService);
+        return new JwtAuthenticationFilter(jwtService, userService, PUBLIC_ROUTES, meterRegistry);
+    }
+
+    // The filter only belongs in the security chain; without this Boot also runs it as a servlet filter
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(JwtAuthenticationFilter filter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
     }
 
     @Bean
@@ -102,20 +153,33 @@ public class SecurityConfig {
         return java.util.concurrent.Executors.newVirtualThreadPerTaskExecutor();
     }
 
+    /**
+     * Fast path for public routes: no security context is loaded or stored, no JWT is parsed and
+     * no authorization decision is made. CORS and the security headers still apply.
+     */
     @Bean
+    @Order(2)
+    public SecurityFilterChain publicFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(PUBLIC_ROUTES.requestMatcher())
+                .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .csrf(AbstractHttpConfigurer::disable)
+                .securityContext(AbstractHttpConfigurer::disable)
+                .sessionManagement(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .anonymous(AbstractHttpConfigurer::disable);
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(3)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/**").permitAll()
-                        .requestMatchers("/oauth2/**").permitAll()
-                        .requestMatchers("/login/oauth2/**").permitAll()
-                        .requestMatchers(
-                                "/swagger-ui.html",
-                                "/swagger-ui/**",
-                                "/v3/api-docs/**"
-                        ).permitAll()
+                        .requestMatchers(PUBLIC_ROUTES.requestMatcher()).permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -127,31 +191,93 @@ public class SecurityConfig {
         return http.build();
     }
 
-    @RequiredArgsConstructor
+    /**
+     * DaoAuthenticationProvider's own UserDetailsPasswordService hook encodes the new hash on the
+     * login thread. This variant only hands the verified password to the background re-hash
+     * worker, so upgrading outdated hashes never adds latency to the login response. Also times
+     * the user lookup and password verification stages of a login.
+     */
+    public static class RehashingAuthenticationProvider extends DaoAuthenticationProvider {
+        private final IPasswordRehashService passwordRehashService;
+        private final Timer lookupTimer;
+        private final Timer verifyTimer;
+
+        public RehashingAuthenticationProvider(IPasswordRehashService passwordRehashService, MeterRegistry meterRegistry) {
+            this.passwordRehashService = passwordRehashService;
+            this.lookupTimer = AuthMetrics.loginStage(meterRegistry, "lookup");
+            this.verifyTimer = AuthMetrics.loginStage(meterRegistry, "verify");
+        }
+
+        @Override
+        protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                             UserDetails user) {
+            if (authentication.getCredentials() != null && getPasswordEncoder().upgradeEncoding(user.getPassword())) {
+                passwordRehashService.schedule(user, authentication.getCredentials().toString());
+            }
+            return super.createSuccessAuthentication(principal, authentication, user);
+        }
+
+        // The base class wraps an unknown user in a new BadCredentialsException; this reuses a stackless one
+        @Override
+        protected UserDetails retrieveUser(String username, UsernamePasswordAuthenticationToken authentication) {
+            long start = System.nanoTime();
+            try {
+                return super.retrieveUser(username, authentication);
+            } catch (UsernameNotFoundException e) {
+                throw AuthenticationFailures.BAD_CREDENTIALS;
+            } finally {
+                lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        // Same check as DaoAuthenticationProvider, without allocating an exception per wrong password
+        @Override
+        protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                      UsernamePasswordAuthenticationToken authentication) {
+            if (authentication.getCredentials() == null) {
+                throw AuthenticationFailures.BAD_CREDENTIALS;
+            }
+            long start = System.nanoTime();
+            boolean matches;
+            try {
+                matches = getPasswordEncoder().matches(authentication.getCredentials().toString(), userDetails.getPassword());
+            } finally {
+                verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (!matches) {
+                throw AuthenticationFailures.BAD_CREDENTIALS;
+            }
+        }
+    }
+
     public static class JwtAuthenticationFilter extends OncePerRequestFilter {
         private final IJwtService jwtService;
         private final IUserService userService;
+        private final PublicRoutes publicRoutes;
+        private final Timer parseTimer;
+        private final Timer loadUserTimer;
+        private final Timer validateTimer;
+
+        public JwtAuthenticationFilter(IJwtService jwtService, IUserService userService, PublicRoutes publicRoutes,
+                                       MeterRegistry meterRegistry) {
+            this.jwtService = jwtService;
+            this.userService = userService;
+            this.publicRoutes = publicRoutes;
+            this.parseTimer = AuthMetrics.filterStage(meterRegistry, "parse");
+            this.loadUserTimer = AuthMetrics.filterStage(meterRegistry, "load_user");
+            this.validateTimer = AuthMetrics.filterStage(meterRegistry, "validate");
+        }
+
+        // Public routes normally never reach this filter (see publicFilterChain); this keeps it inert if they do
+        @Override
+        protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+            return publicRoutes.matches(request);
+        }
 
         @Override
         protected void doFilterInternal(@NonNull HttpServletRequest request,
                                         @NonNull HttpServletResponse response,
                                         @NonNull FilterChain filterChain) throws ServletException, IOException {
-            final String requestURI = request.getRequestURI();
-
-            // Skip JWT processing for registration and other public endpoints
-            if (requestURI.equals("/api/auth/register") ||
-                    requestURI.equals("/api/auth/verify-email") ||
-                    requestURI.equals("/api/auth/forgot-password") ||
-                    requestURI.equals("/api/auth/reset-password") ||
-                    requestURI.startsWith("/v3/api-docs") ||
-                    requestURI.startsWith("/swagger-ui") ||
-                    requestURI.equals("/swagger-ui.html") ||
-                    requestURI.startsWith("/oauth2/") ||
-                    requestURI.startsWith("/login/oauth2/")) {
-                filterChain.doFilter(request, response);
-                return;
-            }
-
             final String authHeader = request.getHeader("Authorization");
             final String jwt;
             final String userEmail;
@@ -162,20 +288,57 @@ public class SecurityConfig {
             }
 
             jwt = authHeader.substring(7);
-            userEmail = jwtService.extractUsername(jwt);
-
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                var userDetails = userService.loadUserByUsername(userEmail);
+            AuthEvents.JwtAuthentication event = new AuthEvents.JwtAuthentication();
+            event.begin();
+            // Kept if parsing throws
+            String outcome = "invalid_token";
+            try {
+                long start = System.nanoTime();
+                try {
+                    userEmail = jwtService.extractUsername(jwt);
+                } finally {
+                    event.parse = System.nanoTime() - start;
+                    parseTimer.record(event.parse, TimeUnit.NANOSECONDS);
+                }
 
-                if (jwtService.validateToken(jwt, userDetails)) {
-                    var authToken = new org.springframework.security.authentication.UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new org.springframework.security.web.authentication.WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (userEmail == null) {
+                    outcome = "invalid_token";
+                } else if (SecurityContextHolder.getContext().getAuthentication() != null) {
+                    outcome = "skipped";
+                } else {
+                    long loadStart = System.nanoTime();
+                    var user = userService.findByEmail(userEmail);
+                    event.loadUser = System.nanoTime() - loadStart;
+                    loadUserTimer.record(event.loadUser, TimeUnit.NANOSECONDS);
+                    // A token of a deleted user simply leaves the request unauthenticated
+                    outcome = user.isPresent() ? authenticate(request, jwt, user.get(), event) : "unknown_user";
+                }
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.outcome = outcome;
+                    event.commit();
                 }
             }
 
             filterChain.doFilter(request, response);
         }
+
+        private String authenticate(HttpServletRequest request, String jwt, User userDetails,
+                                    AuthEvents.JwtAuthentication event) {
+            event.userIdHash = AuthEvents.userIdHash(userDetails.id);
+            long validateStart = System.nanoTime();
+            boolean valid = jwtService.validateToken(jwt, userDetails);
+            event.validate = System.nanoTime() - validateStart;
+            validateTimer.record(event.validate, TimeUnit.NANOSECONDS);
+            if (!valid) {
+                return "rejected";
+            }
+            var authToken = new org.springframework.security.authentication.UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
+            authToken.setDetails(new org.springframework.security.web.authentication.WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            return "authenticated";
+        }
     }
 }
@@ -0,0 +1,379 @@
+package br.com.authentication.config;
+
+import br.com.authentication.service.AuthMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements Hibernate sends while serving each request and the time spent
+ * executing them: by kind through a StatementInspector, by time through a session event
+ * listener, both into a tally bound to the request thread, and to the async thread that writes a
+ * streaming body. Statements issued outside a request (outbox dispatcher, re-hash flush) and plain
+ * JdbcTemplate batches are not counted.
+ */
+@Configuration
+public class SqlStatisticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatisticsHibernateProperties() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+            // Instantiated by Hibernate for every session
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, TimingSessionListener.class.getName());
+        };
+    }
+
+    /**
+     * Ordered before the security filter chain, so the user lookup of JwtAuthenticationFilter
+     * is part of the request's count.
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.sql-statistics.response-header:false}") boolean responseHeader
+    ) {
+        FilterRegistrationBean<SqlStatisticsFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatisticsFilter(meterRegistry, responseHeader));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    /**
+     * Binds the request's tally on the thread that runs a streaming body or Callable, and marks
+     * streaming handlers so the filter never buffers their body.
+     */
+    @Bean
+    public WebMvcConfigurer sqlStatisticsWebMvcConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(@NonNull AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(new SqlStatisticsCallableInterceptor());
+            }
+
+            @Override
+            public void addInterceptors(@NonNull InterceptorRegistry registry) {
+                registry.addInterceptor(new StreamingHandlerInterceptor());
+            }
+        };
+    }
+
+    /**
+     * The statements of one request. Only one thread touches it at a time (the request thread, then
+     * the async thread of a streaming body, then the async dispatch), so plain fields suffice.
+     */
+    public static final class SqlStatistics {
+        /**
+         * Request attribute holding the tally, complete once the response is; e.g. for query
+         * budget tests.
+         */
+        public static final String ATTRIBUTE = SqlStatistics.class.getName();
+
+        private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+        private int selects;
+        private int inserts;
+        private int updates;
+        private int deletes;
+        private int others;
+        private long executionNanos;
+
+        public int statements() {
+            return selects + inserts + updates + deletes + others;
+        }
+
+        public int selects() {
+            return selects;
+        }
+
+        public int writes() {
+            return inserts + updates + deletes;
+        }
+
+        public long executionNanos() {
+            return executionNanos;
+        }
+
+        @Override
+        public String toString() {
+            return statements() + " statements (" + selects + " select, " + inserts + " insert, " + updates
+                    + " update, " + deletes + " delete, " + others + " other) in "
+                    + TimeUnit.NANOSECONDS.toMicros(executionNanos) + "us";
+        }
+
+        private void count(String sql) {
+            String keyword = firstKeyword(sql);
+            switch (keyword) {
+                case "select", "with" -> selects++;
+                case "insert", "merge" -> inserts++;
+                case "update" -> updates++;
+                case "delete" -> deletes++;
+                default -> others++;
+            }
+        }
+
+        private static String firstKeyword(String sql) {
+            int start = 0;
+            while (start < sql.length() && (Character.isWhitespace(sql.charAt(start)) || sql.charAt(start) == '(')) {
+                start++;
+            }
+            int end = start;
+            while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+                end++;
+            }
+            return sql.substring(start, end).toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Sees each statement once, when Hibernate prepares it; a JDBC batch is one statement.
+     */
+    public static class CountingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            SqlStatistics statistics = SqlStatistics.CURRENT.get();
+            if (statistics != null) {
+                statistics.count(sql);
+            }
+            return sql;
+        }
+    }
+
+    /**
+     * Adds up the execution time of queries, updates and batches. Hibernate runs one statement at
+     * a time per session, so a single start timestamp is enough.
+     */
+    public static class TimingSessionListener extends BaseSessionEventListener {
+        private long executionStart;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            executionStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            record();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            executionStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            record();
+        }
+
+        private void record() {
+            SqlStatistics statistics = SqlStatistics.CURRENT.get();
+            if (statistics != null) {
+                statistics.executionNanos += System.nanoTime() - executionStart;
+            }
+        }
+    }
+
+    /**
+     * StreamingResponseBody runs as a Callable on the MVC task executor: the tally follows it there
+     * and is unbound before the thread goes back to the pool.
+     */
+    static class SqlStatisticsCallableInterceptor implements CallableProcessingInterceptor {
+
+        @Override
+        public <T> void preProcess(@NonNull NativeWebRequest request, @NonNull Callable<T> task) {
+            Object statistics = request.getAttribute(SqlStatistics.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (statistics instanceof SqlStatistics tally) {
+                SqlStatistics.CURRENT.set(tally);
+            }
+        }
+
+        @Override
+        public <T> void postProcess(@NonNull NativeWebRequest request, @NonNull Callable<T> task, Object concurrentResult) {
+            SqlStatistics.CURRENT.remove();
+        }
+    }
+
+    /**
+     * Flags requests whose handler streams its body (StreamingResponseBody, ResponseBodyEmitter,
+     * with or without ResponseEntity) before the body is written.
+     */
+    static class StreamingHandlerInterceptor implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                 @NonNull Object handler) {
+            if (handler instanceof HandlerMethod handlerMethod && streams(handlerMethod)) {
+                request.setAttribute(SqlStatisticsFilter.STREAMING_ATTRIBUTE, Boolean.TRUE);
+            }
+            return true;
+        }
+
+        static boolean streams(HandlerMethod handlerMethod) {
+            ResolvableType type = ResolvableType.forMethodParameter(handlerMethod.getReturnType());
+            Class<?> body = HttpEntity.class.isAssignableFrom(type.toClass()) ? type.getGeneric().toClass() : type.toClass();
+            return StreamingResponseBody.class.isAssignableFrom(body) || ResponseBodyEmitter.class.isAssignableFrom(body);
+        }
+    }
+
+    /**
+     * Binds a tally to the request, records it per route and, when enabled (non-production
+     * profiles), reports it in X-Sql-Statements and Server-Timing headers. The headers need the
+     * body buffered until the count is final, which is why they stay off in production. Streaming
+     * bodies (imports, admin listing) are written straight through and get no headers: buffering
+     * them would hold the whole stream in memory.
+     */
+    @RequiredArgsConstructor
+    public static class SqlStatisticsFilter extends OncePerRequestFilter {
+        static final String STATEMENTS_HEADER = "X-Sql-Statements";
+        static final String SERVER_TIMING_HEADER = "Server-Timing";
+        static final String STREAMING_ATTRIBUTE = SqlStatisticsFilter.class.getName() + ".STREAMING";
+        private static final Set<String> STANDARD_METHODS = Arrays.stream(HttpMethod.values())
+                .map(HttpMethod::name)
+                .collect(Collectors.toUnmodifiableSet());
+
+        private final MeterRegistry meterRegistry;
+        private final boolean responseHeader;
+
+        /**
+         * Streaming responses finish on an async dispatch; the tally and the buffered body are
+         * completed there, not when the first dispatch returns.
+         */
+        @Override
+        protected boolean shouldNotFilterAsyncDispatch() {
+            return false;
+        }
+
+        @Override
+        protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                        @NonNull HttpServletResponse response,
+                                        @NonNull FilterChain filterChain) throws ServletException, IOException {
+            SqlStatistics statistics = (SqlStatistics) request.getAttribute(SqlStatistics.ATTRIBUTE);
+            if (statistics == null) {
+                statistics = new SqlStatistics();
+                request.setAttribute(SqlStatistics.ATTRIBUTE, statistics);
+            }
+            HttpServletResponse responseToUse = response;
+            if (responseHeader && !isAsyncDispatch(request)) {
+                responseToUse = new StreamingAwareResponseWrapper(request, response);
+            }
+            SqlStatistics.CURRENT.set(statistics);
+            try {
+                filterChain.doFilter(request, responseToUse);
+            } finally {
+                SqlStatistics.CURRENT.remove();
+                if (!isAsyncStarted(request)) {
+                    complete(request, responseToUse, statistics);
+                }
+            }
+        }
+
+        private void complete(HttpServletRequest request, HttpServletResponse response, SqlStatistics statistics)
+                throws IOException {
+            record(request, statistics);
+            ContentCachingResponseWrapper responseWrapper =
+                    WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            if (responseWrapper != null) {
+                // A streamed body is already committed; its count only goes to the metrics
+                if (!isStreaming(request)) {
+                    responseWrapper.setHeader(STATEMENTS_HEADER, Integer.toString(statistics.statements()));
+                    responseWrapper.setHeader(SERVER_TIMING_HEADER, String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d statements\"",
+                            statistics.executionNanos() / 1e6, statistics.statements()));
+                }
+                responseWrapper.copyBodyToResponse();
+            }
+        }
+
+        private static boolean isStreaming(HttpServletRequest request) {
+            return request.getAttribute(STREAMING_ATTRIBUTE) != null;
+        }
+
+        private void record(HttpServletRequest request, SqlStatistics statistics) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            // Requests rejected before MVC have no route; their paths must not become tag values
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            String method = methodTag(request.getMethod());
+            AuthMetrics.sqlStatements(meterRegistry, method, uri).record(statistics.statements());
+            AuthMetrics.sqlTime(meterRegistry, method, uri)
+                    .record(statistics.executionNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        // The filter runs before security: invented methods from any client must not become tag values either
+        static String methodTag(String method) {
+            return STANDARD_METHODS.contains(method) ? method : "UNKNOWN";
+        }
+
+        /**
+         * Buffers the body like its parent unless the handler was flagged as streaming; the flag is
+         * set in preHandle, before the handler or its streaming body asks for the output stream.
+         */
+        static class StreamingAwareResponseWrapper extends ContentCachingResponseWrapper {
+            private final HttpServletRequest request;
+
+            StreamingAwareResponseWrapper(HttpServletRequest request, HttpServletResponse response) {
+                super(response);
+                this.request = request;
+            }
+
+            @Override
+            public ServletOutputStream getOutputStream() throws IOException {
+                return isStreaming(request) ? getResponse().getOutputStream() : super.getOutputStream();
+            }
+
+            @Override
+            public PrintWriter getWriter() throws IOException {
+                return isStreaming(request) ? getResponse().getWriter() : super.getWriter();
+            }
+
+            @Override
+            public void flushBuffer() throws IOException {
+                if (isStreaming(request)) {
+                    getResponse().flushBuffer();
+                } else {
+                    super.flushBuffer();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.authentication.domain.model;
+
+import br.com.authentication.domain.model.id.GeneratedTsid;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An email written in the same transaction as the change that triggers it and delivered later
+ * by the EmailOutboxDispatcher. The message is rendered at send time from the current user row.
+ */
+@Entity
+@Table(name = "email_outbox", indexes = @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at"))
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutbox {
+    
+    @Id
+    @GeneratedTsid
+    public Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    public EmailType type;
+    
+    @Column(name = "user_id", nullable = false)
+    public Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    public OutboxStatus status;
+    
+    @Column(nullable = false)
+    public int attempts;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    public LocalDateTime nextAttemptAt;
+    
+    @Column(name = "last_error", length = 512)
+    public String lastError;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    public LocalDateTime createdAt;
+    
+    @Column(name = "sent_at")
+    public LocalDateTime sentAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (status == null) {
+            status = OutboxStatus.PENDING;
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
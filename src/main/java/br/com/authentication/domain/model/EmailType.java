@@ -0,0 +1,6 @@
+package br.com.authentication.domain.model;
+
+public enum EmailType {
+    EMAIL_VERIFICATION,
+    PASSWORD_RESET
+}
@@ -0,0 +1,47 @@
+package br.com.authentication.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The stored outcome of a request sent with an Idempotency-Key. The id is a SHA-256 of the
+ * method, path and key; the fingerprint is a SHA-256 of the request body.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    
+    @Id
+    @Column(length = 64)
+    public String id;
+    
+    @Column(nullable = false, length = 64)
+    public String fingerprint;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    public IdempotencyStatus status;
+    
+    @Column(name = "response_status")
+    public Integer responseStatus;
+    
+    @Column(name = "content_type", length = 128)
+    public String contentType;
+    
+    @Lob
+    @Column(name = "response_body")
+    public byte[] responseBody;
+    
+    @Column(name = "created_at", nullable = false)
+    public LocalDateTime createdAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    public LocalDateTime expiresAt;
+}
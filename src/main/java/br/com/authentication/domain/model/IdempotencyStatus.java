@@ -0,0 +1,6 @@
+package br.com.authentication.domain.model;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
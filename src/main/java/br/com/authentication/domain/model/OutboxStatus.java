@@ -0,0 +1,7 @@
+package br.com.authentication.domain.model;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
@@ -3,5 +3,7 @@ package br.com.authentication.domain.model;
 public enum Role {
     USER,
     ADMIN,
-    MANAGER
+    MANAGER,
+    // Operations access: actuator endpoints other than health and info, e.g. Prometheus scraping
+    DEVOPS
 }
@@ -1,5 +1,6 @@
 package br.com.authentication.domain.model;
 
+import br.com.authentication.domain.model.id.GeneratedTsid;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,14 +9,14 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tokens")
+@Table(name = "tokens", uniqueConstraints = @UniqueConstraint(name = "uk_tokens_user_slot", columnNames = {"user_id", "slot"}))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Token {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedTsid
     public Long id;
     
     @Column(nullable = false, unique = true)
@@ -29,6 +30,10 @@ public class Token {
     @JoinColumn(name = "user_id", nullable = false)
     public User user;
     
+    // Equals the type name for single-instance types and null otherwise, so only those collide on the unique key
+    @Column(name = "slot", length = 32)
+    public String slot;
+    
     @Column(name = "expires_at", nullable = false)
     public LocalDateTime expiresAt;
     
@@ -41,6 +46,9 @@ public class Token {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        if (slot == null && type != null) {
+            slot = type.slot();
+        }
     }
     
     public boolean isExpired() {
@@ -1,7 +1,18 @@
 package br.com.authentication.domain.model;
 
 public enum TokenType {
-    EMAIL_VERIFICATION,
-    PASSWORD_RESET,
-    REFRESH_TOKEN
+    EMAIL_VERIFICATION(true),
+    PASSWORD_RESET(true),
+    REFRESH_TOKEN(true);
+
+    // Single-instance types keep at most one token per user, enforced by the (user_id, slot) unique key
+    public final boolean singleInstance;
+
+    TokenType(boolean singleInstance) {
+        this.singleInstance = singleInstance;
+    }
+
+    public String slot() {
+        return singleInstance ? name() : null;
+    }
 }
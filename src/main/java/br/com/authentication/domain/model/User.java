@@ -1,5 +1,6 @@
 package br.com.authentication.domain.model;
 
+import br.com.authentication.domain.model.id.GeneratedTsid;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,7 +15,10 @@ import java.util.Collection;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_status_id", columnList = "status, id"),
+        @Index(name = "idx_users_provider_id", columnList = "external_provider, id")
+})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,7 +26,7 @@ import java.util.Set;
 public class User implements UserDetails {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedTsid
     public Long id;
     
     @Column(nullable = false, unique = true)
@@ -64,6 +68,10 @@ public class User implements UserDetails {
     @Column(name = "external_provider")
     public ExternalProvider externalProvider;
     
+    // BCP 47 tag (e.g. pt-BR) used to pick email templates; null falls back to the default locale
+    @Column(name = "locale", length = 16)
+    public String locale;
+    
     @ElementCollection(fetch = FetchType.EAGER)
     @Enumerated(EnumType.STRING)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
@@ -76,6 +84,11 @@ public class User implements UserDetails {
     @Column(name = "updated_at")
     public LocalDateTime updatedAt;
     
+    // Optimistic lock, also checked by the targeted profile UPDATE (UserRepositoryCustom.updateProfile)
+    @Version
+    @Column(nullable = false)
+    public Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,29 @@
+package br.com.authentication.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+/**
+ * One slot of the user counter. Account creation adds to a random slot within the creating transaction,
+ * so concurrent registrations rarely wait on the same row, and the total is the sum of
+ * {@link #SLOTS} rows instead of a COUNT(*) over users. Only read and written through native
+ * statements (UserRepositoryCustom); mapped so that generated schemas include the table.
+ */
+@Entity
+@Table(name = "user_counter")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCounter {
+    
+    // Rows 0..SLOTS-1 are created by the changelog (and import.sql for generated schemas)
+    public static final int SLOTS = 16;
+    
+    @Id
+    public Integer slot;
+    
+    @Column(name = "user_count", nullable = false)
+    public long userCount;
+}
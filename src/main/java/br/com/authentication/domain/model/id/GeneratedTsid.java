@@ -0,0 +1,15 @@
+package br.com.authentication.domain.model.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Assigns the id before the INSERT, which keeps Hibernate JDBC insert batching enabled
+@IdGeneratorType(TsidIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface GeneratedTsid {
+}
@@ -0,0 +1,6 @@
+package br.com.authentication.domain.model.id;
+
+public interface IdGenerator {
+    
+    long nextId();
+}
@@ -0,0 +1,26 @@
+package br.com.authentication.domain.model.id;
+
+/**
+ * Process-wide id generator. Hibernate instantiates identifier generators itself, so the
+ * application configures the implementation here at startup (see IdGeneratorConfig). Until then
+ * no id can be generated: a default node would be shared by every replica.
+ */
+public final class IdGenerators {
+    
+    private static final IdGenerator UNCONFIGURED = () -> {
+        throw new IllegalStateException("IdGenerators not configured");
+    };
+    
+    private static volatile IdGenerator generator = UNCONFIGURED;
+    
+    private IdGenerators() {
+    }
+    
+    public static long nextId() {
+        return generator.nextId();
+    }
+    
+    public static void use(IdGenerator idGenerator) {
+        generator = idGenerator;
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.authentication.domain.model.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-sortable 64-bit ids (Snowflake layout): 41 bits of milliseconds since {@link #EPOCH},
+ * 10 bits of node id and a 12-bit per-millisecond sequence, so the sign bit stays clear for
+ * about 69 years. Ids are strictly increasing per node: when the sequence is exhausted, or the
+ * clock goes backwards, the generator keeps counting past the last issued timestamp.
+ */
+public class TsidGenerator implements IdGenerator {
+    
+    public static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    
+    private static final long EPOCH_MILLIS = EPOCH.toEpochMilli();
+    
+    private final long node;
+    // (timestamp << SEQUENCE_BITS) | sequence of the last issued id
+    private final AtomicLong state = new AtomicLong();
+    
+    public TsidGenerator(int node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+    }
+    
+    @Override
+    public long nextId() {
+        long next;
+        while (true) {
+            long previous = state.get();
+            long nowState = (currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            next = nowState > previous ? nowState : previous + 1;
+            if (state.compareAndSet(previous, next)) {
+                break;
+            }
+        }
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+    }
+    
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS);
+    }
+    
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.authentication.domain.model.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+public class TsidIdentifierGenerator implements IdentifierGenerator {
+    
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return IdGenerators.nextId();
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.authentication.domain.repository;
+
+import br.com.authentication.domain.model.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    
+    /**
+     * Locks the oldest due messages. SKIP LOCKED lets several replicas claim disjoint batches
+     * without waiting on each other.
+     */
+    @Query(value = """
+            SELECT * FROM email_outbox
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EmailOutbox> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.nextAttemptAt = :leaseUntil WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+    
+    @Modifying
+    @Query("""
+            UPDATE EmailOutbox e
+            SET e.status = br.com.authentication.domain.model.OutboxStatus.SENT,
+                e.attempts = e.attempts + 1, e.sentAt = :sentAt, e.lastError = null
+            WHERE e.id IN :ids
+            """)
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+}
@@ -0,0 +1,58 @@
+package br.com.authentication.domain.repository;
+
+import br.com.authentication.domain.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    
+    /**
+     * Claims a key across replicas: the primary key makes exactly one concurrent insert succeed.
+     *
+     * @return 1 when this caller claimed the key, 0 when a record already exists
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO idempotency_keys (id, fingerprint, status, created_at, expires_at)
+            VALUES (:id, :fingerprint, 'IN_PROGRESS', :createdAt, :expiresAt)
+            """, nativeQuery = true)
+    int insertInProgress(@Param("id") String id,
+                         @Param("fingerprint") String fingerprint,
+                         @Param("createdAt") LocalDateTime createdAt,
+                         @Param("expiresAt") LocalDateTime expiresAt);
+    
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE IdempotencyRecord r
+            SET r.status = br.com.authentication.domain.model.IdempotencyStatus.COMPLETED,
+                r.responseStatus = :responseStatus, r.contentType = :contentType, r.responseBody = :responseBody
+            WHERE r.id = :id
+            """)
+    int complete(@Param("id") String id,
+                 @Param("responseStatus") int responseStatus,
+                 @Param("contentType") String contentType,
+                 @Param("responseBody") byte[] responseBody);
+    
+    /**
+     * Removes a claim, guarded by its creation time so a replica never deletes a newer claim
+     * that replaced the one it saw.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.createdAt = :createdAt")
+    int deleteClaim(@Param("id") String id, @Param("createdAt") LocalDateTime createdAt);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -3,8 +3,12 @@ package br.com.authentication.domain.repository;
 import br.com.authentication.domain.model.Token;
 import br.com.authentication.domain.model.TokenType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +17,32 @@ public interface TokenRepository extends JpaRepository<Token, Long> {
     Optional<Token> findByTokenAndType(String token, TokenType type);
     
     void deleteByUserAndType(br.com.authentication.domain.model.User user, TokenType type);
+
+    /**
+     * Issues a token in a single round trip: inserts it, or replaces the token occupying the
+     * user's (user_id, slot) entry. Relies on the uk_tokens_user_slot unique key. A replaced
+     * token keeps its id, so the clustered primary key is never rewritten.
+     *
+     * @return 1 when the token was inserted, 2 when it replaced an existing one (MySQL affected rows)
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO tokens (id, token, type, user_id, slot, expires_at, used, created_at)
+            VALUES (:id, :token, :type, :userId, :slot, :expiresAt, FALSE, :createdAt)
+            ON DUPLICATE KEY UPDATE
+                token = VALUES(token),
+                expires_at = VALUES(expires_at),
+                used = FALSE,
+                created_at = VALUES(created_at)
+            """, nativeQuery = true)
+    int upsertToken(@Param("id") Long id,
+                    @Param("token") String token,
+                    @Param("type") String type,
+                    @Param("userId") Long userId,
+                    @Param("slot") String slot,
+                    @Param("expiresAt") LocalDateTime expiresAt,
+                    @Param("createdAt") LocalDateTime createdAt);
+
+    @Query("SELECT t.id FROM Token t WHERE t.user.id = :userId AND t.slot = :slot")
+    Long findIdByUserIdAndSlot(@Param("userId") Long userId, @Param("slot") String slot);
 }
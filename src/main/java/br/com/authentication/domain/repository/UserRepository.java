@@ -3,12 +3,16 @@ package br.com.authentication.domain.repository;
 import br.com.authentication.domain.model.ExternalProvider;
 import br.com.authentication.domain.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     
     Optional<User> findByEmail(String email);
     
@@ -20,4 +24,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
                                                                ExternalProvider externalProvider);
 
     boolean existsByEmail(String email);
+    
+    @Query(value = "SELECT email FROM users WHERE email IN (:emails)", nativeQuery = true)
+    List<String> findUserEmailsIn(@Param("emails") Collection<String> emails);
 }
@@ -0,0 +1,110 @@
+package br.com.authentication.domain.repository;
+
+import br.com.authentication.domain.model.ExternalProvider;
+import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.model.UserStatus;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public interface UserRepositoryCustom {
+    
+    /**
+     * Replaces each user's password hash only if it is still the hash the upgrade was computed
+     * from, so a password changed or reset meanwhile is never overwritten.
+     *
+     * @return the number of users upgraded
+     */
+    int updateUserPasswords(Map<Long, PasswordUpgrade> upgradesByUserId);
+    
+    /** Inserts the users and their roles in one transaction of its own; callers hash passwords beforehand. */
+    @Transactional
+    int saveUsers(List<User> users);
+    
+    /**
+     * Writes only the given profile columns, in one UPDATE that also bumps the version, and only
+     * if the row still has {@code expectedVersion}.
+     *
+     * @return 0 when the user was changed (or deleted) since {@code expectedVersion} was read
+     */
+    int updateProfile(Long userId, long expectedVersion, Map<ProfileColumn, String> changes, LocalDateTime updatedAt);
+    
+    /**
+     * Adds to one randomly chosen slot of the user counter, in the caller's transaction.
+     */
+    void adjustUserCount(long delta);
+    
+    /**
+     * The sum of the user counter slots: every account created through the application, without
+     * scanning users. Rows changed behind the application's back are not reflected.
+     */
+    long approximateUserCount();
+    
+    /**
+     * Adds the difference between {@code COUNT(*)} over users and the counter to slot 0. Both are
+     * read from the caller's snapshot, so the caller must run it in a REPEATABLE READ transaction;
+     * registrations committing meanwhile are then in neither read and keep their own increment.
+     *
+     * @return the difference applied
+     */
+    long reconcileUserCount();
+    
+    /**
+     * Passes up to {@code limit} users with an id above {@code afterId} to {@code action} in id
+     * order, as they are read, without collecting them. The filter must not carry an email prefix.
+     *
+     * @return the number of users passed
+     */
+    int forEachUser(UserListFilter filter, long afterId, int limit, Consumer<UserSummary> action);
+    
+    /**
+     * Passes up to {@code limit} users with an email above {@code afterEmail} (null for the first
+     * page) to {@code action} in email order, as they are read; the keyset for email prefix filters.
+     *
+     * @return the number of users passed
+     */
+    int forEachUserByEmail(UserListFilter filter, String afterEmail, int limit, Consumer<UserSummary> action);
+    
+    /**
+     * Like {@link #forEachUser} over the users created or updated at or after {@code since}, in id
+     * order; pages through one delta with the same {@code since} and the last id passed.
+     *
+     * @return the number of users passed
+     */
+    int forEachUserUpdatedSince(LocalDateTime since, long afterId, int limit, Consumer<UserSummary> action);
+    
+    /**
+     * In no particular order; unknown ids are skipped.
+     */
+    List<UserSummary> findSummariesByIdIn(Collection<Long> userIds);
+    
+    /** A new hash for a user, applied only while the stored hash is still {@code verifiedHash}. */
+    record PasswordUpgrade(String verifiedHash, String upgradedHash) {
+    }
+    
+    /**
+     * Null fields do not filter. {@code emailPrefix} is matched literally (no wildcards).
+     */
+    record UserListFilter(UserStatus status, ExternalProvider provider, String emailPrefix) {
+    }
+    
+    record UserSummary(long id, String email, String fullName, UserStatus status, ExternalProvider externalProvider,
+                       boolean emailVerified, LocalDateTime createdAt) {
+    }
+    
+    enum ProfileColumn {
+        FULL_NAME("full_name"),
+        PHONE("phone"),
+        PROFILE_PICTURE("profile_picture");
+        
+        final String column;
+        
+        ProfileColumn(String column) {
+            this.column = column;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package br.com.authentication.domain.repository;
+
+import br.com.authentication.domain.model.ExternalProvider;
+import br.com.authentication.domain.model.Role;
+import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.model.UserCounter;
+import br.com.authentication.domain.model.UserStatus;
+import br.com.authentication.domain.model.id.IdGenerators;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+// JDBC batch statements for bulk writes that Spring Data would otherwise issue one round trip at a time
+@RequiredArgsConstructor
+public class UserRepositoryImpl implements UserRepositoryCustom {
+    
+    private static final String INSERT_USER = """
+            INSERT INTO users (id, email, password, full_name, phone, status, email_verified,
+                               external_provider_id, external_provider, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+    
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles (user_id, role) VALUES (?, ?)";
+    
+    private static final String SELECT_USER_SUMMARY = """
+            SELECT id, email, full_name, status, external_provider, email_verified, created_at
+            FROM users""";
+    
+    private final JdbcTemplate jdbcTemplate;
+    // Native updates through the EntityManager join the JPA transaction and the per-request SQL statistics
+    private final EntityManager entityManager;
+    
+    @Override
+    public int updateUserPasswords(Map<Long, PasswordUpgrade> upgradesByUserId) {
+        if (upgradesByUserId.isEmpty()) {
+            return 0;
+        }
+        
+        List<Object[]> args = new ArrayList<>(upgradesByUserId.size());
+        upgradesByUserId.forEach((id, upgrade) -> args.add(new Object[]{upgrade.upgradedHash(), id, upgrade.verifiedHash()}));
+        
+        return sum(jdbcTemplate.batchUpdate("UPDATE users SET password = ? WHERE id = ? AND password = ?", args));
+    }
+    
+    @Override
+    public int saveUsers(List<User> users) {
+        if (users.isEmpty()) {
+            return 0;
+        }
+        
+        // Ids are assigned up front, so role rows reference them directly and no generated keys are read back
+        for (User user : users) {
+            if (user.id == null) {
+                user.id = IdGenerators.nextId();
+            }
+            user.version = 0L;
+        }
+        
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), (ps, user) -> {
+            ps.setLong(1, user.id);
+            ps.setString(2, user.email);
+            ps.setString(3, user.password);
+            ps.setString(4, user.fullName);
+            ps.setString(5, user.phone);
+            ps.setString(6, user.status.name());
+            ps.setBoolean(7, user.emailVerified);
+            ps.setString(8, user.externalProviderId);
+            if (user.externalProvider != null) {
+                ps.setString(9, user.externalProvider.name());
+            } else {
+                ps.setNull(9, Types.VARCHAR);
+            }
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+        });
+        
+        List<Object[]> roleArgs = new ArrayList<>(users.size());
+        for (User user : users) {
+            Set<Role> roles = user.roles == null || user.roles.isEmpty() ? Set.of(Role.USER) : user.roles;
+            for (Role role : roles) {
+                roleArgs.add(new Object[]{user.id, role.name()});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE, roleArgs);
+        adjustUserCount(users.size());
+        
+        return users.size();
+    }
+    
+    @Override
+    public int updateProfile(Long userId, long expectedVersion, Map<ProfileColumn, String> changes, LocalDateTime updatedAt) {
+        // Column names come from ProfileColumn only; every value is a bound parameter
+        StringBuilder sql = new StringBuilder("UPDATE users SET ");
+        for (ProfileColumn column : changes.keySet()) {
+            sql.append(column.column).append(" = ?, ");
+        }
+        sql.append("updated_at = ?, version = version + 1 WHERE id = ? AND version = ?");
+        
+        Query query = entityManager.createNativeQuery(sql.toString());
+        int position = 1;
+        for (String value : changes.values()) {
+            query.setParameter(position++, value);
+        }
+        query.setParameter(position++, updatedAt);
+        query.setParameter(position++, userId);
+        query.setParameter(position, expectedVersion);
+        return query.executeUpdate();
+    }
+    
+    @Override
+    public void adjustUserCount(long delta) {
+        entityManager.createNativeQuery("UPDATE user_counter SET user_count = user_count + ? WHERE slot = ?")
+                .setParameter(1, delta)
+                .setParameter(2, ThreadLocalRandom.current().nextInt(UserCounter.SLOTS))
+                .executeUpdate();
+    }
+    
+    @Override
+    public long approximateUserCount() {
+        Number total = (Number) entityManager.createNativeQuery("SELECT COALESCE(SUM(user_count), 0) FROM user_counter")
+                .getSingleResult();
+        return total.longValue();
+    }
+    
+    @Override
+    public long reconcileUserCount() {
+        // Consistent (non-locking) reads: the COUNT(*) scans users without blocking registrations
+        long counted = approximateUserCount();
+        long actual = ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM users").getSingleResult()).longValue();
+        long drift = actual - counted;
+        if (drift != 0) {
+            entityManager.createNativeQuery("UPDATE user_counter SET user_count = user_count + ? WHERE slot = 0")
+                    .setParameter(1, drift)
+                    .executeUpdate();
+        }
+        return drift;
+    }
+    
+    @Override
+    public int forEachUser(UserListFilter filter, long afterId, int limit, Consumer<UserSummary> action) {
+        if (filter.emailPrefix() != null) {
+            // id order over a LIKE range would read and sort every match of the prefix for each page
+            throw new IllegalArgumentException("Listings filtered by email prefix are paged by email");
+        }
+        // Status and provider filters walk (status, id) / (external_provider, id) in id order and stop
+        // after `limit` matches
+        StringBuilder sql = new StringBuilder(SELECT_USER_SUMMARY).append(" WHERE id > ?");
+        List<Object> args = new ArrayList<>();
+        args.add(afterId);
+        appendStatusAndProvider(filter, sql, args);
+        sql.append(" ORDER BY id LIMIT ?");
+        args.add(limit);
+        return stream(sql.toString(), args, action);
+    }
+    
+    @Override
+    public int forEachUserByEmail(UserListFilter filter, String afterEmail, int limit, Consumer<UserSummary> action) {
+        // One range of the unique email index, read in index order from the cursor: `email LIKE 'x%'`
+        // and `email > ?` both bound the range, so a page reads `limit` rows plus the rows the status
+        // and provider filters drop, and nothing is sorted
+        StringBuilder sql = new StringBuilder(SELECT_USER_SUMMARY).append(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (filter.emailPrefix() != null && !filter.emailPrefix().isEmpty()) {
+            sql.append(" AND email LIKE ?");
+            args.add(escapeLike(filter.emailPrefix()) + "%");
+        }
+        if (afterEmail != null) {
+            sql.append(" AND email > ?");
+            args.add(afterEmail);
+        }
+        appendStatusAndProvider(filter, sql, args);
+        sql.append(" ORDER BY email LIMIT ?");
+        args.add(limit);
+        return stream(sql.toString(), args, action);
+    }
+    
+    @Override
+    public int forEachUserUpdatedSince(LocalDateTime since, long afterId, int limit, Consumer<UserSummary> action) {
+        // Range of idx_users_updated_at; the delta between two refreshes is small, so sorting it by id is cheap
+        String sql = SELECT_USER_SUMMARY + " WHERE updated_at >= ? AND id > ? ORDER BY id LIMIT ?";
+        int[] count = {0};
+        jdbcTemplate.query(sql, rs -> {
+            action.accept(toSummary(rs));
+            count[0]++;
+        }, Timestamp.valueOf(since), afterId, limit);
+        return count[0];
+    }
+    
+    @Override
+    public List<UserSummary> findSummariesByIdIn(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        String sql = SELECT_USER_SUMMARY + " WHERE id IN (" + String.join(", ", Collections.nCopies(userIds.size(), "?")) + ")";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> toSummary(rs), userIds.toArray());
+    }
+    
+    private static void appendStatusAndProvider(UserListFilter filter, StringBuilder sql, List<Object> args) {
+        if (filter.status() != null) {
+            sql.append(" AND status = ?");
+            args.add(filter.status().name());
+        }
+        if (filter.provider() != null) {
+            sql.append(" AND external_provider = ?");
+            args.add(filter.provider().name());
+        }
+    }
+    
+    private int stream(String sql, List<Object> args, Consumer<UserSummary> action) {
+        int[] count = {0};
+        jdbcTemplate.query(sql, rs -> {
+            action.accept(toSummary(rs));
+            count[0]++;
+        }, args.toArray());
+        return count[0];
+    }
+    
+    private static UserSummary toSummary(ResultSet rs) throws SQLException {
+        String provider = rs.getString("external_provider");
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new UserSummary(
+                rs.getLong("id"),
+                rs.getString("email"),
+                rs.getString("full_name"),
+                UserStatus.valueOf(rs.getString("status")),
+                provider != null ? ExternalProvider.valueOf(provider) : null,
+                rs.getBoolean("email_verified"),
+                createdAt != null ? createdAt.toLocalDateTime() : null);
+    }
+    
+    // Backslash is the default LIKE escape character in MySQL and H2
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+    
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += Math.max(count, 0);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,148 @@
+package br.com.authentication.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.security.SecureRandom;
+
+/**
+ * Flight Recorder events for the login, request authentication, registration and email paths:
+ * one event per request with its outcome and stage durations, for the slow requests the
+ * {@link AuthMetrics} histograms only count. Thresholds are set in jfr/auth.jfc.
+ * <p>
+ * Outcomes and email hashes are filled only when {@code shouldCommit()} holds, so a disabled or
+ * below-threshold event costs little more than its timestamps. Users appear as keyed hashes of
+ * their id or email: stable within a process, meaningless outside it, so a recording can leave
+ * the host without carrying identities.
+ */
+public final class AuthEvents {
+
+    public static final String CATEGORY = "Authentication API";
+
+    private static final long HASH_KEY = new SecureRandom().nextLong();
+
+    private AuthEvents() {
+    }
+
+    /**
+     * @return 0 for a null id, so unidentified events stay recognizable
+     */
+    public static long userIdHash(Long userId) {
+        return userId == null ? 0 : mix(userId ^ HASH_KEY);
+    }
+
+    public static long emailHash(String email) {
+        return email == null ? 0 : mix(email.hashCode() ^ Long.rotateLeft(HASH_KEY, 32));
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    @Name("br.com.authentication.Login")
+    @Label("Login")
+    @Category(CATEGORY)
+    @Description("A POST /api/auth/login from arrival to response body")
+    @StackTrace(false)
+    public static class Login extends Event {
+
+        @Label("Outcome")
+        @Description("success, throttled, bad_credentials, busy or error")
+        public String outcome;
+
+        @Label("User Id Hash")
+        public long userIdHash;
+
+        @Label("Email Hash")
+        public long emailHash;
+
+        @Label("Authentication")
+        @Description("Lookup, bcrypt verification and token, or the wait for a coalesced login")
+        @Timespan
+        public long authentication;
+
+        @Label("Serialization")
+        @Timespan
+        public long serialization;
+    }
+
+    @Name("br.com.authentication.JwtAuthentication")
+    @Label("JWT Authentication")
+    @Category(CATEGORY)
+    @Description("JwtAuthenticationFilter handling a request that bears a token")
+    @StackTrace(false)
+    public static class JwtAuthentication extends Event {
+
+        @Label("Outcome")
+        @Description("authenticated, invalid_token, unknown_user, rejected or skipped (already authenticated)")
+        public String outcome;
+
+        @Label("User Id Hash")
+        public long userIdHash;
+
+        @Label("Parse")
+        @Timespan
+        public long parse;
+
+        @Label("Load User")
+        @Timespan
+        public long loadUser;
+
+        @Label("Validate")
+        @Timespan
+        public long validate;
+    }
+
+    @Name("br.com.authentication.Registration")
+    @Label("Registration")
+    @Category(CATEGORY)
+    @Description("UserService.createUser")
+    @StackTrace(false)
+    public static class Registration extends Event {
+
+        @Label("Outcome")
+        @Description("registered, email_taken or error")
+        public String outcome;
+
+        @Label("User Id Hash")
+        public long userIdHash;
+
+        @Label("Lookup")
+        @Timespan
+        public long lookup;
+
+        @Label("Hash")
+        @Timespan
+        public long hash;
+
+        @Label("Persist")
+        @Timespan
+        public long persist;
+    }
+
+    @Name("br.com.authentication.EmailSend")
+    @Label("Email Send")
+    @Category(CATEGORY)
+    @Description("Rendering and sending one email over SMTP")
+    @StackTrace(false)
+    public static class EmailSend extends Event {
+
+        @Label("Template")
+        public String template;
+
+        @Label("Outcome")
+        @Description("sent or failed")
+        public String outcome;
+
+        @Label("User Id Hash")
+        public long userIdHash;
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.authentication.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers for the stages of the login, request authentication and registration pipelines, so
+ * the Prometheus endpoint shows where their time goes, and the SQL issued per request (see
+ * SqlStatisticsConfig). Histogram buckets are not set here: they follow the SLOs in
+ * management.metrics.distribution.slo (application.yml).
+ */
+public final class AuthMetrics {
+
+    public static final String LOGIN = "auth.login";
+    public static final String LOGIN_STAGE = "auth.login.stage";
+    public static final String FILTER_STAGE = "auth.jwt.filter.stage";
+    public static final String REGISTRATION_STAGE = "auth.register.stage";
+    public static final String SQL_STATEMENTS = "auth.sql.statements";
+    public static final String SQL_TIME = "auth.sql.time";
+
+    private AuthMetrics() {
+    }
+
+    /**
+     * @param outcome success, throttled, bad_credentials, busy or error
+     */
+    public static Timer login(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(LOGIN)
+                .description("Login requests from arrival to response body, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param stage lookup, verify (bcrypt), token or serialize
+     */
+    public static Timer loginStage(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder(LOGIN_STAGE)
+                .description("Time spent in one stage of a login")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param stage parse, load_user or validate
+     */
+    public static Timer filterStage(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder(FILTER_STAGE)
+                .description("Time spent in one stage of authenticating a request bearing a JWT")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param stage lookup, hash or persist
+     */
+    public static Timer registrationStage(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder(REGISTRATION_STAGE)
+                .description("Time spent in one stage of a registration")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param uri the matched route pattern, never the raw path
+     */
+    public static DistributionSummary sqlStatements(MeterRegistry meterRegistry, String method, String uri) {
+        return DistributionSummary.builder(SQL_STATEMENTS)
+                .description("SQL statements issued while serving one request")
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param uri the matched route pattern, never the raw path
+     */
+    public static Timer sqlTime(MeterRegistry meterRegistry, String method, String uri) {
+        return Timer.builder(SQL_TIME)
+                .description("Time spent executing SQL statements while serving one request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.authentication.service;
+
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * Preallocated, stackless exceptions for the failures Spring Security insists on receiving as
+ * exceptions. Failed logins are routine (and the bulk of a credential-stuffing attack), so
+ * they must not cost an allocation and a stack walk each. The instances are shared: they carry
+ * no per-request data and must never be mutated.
+ */
+public final class AuthenticationFailures {
+
+    public static final UsernameNotFoundException USER_NOT_FOUND = new StacklessUsernameNotFoundException();
+    public static final BadCredentialsException BAD_CREDENTIALS = new StacklessBadCredentialsException();
+
+    private AuthenticationFailures() {
+    }
+
+    private static final class StacklessUsernameNotFoundException extends UsernameNotFoundException {
+
+        StacklessUsernameNotFoundException() {
+            super("User not found");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    private static final class StacklessBadCredentialsException extends BadCredentialsException {
+
+        StacklessBadCredentialsException() {
+            super("Bad credentials");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
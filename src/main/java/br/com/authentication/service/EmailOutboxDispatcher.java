@@ -0,0 +1,147 @@
+package br.com.authentication.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers the email outbox. A single poller claims due messages in batches and sends each
+ * batch concurrently on virtual threads, so a slow SMTP server only delays delivery and never
+ * holds a request thread or a database connection.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxDispatcher {
+    
+    private final IEmailOutboxService emailOutboxService;
+    private final IEmailService emailService;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${app.email-outbox.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.email-outbox.batch-size:50}")
+    private int batchSize;
+    
+    @Value("${app.email-outbox.poll-interval:1s}")
+    private Duration pollInterval;
+    
+    private ScheduledExecutorService scheduler;
+    private ExecutorService senders;
+    private Timer lagTimer;
+    private Counter sentCounter;
+    private Counter retriedCounter;
+    private Counter deadCounter;
+    
+    @PostConstruct
+    void start() {
+        lagTimer = Timer.builder("auth.email.outbox.lag")
+                .description("Time from enqueue to successful delivery")
+                .register(meterRegistry);
+        sentCounter = meterRegistry.counter("auth.email.outbox.dispatched", "result", "sent");
+        retriedCounter = meterRegistry.counter("auth.email.outbox.dispatched", "result", "retried");
+        deadCounter = meterRegistry.counter("auth.email.outbox.dispatched", "result", "dead");
+        
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("email-outbox-sender-", 0).factory());
+        if (!enabled) {
+            log.info("Email outbox dispatcher is DISABLED.");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("email-outbox").daemon(true).factory());
+        long intervalMillis = pollInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::dispatchSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        senders.shutdown();
+    }
+    
+    /**
+     * Sends due messages until a claim returns less than a full batch.
+     *
+     * @return the number of messages delivered
+     */
+    public int dispatch() throws InterruptedException {
+        int delivered = 0;
+        while (true) {
+            List<IEmailOutboxService.ClaimedEmail> batch = emailOutboxService.claimDue(batchSize);
+            if (batch.isEmpty()) {
+                return delivered;
+            }
+            delivered += sendBatch(batch);
+            if (batch.size() < batchSize) {
+                return delivered;
+            }
+        }
+    }
+    
+    private int sendBatch(List<IEmailOutboxService.ClaimedEmail> batch) throws InterruptedException {
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        Map<Long, String> failures = new HashMap<>();
+        List<Future<?>> futures = new ArrayList<>(batch.size());
+        for (IEmailOutboxService.ClaimedEmail email : batch) {
+            futures.add(senders.submit(() -> send(email)));
+        }
+        
+        for (int i = 0; i < batch.size(); i++) {
+            IEmailOutboxService.ClaimedEmail email = batch.get(i);
+            try {
+                futures.get(i).get();
+                sentIds.add(email.id());
+                lagTimer.record(Duration.between(email.createdAt(), LocalDateTime.now()));
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                failures.put(email.id(), String.valueOf(cause.getMessage()));
+            }
+        }
+        
+        int deadLettered = emailOutboxService.complete(sentIds, failures);
+        sentCounter.increment(sentIds.size());
+        retriedCounter.increment(failures.size() - deadLettered);
+        deadCounter.increment(deadLettered);
+        return sentIds.size();
+    }
+    
+    private void send(IEmailOutboxService.ClaimedEmail email) {
+        switch (email.type()) {
+            case EMAIL_VERIFICATION -> emailService.sendEmailVerification(email.user());
+            case PASSWORD_RESET -> emailService.sendPasswordResetEmail(email.user());
+        }
+    }
+    
+    private void dispatchSafely() {
+        try {
+            dispatch();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Claimed messages become due again when their lease expires
+            log.warn("Email outbox dispatch failed", e);
+        }
+    }
+}
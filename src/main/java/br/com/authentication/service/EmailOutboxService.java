@@ -0,0 +1,124 @@
+package br.com.authentication.service;
+
+import br.com.authentication.domain.model.EmailOutbox;
+import br.com.authentication.domain.model.EmailType;
+import br.com.authentication.domain.model.OutboxStatus;
+import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.repository.EmailOutboxRepository;
+import br.com.authentication.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class EmailOutboxService implements IEmailOutboxService {
+    
+    private static final int MAX_ERROR_LENGTH = 512;
+    
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final UserRepository userRepository;
+    
+    @Value("${app.email-outbox.lease:5m}")
+    private Duration lease;
+    
+    @Value("${app.email-outbox.max-attempts:8}")
+    private int maxAttempts;
+    
+    @Value("${app.email-outbox.initial-backoff:30s}")
+    private Duration initialBackoff;
+    
+    @Value("${app.email-outbox.max-backoff:1h}")
+    private Duration maxBackoff;
+    
+    @Override
+    public void enqueue(EmailType type, User user) {
+        emailOutboxRepository.save(EmailOutbox.builder()
+                .type(type)
+                .userId(user.id)
+                .build());
+    }
+    
+    @Override
+    public List<ClaimedEmail> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> due = emailOutboxRepository.lockDue(now, limit);
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        
+        // A crashed dispatcher leaves its claim behind; the row becomes due again once the lease expires
+        List<Long> ids = due.stream().map(message -> message.id).toList();
+        emailOutboxRepository.lease(ids, now.plus(lease));
+        
+        Map<Long, User> users = userRepository.findAllById(due.stream().map(message -> message.userId).toList()).stream()
+                .collect(Collectors.toMap(user -> user.id, Function.identity()));
+        List<ClaimedEmail> claimed = new ArrayList<>(due.size());
+        for (EmailOutbox message : due) {
+            User user = users.get(message.userId);
+            if (user == null) {
+                deadLetter(message, "User no longer exists");
+                continue;
+            }
+            claimed.add(new ClaimedEmail(message.id, message.type, user, message.createdAt));
+        }
+        return claimed;
+    }
+    
+    @Override
+    public int complete(Collection<Long> sentIds, Map<Long, String> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!sentIds.isEmpty()) {
+            emailOutboxRepository.markSent(sentIds, now);
+        }
+        if (failures.isEmpty()) {
+            return 0;
+        }
+        
+        int deadLettered = 0;
+        for (EmailOutbox message : emailOutboxRepository.findAllById(failures.keySet())) {
+            message.attempts++;
+            if (message.attempts >= maxAttempts) {
+                deadLetter(message, failures.get(message.id));
+                deadLettered++;
+            } else {
+                message.lastError = truncate(failures.get(message.id));
+                message.nextAttemptAt = now.plus(backoff(message.attempts));
+            }
+        }
+        return deadLettered;
+    }
+    
+    // Exponential backoff starting at the initial delay after the first failure, capped at max-backoff
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+    
+    private void deadLetter(EmailOutbox message, String error) {
+        message.status = OutboxStatus.DEAD;
+        message.lastError = truncate(error);
+        log.warn("Email {} for user {} moved to dead letter after {} attempts: {}",
+                message.type, message.userId, message.attempts, message.lastError);
+    }
+    
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
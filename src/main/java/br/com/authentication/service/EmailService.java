@@ -1,29 +1,33 @@
 package br.com.authentication.service;
 
 import br.com.authentication.domain.model.User;
+import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService implements IEmailService {
     
+    static final String EMAIL_VERIFICATION_TEMPLATE = "email-verification";
+    static final String PASSWORD_RESET_TEMPLATE = "password-reset";
+    
     private final JavaMailSender mailSender;
+    private final IEmailTemplateEngine templateEngine;
     
     @Value("${app.frontend-url}")
     private String frontendUrl;
     
     public void sendEmailVerification(User user) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(user.email);
-            message.setSubject("Verify your email address");
-            message.setText(buildEmailVerificationMessage(user));
-            
-            mailSender.send(message);
+            String verificationUrl = frontendUrl + "/verify-email?token=" + user.emailVerificationToken;
+            send(user, EMAIL_VERIFICATION_TEMPLATE, verificationUrl);
             log.info("Email verification sent to: {}", user.email);
         } catch (Exception e) {
             log.error("Failed to send email verification to: {}", user.email, e);
@@ -33,12 +37,8 @@ public class EmailService implements IEmailService {
     
     public void sendPasswordResetEmail(User user) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(user.email);
-            message.setSubject("Reset your password");
-            message.setText(buildPasswordResetMessage(user));
-            
-            mailSender.send(message);
+            String resetUrl = frontendUrl + "/reset-password?token=" + user.passwordResetToken;
+            send(user, PASSWORD_RESET_TEMPLATE, resetUrl);
             log.info("Password reset email sent to: {}", user.email);
         } catch (Exception e) {
             log.error("Failed to send password reset email to: {}", user.email, e);
@@ -46,41 +46,37 @@ public class EmailService implements IEmailService {
         }
     }
     
-    private String buildEmailVerificationMessage(User user) {
-        String verificationUrl = frontendUrl + "/verify-email?token=" + user.emailVerificationToken;
-        
-        return String.format("""
-                Hello %s,
-                
-                Thank you for registering with our service. Please click the link below to verify your email address:
-                
-                %s
-                
-                This link will expire in 24 hours.
-                
-                If you did not create an account, please ignore this email.
-                
-                Best regards,
-                The Authentication Team
-                """, user.fullName, verificationUrl);
+    private void send(User user, String template, String link) throws Exception {
+        AuthEvents.EmailSend event = new AuthEvents.EmailSend();
+        event.begin();
+        String outcome = "failed";
+        try {
+            deliver(user, template, link);
+            outcome = "sent";
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.template = template;
+                event.outcome = outcome;
+                event.userIdHash = AuthEvents.userIdHash(user.id);
+                event.commit();
+            }
+        }
     }
     
-    private String buildPasswordResetMessage(User user) {
-        String resetUrl = frontendUrl + "/reset-password?token=" + user.passwordResetToken;
+    private void deliver(User user, String template, String link) throws Exception {
+        IEmailTemplateEngine.RenderedEmail email = templateEngine.render(template, user.locale,
+                Map.of("fullName", user.fullName, "link", link));
         
-        return String.format("""
-                Hello %s,
-                
-                You requested to reset your password. Please click the link below to reset your password:
-                
-                %s
-                
-                This link will expire in 1 hour.
-                
-                If you did not request this password reset, please ignore this email.
-                
-                Best regards,
-                The Authentication Team
-                """, user.fullName, resetUrl);
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, email.html() != null, StandardCharsets.UTF_8.name());
+        helper.setTo(user.email);
+        helper.setSubject(email.subject());
+        if (email.html() != null) {
+            helper.setText(email.text(), email.html());
+        } else {
+            helper.setText(email.text());
+        }
+        mailSender.send(message);
     }
 }
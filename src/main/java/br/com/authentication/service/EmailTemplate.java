@@ -0,0 +1,98 @@
+package br.com.authentication.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template compiled once into alternating literal and variable segments. Rendering appends
+ * the segments to a caller-supplied builder, so no format string is parsed per email.
+ * Placeholders are written as {@code {{name}}}.
+ */
+public final class EmailTemplate {
+    
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    
+    // literals.length == variables.length + 1; rendering is literal[0] var[0] literal[1] ... literal[n]
+    private final String[] literals;
+    private final String[] variables;
+    private final boolean escapeHtml;
+    private final int literalLength;
+    
+    private EmailTemplate(String[] literals, String[] variables, boolean escapeHtml) {
+        this.literals = literals;
+        this.variables = variables;
+        this.escapeHtml = escapeHtml;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+    
+    public static EmailTemplate compile(String source, boolean escapeHtml) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder at offset " + open);
+            }
+            literals.add(source.substring(position, open));
+            variables.add(name);
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+        return new EmailTemplate(literals.toArray(String[]::new), variables.toArray(String[]::new), escapeHtml);
+    }
+    
+    public StringBuilder render(Map<String, String> model, StringBuilder out) {
+        out.append(literals[0]);
+        for (int i = 0; i < variables.length; i++) {
+            String value = model.get(variables[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing template variable: " + variables[i]);
+            }
+            if (escapeHtml) {
+                appendEscaped(value, out);
+            } else {
+                out.append(value);
+            }
+            out.append(literals[i + 1]);
+        }
+        return out;
+    }
+    
+    public String render(Map<String, String> model) {
+        return render(model, new StringBuilder(estimatedLength())).toString();
+    }
+    
+    // Literal text plus a typical allowance per variable, used to presize builders
+    public int estimatedLength() {
+        return literalLength + variables.length * 64;
+    }
+    
+    private static void appendEscaped(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package br.com.authentication.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads email templates once and keeps them compiled. Templates live under
+ * {@code app.email-templates.location} as {@code <name>.<locale>.txt} (first line
+ * {@code Subject: ...}, then the plain text body) with an optional {@code <name>.<locale>.html}
+ * part. When a reload interval is set, the location is polled and recompiled on change; a
+ * broken edit keeps the previous templates in place.
+ */
+@Service
+@Slf4j
+public class EmailTemplateEngine implements IEmailTemplateEngine {
+    
+    private static final String SUBJECT_PREFIX = "Subject:";
+    
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+    
+    @Value("${app.email-templates.location:classpath:/templates/email/}")
+    private String location;
+    
+    @Value("${app.email-templates.default-locale:en}")
+    private String defaultLocale;
+    
+    @Value("${app.email-templates.reload-interval:0s}")
+    private Duration reloadInterval;
+    
+    // Keyed by "<name>.<locale>" in lower case; replaced as a whole on reload
+    private volatile Map<String, CompiledEmail> templates = Map.of();
+    private volatile long signature;
+    private ScheduledExecutorService scheduler;
+    
+    @PostConstruct
+    void start() throws IOException {
+        reload();
+        if (reloadInterval.isZero() || reloadInterval.isNegative()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("email-template-reload").daemon(true).factory());
+        long intervalMillis = reloadInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::reloadIfChanged, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+    
+    @Override
+    public RenderedEmail render(String name, String locale, Map<String, String> model) {
+        CompiledEmail email = resolve(name, locale);
+        // One builder serves all parts of the email
+        StringBuilder out = new StringBuilder(email.maxEstimatedLength());
+        String subject = email.subject().render(model, out).toString();
+        out.setLength(0);
+        String text = email.text().render(model, out).toString();
+        String html = null;
+        if (email.html() != null) {
+            out.setLength(0);
+            html = email.html().render(model, out).toString();
+        }
+        return new RenderedEmail(subject, text, html);
+    }
+    
+    /**
+     * Recompiles every template at the location.
+     *
+     * @return the number of templates loaded
+     */
+    int reload() throws IOException {
+        Resource[] resources = resources();
+        Map<String, String> texts = new HashMap<>();
+        Map<String, String> htmls = new HashMap<>();
+        for (Resource resource : resources) {
+            String filename = resource.getFilename();
+            String source = resource.getContentAsString(StandardCharsets.UTF_8);
+            if (filename.endsWith(".txt")) {
+                texts.put(key(filename, ".txt"), source);
+            } else {
+                htmls.put(key(filename, ".html"), source);
+            }
+        }
+        
+        Map<String, CompiledEmail> compiled = new HashMap<>();
+        for (Map.Entry<String, String> entry : texts.entrySet()) {
+            compiled.put(entry.getKey(), compile(entry.getKey(), entry.getValue(), htmls.get(entry.getKey())));
+        }
+        for (String key : htmls.keySet()) {
+            if (!texts.containsKey(key)) {
+                log.warn("Ignoring email template {}: HTML part without a text part", key);
+            }
+        }
+        
+        templates = Map.copyOf(compiled);
+        signature = signatureOf(resources);
+        log.info("Loaded {} email templates from {}", compiled.size(), location);
+        return compiled.size();
+    }
+    
+    void reloadIfChanged() {
+        try {
+            if (signatureOf(resources()) != signature) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.warn("Email template reload failed, keeping the previous templates", e);
+        }
+    }
+    
+    private CompiledEmail resolve(String name, String locale) {
+        Map<String, CompiledEmail> snapshot = templates;
+        for (String candidate : localeCandidates(locale)) {
+            CompiledEmail email = snapshot.get(name + "." + candidate);
+            if (email != null) {
+                return email;
+            }
+        }
+        throw new IllegalArgumentException("No email template " + name + " for locale " + locale);
+    }
+    
+    private List<String> localeCandidates(String locale) {
+        List<String> candidates = new ArrayList<>(3);
+        if (locale != null && !locale.isBlank()) {
+            String tag = locale.replace('_', '-').toLowerCase(Locale.ROOT);
+            candidates.add(tag);
+            int separator = tag.indexOf('-');
+            if (separator > 0) {
+                candidates.add(tag.substring(0, separator));
+            }
+        }
+        candidates.add(defaultLocale.toLowerCase(Locale.ROOT));
+        return candidates;
+    }
+    
+    private Resource[] resources() throws IOException {
+        List<Resource> resources = new ArrayList<>();
+        resources.addAll(List.of(resourceResolver.getResources(location + "*.txt")));
+        resources.addAll(List.of(resourceResolver.getResources(location + "*.html")));
+        return resources.toArray(Resource[]::new);
+    }
+    
+    private static CompiledEmail compile(String key, String textSource, String htmlSource) {
+        String normalized = textSource.replace("\r\n", "\n");
+        int firstLineEnd = normalized.indexOf('\n');
+        String firstLine = firstLineEnd < 0 ? normalized : normalized.substring(0, firstLineEnd);
+        if (!firstLine.startsWith(SUBJECT_PREFIX)) {
+            throw new IllegalArgumentException("Email template " + key + " must start with a '" + SUBJECT_PREFIX + "' line");
+        }
+        String body = firstLineEnd < 0 ? "" : normalized.substring(firstLineEnd + 1);
+        if (body.startsWith("\n")) {
+            body = body.substring(1);
+        }
+        return new CompiledEmail(
+                EmailTemplate.compile(firstLine.substring(SUBJECT_PREFIX.length()).trim(), false),
+                EmailTemplate.compile(body, false),
+                htmlSource == null ? null : EmailTemplate.compile(htmlSource, true));
+    }
+    
+    private static String key(String filename, String extension) {
+        return filename.substring(0, filename.length() - extension.length()).toLowerCase(Locale.ROOT);
+    }
+    
+    private static long signatureOf(Resource[] resources) throws IOException {
+        long hash = resources.length;
+        for (Resource resource : resources) {
+            hash = 31 * hash + resource.getFilename().hashCode();
+            hash = 31 * hash + resource.lastModified();
+        }
+        return hash;
+    }
+    
+    private record CompiledEmail(EmailTemplate subject, EmailTemplate text, EmailTemplate html) {
+        
+        int maxEstimatedLength() {
+            int length = Math.max(subject.estimatedLength(), text.estimatedLength());
+            return html == null ? length : Math.max(length, html.estimatedLength());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.authentication.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a low-overhead flight recording running for the life of the process: the JDK "default"
+ * settings with the overlay in jfr/auth.jfc, bounded by max-age and max-size in the JFR
+ * repository on disk. Nothing leaves that repository until a dump is requested (actuator jfr
+ * endpoint), so a latency spike can be examined after the fact without attaching anything.
+ */
+@Service
+@Slf4j
+public class FlightRecorderService implements IFlightRecorderService {
+    
+    static final String RECORDING_NAME = "authentication-api";
+    private static final String DUMP_SUFFIX = ".jfr";
+    private static final DateTimeFormatter DUMP_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+    
+    @Value("${app.jfr.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.jfr.settings:classpath:jfr/auth.jfc}")
+    private Resource settings;
+    
+    @Value("${app.jfr.max-age:30m}")
+    private Duration maxAge;
+    
+    @Value("${app.jfr.max-size:250MB}")
+    private DataSize maxSize;
+    
+    @Value("${app.jfr.dump-directory:${java.io.tmpdir}/jfr}")
+    private Path dumpDirectory;
+    
+    @Value("${app.jfr.max-dumps:5}")
+    private int maxDumps;
+    
+    private Recording recording;
+    
+    @PostConstruct
+    void start() throws IOException, ParseException {
+        if (!enabled) {
+            log.info("Continuous flight recording is disabled");
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("Flight Recorder is not available in this JVM, continuous recording not started");
+            return;
+        }
+        recording = new Recording(recordingSettings());
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        log.info("Continuous flight recording started (max-age {}, max-size {})", maxAge, maxSize);
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+    
+    @Override
+    public synchronized Path dump() throws IOException {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No flight recording is running");
+        }
+        Files.createDirectories(dumpDirectory);
+        Path file = dumpDirectory.resolve(RECORDING_NAME + "-" + DUMP_TIMESTAMP.format(Instant.now()) + DUMP_SUFFIX);
+        recording.dump(file);
+        deleteOldDumps();
+        log.info("Flight recording dumped to {}", file);
+        return file;
+    }
+    
+    @Override
+    public Status status() throws IOException {
+        boolean running = recording != null && recording.getState() == RecordingState.RUNNING;
+        return new Status(running, running ? recording.getStartTime() : null, maxAge, maxSize.toBytes(),
+                dumpDirectory, dumps().stream().map(file -> file.getFileName().toString()).toList());
+    }
+    
+    private Map<String, String> recordingSettings() throws IOException, ParseException {
+        Map<String, String> merged = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (Reader reader = new InputStreamReader(settings.getInputStream(), StandardCharsets.UTF_8)) {
+            merged.putAll(Configuration.create(reader).getSettings());
+        }
+        return merged;
+    }
+    
+    // Dumps are meant to be copied off the host; the newest max-dumps are kept so the disk cannot fill up
+    private void deleteOldDumps() throws IOException {
+        List<Path> dumps = dumps();
+        for (Path old : dumps.subList(Math.min(maxDumps, dumps.size()), dumps.size())) {
+            Files.deleteIfExists(old);
+        }
+    }
+    
+    private List<Path> dumps() throws IOException {
+        if (!Files.isDirectory(dumpDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dumpDirectory)) {
+            // The timestamp in the name sorts chronologically
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(RECORDING_NAME + "-") && name.endsWith(DUMP_SUFFIX);
+                    })
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.authentication.service;
+
+import br.com.authentication.domain.model.EmailType;
+import br.com.authentication.domain.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface IEmailOutboxService {
+    
+    /**
+     * Records an email for the given user in the caller's transaction. It is only delivered
+     * if that transaction commits.
+     */
+    void enqueue(EmailType type, User user);
+    
+    /**
+     * Claims up to {@code limit} due messages by pushing their next attempt past the lease, so
+     * other dispatchers skip them while they are being sent.
+     */
+    List<ClaimedEmail> claimDue(int limit);
+    
+    /**
+     * Marks sent messages and reschedules failed ones with backoff.
+     *
+     * @return the number of failed messages moved to the dead letter state
+     */
+    int complete(Collection<Long> sentIds, Map<Long, String> failures);
+    
+    record ClaimedEmail(long id, EmailType type, User user, LocalDateTime createdAt) {
+    }
+}
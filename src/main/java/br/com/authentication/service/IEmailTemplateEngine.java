@@ -0,0 +1,18 @@
+package br.com.authentication.service;
+
+import java.util.Map;
+
+public interface IEmailTemplateEngine {
+    
+    /**
+     * Renders the named template for the closest available locale (exact tag, then language,
+     * then the default locale).
+     */
+    RenderedEmail render(String name, String locale, Map<String, String> model);
+    
+    /**
+     * A rendered email; {@code html} is null when the template has no HTML part.
+     */
+    record RenderedEmail(String subject, String text, String html) {
+    }
+}
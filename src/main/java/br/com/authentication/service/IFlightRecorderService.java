@@ -0,0 +1,29 @@
+package br.com.authentication.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+public interface IFlightRecorderService {
+    
+    /**
+     * Writes what the continuous recording currently holds (at most max-age / max-size) to a new
+     * file in the dump directory. The recording keeps running.
+     *
+     * @return the file written
+     * @throws IllegalStateException when no recording is running
+     */
+    Path dump() throws IOException;
+    
+    Status status() throws IOException;
+    
+    /**
+     * @param startTime null when not recording
+     * @param dumps file names in the dump directory, newest first
+     */
+    record Status(boolean recording, Instant startTime, Duration maxAge, long maxSizeBytes,
+                  Path dumpDirectory, List<String> dumps) {
+    }
+}
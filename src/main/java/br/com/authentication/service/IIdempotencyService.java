@@ -0,0 +1,41 @@
+package br.com.authentication.service;
+
+public interface IIdempotencyService {
+    
+    /**
+     * Claims the key for execution, or resolves it to the stored response. A duplicate of a
+     * request that is still executing waits for it, up to the configured wait timeout.
+     */
+    Claim begin(String key, String fingerprint);
+    
+    /**
+     * Stores the response of the execution claimed by {@link #begin} and releases waiting duplicates.
+     */
+    void complete(String key, String fingerprint, StoredResponse response);
+    
+    /**
+     * Releases a claim without storing a response, so the next attempt executes again.
+     */
+    void abandon(String key);
+    
+    record StoredResponse(int status, String contentType, byte[] body) {
+    }
+    
+    sealed interface Claim {
+        
+        /** The caller owns the key and must call complete or abandon. */
+        record Acquired() implements Claim {
+        }
+        
+        record Replay(StoredResponse response) implements Claim {
+        }
+        
+        /** The key was used before with a different request body. */
+        record Mismatch() implements Claim {
+        }
+        
+        /** Another execution still holds the key after the wait timeout. */
+        record InProgress() implements Claim {
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.authentication.service;
+
+public interface ILoginAttemptService {
+    
+    boolean isBlocked(String email, String clientIp);
+    
+    void loginFailed(String email, String clientIp);
+    
+    void loginSucceeded(String email, String clientIp);
+}
@@ -0,0 +1,8 @@
+package br.com.authentication.service;
+
+import java.util.function.Supplier;
+
+public interface ILoginCoalescingService {
+    
+    <T> T coalesce(String email, String password, Supplier<T> login);
+}
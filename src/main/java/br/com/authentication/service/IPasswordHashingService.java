@@ -0,0 +1,14 @@
+package br.com.authentication.service;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+
+public interface IPasswordHashingService extends PasswordEncoder {
+    
+    List<String> encodeAll(List<? extends CharSequence> rawPasswords);
+    
+    int queuedTasks();
+    
+    int poolSize();
+}
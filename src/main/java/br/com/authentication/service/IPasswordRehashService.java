@@ -0,0 +1,10 @@
+package br.com.authentication.service;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+public interface IPasswordRehashService {
+    
+    void schedule(UserDetails user, String rawPassword);
+    
+    int flush();
+}
@@ -4,13 +4,23 @@ import br.com.authentication.domain.model.Token;
 import br.com.authentication.domain.model.TokenType;
 import br.com.authentication.domain.model.User;
 
+import java.util.Optional;
+
 public interface ITokenService {
     
+    /**
+     * Issues a token, replacing the user's current one for single-instance types.
+     * Email verification and password reset still keep their tokens on the users row
+     * (see UserService), so no request flow issues tokens through here yet.
+     */
     Token createToken(User user, TokenType type, int expiryHours);
     
-    Token findByTokenAndType(String token, TokenType type);
+    Optional<Token> findByTokenAndType(String token, TokenType type);
     
-    void markTokenAsUsed(String token, TokenType type);
+    /**
+     * @return false when the token does not exist
+     */
+    boolean markTokenAsUsed(String token, TokenType type);
     
     boolean isTokenValid(String token, TokenType type);
 }
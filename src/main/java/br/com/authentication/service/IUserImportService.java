@@ -0,0 +1,23 @@
+package br.com.authentication.service;
+
+import br.com.authentication.domain.model.User;
+
+import java.util.List;
+
+public interface IUserImportService {
+    
+    ImportBatchResult importBatch(List<ImportRow> rows);
+    
+    /**
+     * One parsed input row. When {@code rawPassword} is null, {@code user.password} already holds a
+     * bcrypt hash supplied by the source system.
+     */
+    record ImportRow(long line, User user, String rawPassword) {
+    }
+    
+    record RowError(long line, String email, String message) {
+    }
+    
+    record ImportBatchResult(int imported, List<RowError> errors) {
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.authentication.service;
+
+import br.com.authentication.domain.model.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface IUserSearchService {
+    
+    /**
+     * @return ids of users whose email or name starts with {@code prefix}, best match first;
+     * empty while the index is still loading
+     */
+    Optional<List<Long>> search(String prefix, int limit);
+    
+    /**
+     * Indexes the users' current email and name once the surrounding transaction commits, or
+     * right away outside a transaction.
+     */
+    void indexUsers(Collection<User> users);
+    
+    /**
+     * Loads the index from the database, replacing its contents.
+     *
+     * @return the number of users loaded
+     */
+    int warm();
+}
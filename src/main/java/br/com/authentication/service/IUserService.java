@@ -2,35 +2,122 @@ package br.com.authentication.service;
 
 import br.com.authentication.domain.model.User;
 import br.com.authentication.domain.model.ExternalProvider;
+import br.com.authentication.domain.repository.UserRepositoryCustom.PasswordUpgrade;
+import br.com.authentication.domain.repository.UserRepositoryCustom.UserListFilter;
+import br.com.authentication.domain.repository.UserRepositoryCustom.UserSummary;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
-public interface IUserService extends UserDetailsService {
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface IUserService extends UserDetailsService, UserDetailsPasswordService {
     
-    User createUser(String email, String password, String fullName);
+    Registration createUser(String email, String password, String fullName);
     
     User createUserFromExternalProvider(String email, String fullName, 
                                       String externalProviderId, 
                                       ExternalProvider externalProvider);
     
-    User findByEmail(String email);
+    Optional<User> findByEmail(String email);
     
-    User findByEmailVerificationToken(String token);
+    Optional<User> findByEmailVerificationToken(String token);
     
-    User findByPasswordResetToken(String token);
+    Optional<User> findByPasswordResetToken(String token);
     
     User findByExternalProvider(String externalProviderId, ExternalProvider externalProvider);
     
-    void verifyEmail(String token);
+    TokenRedemption verifyEmail(String token);
     
-    void initiatePasswordReset(String email);
+    /**
+     * @return false when no user has the email
+     */
+    boolean initiatePasswordReset(String email);
     
-    void resetPassword(String token, String newPassword);
+    TokenRedemption resetPassword(String token, String newPassword);
     
-    User updateProfile(User user, String fullName, String phone, String profilePicture);
+    /**
+     * Writes only the fields that differ from {@code user}, checking its version, and applies
+     * them to {@code user} on success.
+     */
+    ProfileUpdate updateProfile(User user, String fullName, String phone, String profilePicture);
     
     void changePassword(User user, String currentPassword, String newPassword);
     
+    /**
+     * @return the number of users upgraded; a user whose password changed since it was verified is skipped
+     */
+    int updatePasswords(Map<Long, PasswordUpgrade> upgradesByUserId);
+    
     void lockUser(Long userId);
     
+    /**
+     * Read from the user counter, not by scanning users; see
+     * {@link br.com.authentication.domain.repository.UserRepositoryCustom#approximateUserCount()}.
+     */
     long countUsers();
+    
+    /**
+     * Corrects the user counter with one {@code COUNT(*)} over users, for the registrations it
+     * missed (accounts inserted by instances that predate it, or behind the application's back).
+     *
+     * @return the number of users the counter was off by
+     */
+    long reconcileUserCount();
+    
+    /**
+     * Streams one keyset page of users: up to {@code limit} users with an id above
+     * {@code afterId}, in id order.
+     *
+     * @return the number of users passed to {@code action}
+     */
+    int forEachUser(UserListFilter filter, long afterId, int limit, Consumer<UserSummary> action);
+    
+    /**
+     * Streams one keyset page of users filtered by email prefix: up to {@code limit} users with an
+     * email above {@code afterEmail}, in email order.
+     *
+     * @return the number of users passed to {@code action}
+     */
+    int forEachUserByEmail(UserListFilter filter, String afterEmail, int limit, Consumer<UserSummary> action);
+    
+    /**
+     * In the order of {@code userIds}; unknown ids are skipped.
+     */
+    List<UserSummary> findUserSummaries(List<Long> userIds);
+    
+    /**
+     * Outcome of a registration. A taken email is an expected result, not an error.
+     */
+    sealed interface Registration {
+        
+        record Registered(User user) implements Registration {
+        }
+        
+        record EmailTaken() implements Registration {
+        }
+    }
+    
+    /**
+     * Outcome of a profile update. A concurrent change is an expected result, not an error.
+     */
+    sealed interface ProfileUpdate {
+        
+        record Updated(User user) implements ProfileUpdate {
+        }
+        
+        record Conflict() implements ProfileUpdate {
+        }
+    }
+    
+    /**
+     * Outcome of redeeming an emailed token (email verification, password reset).
+     */
+    enum TokenRedemption {
+        REDEEMED,
+        INVALID,
+        EXPIRED
+    }
 }
@@ -0,0 +1,244 @@
+package br.com.authentication.service;
+
+import br.com.authentication.domain.model.IdempotencyRecord;
+import br.com.authentication.domain.model.IdempotencyStatus;
+import br.com.authentication.domain.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key bookkeeping. Completed responses are served from a bounded in-memory LRU
+ * first and from the idempotency_keys table otherwise. Duplicates arriving while the first
+ * request runs wait on its future in this process, or poll the table when another replica
+ * holds the claim.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService implements IIdempotencyService {
+    
+    private static final Claim ACQUIRED = new Claim.Acquired();
+    private static final Claim MISMATCH = new Claim.Mismatch();
+    private static final Claim IN_PROGRESS = new Claim.InProgress();
+    
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final MeterRegistry meterRegistry;
+    
+    private final ConcurrentHashMap<String, Execution> inFlight = new ConcurrentHashMap<>();
+    private Map<String, CachedResponse> completed;
+    
+    @Value("${app.idempotency.ttl:24h}")
+    private Duration ttl;
+    
+    @Value("${app.idempotency.cache-size:10000}")
+    private int cacheSize;
+    
+    @Value("${app.idempotency.wait-timeout:30s}")
+    private Duration waitTimeout;
+    
+    @Value("${app.idempotency.poll-interval:100ms}")
+    private Duration pollInterval;
+    
+    // A claim older than this is treated as left behind by a crashed replica
+    @Value("${app.idempotency.in-progress-timeout:2m}")
+    private Duration inProgressTimeout;
+    
+    private ScheduledExecutorService scheduler;
+    
+    @PostConstruct
+    void start() {
+        completed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("idempotency-purge").daemon(true).factory());
+        scheduler.scheduleWithFixedDelay(this::purgeExpired, 1, 1, TimeUnit.HOURS);
+    }
+    
+    @PreDestroy
+    void stop() {
+        scheduler.shutdown();
+    }
+    
+    @Override
+    public Claim begin(String key, String fingerprint) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            CachedResponse cached = completed.get(key);
+            if (cached != null && cached.expiresAt().isAfter(LocalDateTime.now())) {
+                return record(cached.fingerprint().equals(fingerprint) ? new Claim.Replay(cached.response()) : MISMATCH);
+            }
+            
+            Execution execution = new Execution();
+            Execution running = inFlight.putIfAbsent(key, execution);
+            if (running != null) {
+                // Duplicate of a request running in this process; once it finishes the cache answers
+                if (!await(running.done, deadline)) {
+                    return record(IN_PROGRESS);
+                }
+                continue;
+            }
+            
+            Claim claim;
+            try {
+                claim = claimPersistent(key, fingerprint, execution);
+            } catch (RuntimeException e) {
+                release(key, execution, null);
+                throw e;
+            }
+            if (claim instanceof Claim.Acquired) {
+                return record(claim);
+            }
+            release(key, execution, null);
+            if (claim != IN_PROGRESS) {
+                return record(claim);
+            }
+            // Held by another replica: poll the table until it completes or the wait times out
+            if (System.nanoTime() >= deadline || !sleep(pollInterval)) {
+                return record(IN_PROGRESS);
+            }
+        }
+    }
+    
+    @Override
+    public void complete(String key, String fingerprint, StoredResponse response) {
+        idempotencyRecordRepository.complete(key, response.status(), response.contentType(), response.body());
+        completed.put(key, new CachedResponse(fingerprint, response, LocalDateTime.now().plus(ttl)));
+        Execution execution = inFlight.get(key);
+        if (execution != null) {
+            release(key, execution, response);
+        }
+    }
+    
+    @Override
+    public void abandon(String key) {
+        Execution execution = inFlight.get(key);
+        if (execution == null) {
+            return;
+        }
+        try {
+            if (execution.claimedAt != null) {
+                idempotencyRecordRepository.deleteClaim(key, execution.claimedAt);
+            }
+        } finally {
+            release(key, execution, null);
+        }
+    }
+    
+    private Claim claimPersistent(String key, String fingerprint, Execution execution) {
+        // DATETIME keeps whole seconds, so the claim time is truncated to compare equal when deleting it
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        if (idempotencyRecordRepository.insertInProgress(key, fingerprint, now, now.plus(ttl)) == 1) {
+            execution.claimedAt = now;
+            return ACQUIRED;
+        }
+        
+        IdempotencyRecord existing = idempotencyRecordRepository.findById(key).orElse(null);
+        if (existing == null) {
+            // Deleted between the insert and the read; the next loop iteration claims it
+            return IN_PROGRESS;
+        }
+        boolean expired = existing.expiresAt.isBefore(now);
+        boolean abandoned = existing.status == IdempotencyStatus.IN_PROGRESS
+                && existing.createdAt.isBefore(now.minus(inProgressTimeout));
+        if (expired || abandoned) {
+            idempotencyRecordRepository.deleteClaim(key, existing.createdAt);
+            if (idempotencyRecordRepository.insertInProgress(key, fingerprint, now, now.plus(ttl)) == 1) {
+                execution.claimedAt = now;
+                return ACQUIRED;
+            }
+            return IN_PROGRESS;
+        }
+        if (!existing.fingerprint.equals(fingerprint)) {
+            return MISMATCH;
+        }
+        if (existing.status == IdempotencyStatus.COMPLETED) {
+            StoredResponse response = new StoredResponse(existing.responseStatus, existing.contentType, existing.responseBody);
+            completed.put(key, new CachedResponse(existing.fingerprint, response, existing.expiresAt));
+            return new Claim.Replay(response);
+        }
+        return IN_PROGRESS;
+    }
+    
+    private void release(String key, Execution execution, StoredResponse response) {
+        inFlight.remove(key, execution);
+        execution.done.complete(response);
+    }
+    
+    private Claim record(Claim claim) {
+        String outcome = switch (claim) {
+            case Claim.Acquired acquired -> "executed";
+            case Claim.Replay replay -> "replayed";
+            case Claim.Mismatch mismatch -> "mismatch";
+            case Claim.InProgress inProgress -> "in_progress";
+        };
+        meterRegistry.counter("auth.idempotency", "outcome", outcome).increment();
+        return claim;
+    }
+    
+    private static boolean await(CompletableFuture<StoredResponse> done, long deadline) {
+        try {
+            done.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private void purgeExpired() {
+        try {
+            int purged = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+            if (purged > 0) {
+                log.info("Purged {} expired idempotency keys", purged);
+            }
+        } catch (Exception e) {
+            log.warn("Idempotency key purge failed", e);
+        }
+    }
+    
+    private static final class Execution {
+        
+        final CompletableFuture<StoredResponse> done = new CompletableFuture<>();
+        volatile LocalDateTime claimedAt;
+    }
+    
+    private record CachedResponse(String fingerprint, StoredResponse response, LocalDateTime expiresAt) {
+    }
+}
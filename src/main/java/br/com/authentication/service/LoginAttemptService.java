@@ -0,0 +1,234 @@
+package br.com.authentication.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory brute-force protection for the login endpoint. Failures are counted per email and
+ * per client IP over a sliding window made of fixed-size buckets, updated with CAS only, so
+ * rejected requests never reach bcrypt. Idle counters are evicted by a background sweep.
+ * <p>
+ * Each map tracks at most max-tracked-keys keys. Past that, new keys are not tracked and a
+ * request from an untracked IP is treated as throttled: under a spray large enough to fill the
+ * map the check fails closed, and the request path never scans the maps.
+ * <p>
+ * When persistent lockout is enabled, attempts rejected by the email throttle still count toward
+ * the lockout threshold; otherwise the counter would stop at the throttle limit and never get there.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoginAttemptService implements ILoginAttemptService {
+    
+    private static final int BUCKETS = 16;
+    
+    private final IUserService userService;
+    private final MeterRegistry meterRegistry;
+    
+    private final ConcurrentHashMap<String, SlidingWindowCounter> emailFailures = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SlidingWindowCounter> ipFailures = new ConcurrentHashMap<>();
+    
+    @Value("${app.login-protection.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.login-protection.window:15m}")
+    private Duration window;
+    
+    @Value("${app.login-protection.max-failures-per-email:5}")
+    private int maxFailuresPerEmail;
+    
+    @Value("${app.login-protection.max-failures-per-ip:50}")
+    private int maxFailuresPerIp;
+    
+    @Value("${app.login-protection.max-tracked-keys:100000}")
+    private int maxTrackedKeys;
+    
+    @Value("${app.login-protection.persistent-lockout.enabled:false}")
+    private boolean persistentLockoutEnabled;
+    
+    @Value("${app.login-protection.persistent-lockout.failures:20}")
+    private int persistentLockoutFailures;
+    
+    private long bucketMillis;
+    private ScheduledExecutorService evictor;
+    private Counter blockedCounter;
+    private Counter lockedCounter;
+    
+    @PostConstruct
+    void start() {
+        if (persistentLockoutEnabled && persistentLockoutFailures <= maxFailuresPerEmail) {
+            throw new IllegalStateException("app.login-protection.persistent-lockout.failures (" + persistentLockoutFailures
+                    + ") must be greater than max-failures-per-email (" + maxFailuresPerEmail + ")");
+        }
+        bucketMillis = Math.max(1, window.toMillis() / BUCKETS);
+        blockedCounter = meterRegistry.counter("auth.login.blocked");
+        lockedCounter = meterRegistry.counter("auth.login.locked");
+        
+        evictor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("login-attempt-evictor").daemon(true).factory());
+        evictor.scheduleWithFixedDelay(this::evictIdle, bucketMillis, bucketMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    void stop() {
+        evictor.shutdown();
+    }
+    
+    @Override
+    public boolean isBlocked(String email, String clientIp) {
+        if (!enabled) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        String emailKey = normalize(email);
+        if (count(emailFailures, emailKey, now) >= maxFailuresPerEmail) {
+            blockedCounter.increment();
+            if (persistentLockoutEnabled) {
+                // Throttled guesses keep counting, so a sustained attack reaches the lockout threshold
+                checkLockout(emailKey, increment(emailFailures, emailKey, now));
+            }
+            return true;
+        }
+        if (count(ipFailures, clientIp, now) >= maxFailuresPerIp || untrackable(ipFailures, clientIp)) {
+            blockedCounter.increment();
+            return true;
+        }
+        return false;
+    }
+    
+    @Override
+    public void loginFailed(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        String emailKey = normalize(email);
+        long emailCount = increment(emailFailures, emailKey, now);
+        increment(ipFailures, clientIp, now);
+        
+        if (persistentLockoutEnabled) {
+            checkLockout(emailKey, emailCount);
+        }
+    }
+    
+    @Override
+    public void loginSucceeded(String email, String clientIp) {
+        if (enabled) {
+            emailFailures.remove(normalize(email));
+        }
+    }
+    
+    private long count(ConcurrentHashMap<String, SlidingWindowCounter> counters, String key, long now) {
+        if (key == null) {
+            return 0;
+        }
+        SlidingWindowCounter counter = counters.get(key);
+        return counter == null ? 0 : counter.sum(now / bucketMillis);
+    }
+    
+    private long increment(ConcurrentHashMap<String, SlidingWindowCounter> counters, String key, long now) {
+        if (key == null) {
+            return 0;
+        }
+        SlidingWindowCounter counter = counters.get(key);
+        if (counter == null) {
+            if (untrackable(counters, key)) {
+                return 0;
+            }
+            counter = counters.computeIfAbsent(key, k -> new SlidingWindowCounter());
+        }
+        return counter.increment(now / bucketMillis);
+    }
+    
+    // O(1): ConcurrentHashMap keeps a running size. Concurrent inserts may overshoot by a few entries
+    private boolean untrackable(ConcurrentHashMap<String, SlidingWindowCounter> counters, String key) {
+        return key != null && counters.size() >= maxTrackedKeys && !counters.containsKey(key);
+    }
+    
+    private void checkLockout(String emailKey, long emailCount) {
+        if (emailCount < persistentLockoutFailures) {
+            return;
+        }
+        // '>=' plus a once-per-counter flag: concurrent increments may skip the exact threshold value
+        SlidingWindowCounter counter = emailFailures.get(emailKey);
+        if (counter != null && counter.markLocked()) {
+            lockAccount(emailKey);
+        }
+    }
+    
+    private void lockAccount(String email) {
+        // Unknown email: nothing to lock, the in-memory counter keeps rejecting it
+        userService.findByEmail(email).ifPresent(user -> {
+            userService.lockUser(user.id);
+            lockedCounter.increment();
+            log.warn("Account locked after {} failed login attempts: {}", persistentLockoutFailures, email);
+        });
+    }
+    
+    void evictIdle() {
+        long oldestLiveEpoch = System.currentTimeMillis() / bucketMillis - BUCKETS + 1;
+        emailFailures.values().removeIf(counter -> counter.lastEpoch() < oldestLiveEpoch);
+        ipFailures.values().removeIf(counter -> counter.lastEpoch() < oldestLiveEpoch);
+    }
+    
+    private static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Ring of BUCKETS counters, each tagged with the epoch (bucket number) it belongs to. A slot is
+     * reset by the first writer that sees a stale epoch; concurrent writers may lose a count in that
+     * instant, which is acceptable for throttling.
+     */
+    static final class SlidingWindowCounter {
+        private final AtomicLongArray epochs = new AtomicLongArray(BUCKETS);
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicBoolean locked = new AtomicBoolean();
+        private volatile long lastEpoch;
+        
+        long increment(long epoch) {
+            int slot = (int) (epoch % BUCKETS);
+            long slotEpoch = epochs.get(slot);
+            if (slotEpoch != epoch && epochs.compareAndSet(slot, slotEpoch, epoch)) {
+                counts.set(slot, 0);
+            }
+            counts.incrementAndGet(slot);
+            lastEpoch = epoch;
+            return sum(epoch);
+        }
+        
+        long sum(long currentEpoch) {
+            long total = 0;
+            for (int slot = 0; slot < BUCKETS; slot++) {
+                if (currentEpoch - epochs.get(slot) < BUCKETS) {
+                    total += counts.get(slot);
+                }
+            }
+            return total;
+        }
+        
+        /** True only for the first caller, so one burst of failures locks the account once. */
+        boolean markLocked() {
+            return locked.compareAndSet(false, true);
+        }
+        
+        long lastEpoch() {
+            return lastEpoch;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.authentication.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for login: identical requests (same email and password) arriving while one is
+ * being authenticated wait for and share its outcome instead of running bcrypt again. The
+ * password only takes part in the key as an HMAC under a per-process random key, and an entry
+ * is removed as soon as its computation completes.
+ */
+@Service
+public class LoginCoalescingService implements ILoginCoalescingService {
+    
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final SecretKeySpec keySpec;
+    private final Counter coalescedCounter;
+    
+    public LoginCoalescingService(MeterRegistry meterRegistry) {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.keySpec = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.coalescedCounter = meterRegistry.counter("auth.login.coalesced");
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T coalesce(String email, String password, Supplier<T> login) {
+        String key = key(email, password);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        
+        if (existing != null) {
+            coalescedCounter.increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        
+        try {
+            T result = login.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+    
+    int inFlightCount() {
+        return inFlight.size();
+    }
+    
+    private String key(String email, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(keySpec);
+            byte[] digest = mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+            // Exact email: case handling is left to the user lookup so coalescing never changes its outcome
+            return email + ':' + Base64.getEncoder().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.authentication.service;
+
+public class PasswordHashingRejectedException extends RuntimeException {
+    
+    public PasswordHashingRejectedException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,233 @@
+package br.com.authentication.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every password encode/match on a fixed pool of platform threads sized to the cores.
+ * Request threads (virtual) block on the result, so a login or registration storm queues up
+ * instead of starting an unbounded number of bcrypt computations. Tasks are rejected when the
+ * queue is full or when they waited longer than {@code maxQueueWait} before starting.
+ * Bulk work (user imports) runs on a separate, smaller pool so it never competes with logins
+ * for a slot in the interactive queue. Its queue is bounded too: each bulk call keeps at most two
+ * tasks per bulk thread in flight, and a call that finds the queue full is rejected.
+ */
+@Slf4j
+public class PasswordHashingService implements IPasswordHashingService, AutoCloseable {
+    
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor bulkExecutor;
+    private final long maxQueueWaitNanos;
+    private final Timer encodeQueueTimer;
+    private final Timer encodeHashTimer;
+    private final Timer matchesQueueTimer;
+    private final Timer matchesHashTimer;
+    private final Timer bulkHashTimer;
+    private final Counter queueFullCounter;
+    private final Counter deadlineCounter;
+    private final Counter bulkQueueFullCounter;
+    
+    public PasswordHashingService(PasswordEncoder delegate,
+                                  int poolSize,
+                                  int bulkPoolSize,
+                                  int queueCapacity,
+                                  int bulkQueueCapacity,
+                                  Duration maxQueueWait,
+                                  MeterRegistry meterRegistry) {
+        if (bulkQueueCapacity < bulkPoolSize * 2) {
+            throw new IllegalArgumentException("Bulk queue capacity " + bulkQueueCapacity
+                    + " cannot hold the in-flight tasks of one bulk call (2 per bulk thread, " + bulkPoolSize + " threads)");
+        }
+        this.delegate = delegate;
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+        
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> Thread.ofPlatform()
+                        .name("password-hashing-" + threadCount.incrementAndGet())
+                        .daemon(true)
+                        .unstarted(runnable),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+        
+        AtomicInteger bulkThreadCount = new AtomicInteger();
+        this.bulkExecutor = new ThreadPoolExecutor(
+                bulkPoolSize, bulkPoolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(bulkQueueCapacity),
+                runnable -> Thread.ofPlatform()
+                        .name("password-hashing-bulk-" + bulkThreadCount.incrementAndGet())
+                        .daemon(true)
+                        .priority(Thread.MIN_PRIORITY)
+                        .unstarted(runnable),
+                new ThreadPoolExecutor.AbortPolicy());
+        
+        this.encodeQueueTimer = queueTimer(meterRegistry, "encode");
+        this.encodeHashTimer = hashTimer(meterRegistry, "encode");
+        this.matchesQueueTimer = queueTimer(meterRegistry, "matches");
+        this.matchesHashTimer = hashTimer(meterRegistry, "matches");
+        this.bulkHashTimer = hashTimer(meterRegistry, "bulk");
+        this.queueFullCounter = rejectedCounter(meterRegistry, "queue_full");
+        this.deadlineCounter = rejectedCounter(meterRegistry, "deadline");
+        this.bulkQueueFullCounter = rejectedCounter(meterRegistry, "bulk_queue_full");
+        Gauge.builder("auth.password.hashing.queue.size", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a CPU thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.bulk.queue.size", bulkExecutor, e -> e.getQueue().size())
+                .description("Bulk password hashing tasks waiting for a CPU thread")
+                .register(meterRegistry);
+        
+        log.info("Password hashing pool started with {} threads, queue capacity {} and {} bulk threads, bulk queue capacity {}",
+                poolSize, queueCapacity, bulkPoolSize, bulkQueueCapacity);
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword), encodeQueueTimer, encodeHashTimer);
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword), matchesQueueTimer, matchesHashTimer);
+    }
+    
+    // Blocks the caller until the whole list is hashed, submitting as earlier results come back
+    @Override
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int inFlightLimit = bulkExecutor.getCorePoolSize() * 2;
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        List<String> encoded = new ArrayList<>(rawPasswords.size());
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                if (futures.size() - encoded.size() >= inFlightLimit) {
+                    encoded.add(futures.get(encoded.size()).get());
+                }
+                futures.add(bulkExecutor.submit(() -> {
+                    long startedAt = System.nanoTime();
+                    try {
+                        return delegate.encode(rawPassword);
+                    } finally {
+                        bulkHashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    }
+                }));
+            }
+            while (encoded.size() < futures.size()) {
+                encoded.add(futures.get(encoded.size()).get());
+            }
+        } catch (RejectedExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            bulkQueueFullCounter.increment();
+            throw new PasswordHashingRejectedException("Bulk password hashing queue is full");
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Interrupted while waiting for bulk password hashing");
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Bulk password hashing failed", e.getCause());
+        }
+        return encoded;
+    }
+    
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only parses the hash prefix, no need to pay a queue hop
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+    
+    @Override
+    public int queuedTasks() {
+        return executor.getQueue().size();
+    }
+    
+    @Override
+    public int poolSize() {
+        return executor.getCorePoolSize();
+    }
+    
+    @Override
+    public void close() {
+        executor.shutdown();
+        bulkExecutor.shutdown();
+    }
+    
+    private <T> T submit(Callable<T> work, Timer queueTimer, Timer hashTimer) {
+        final long enqueuedAt = System.nanoTime();
+        final Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                long queuedNanos = startedAt - enqueuedAt;
+                queueTimer.record(queuedNanos, TimeUnit.NANOSECONDS);
+                if (queuedNanos > maxQueueWaitNanos) {
+                    deadlineCounter.increment();
+                    throw new PasswordHashingRejectedException("Password hashing deadline exceeded while queued");
+                }
+                try {
+                    return work.call();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queueFullCounter.increment();
+            throw new PasswordHashingRejectedException("Password hashing queue is full");
+        }
+        
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+    
+    private static Timer queueTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hashing.queue")
+                .description("Time a password hashing task waited for a CPU thread")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hashing.compute")
+                .description("Time spent computing a password hash")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.password.hashing.rejected")
+                .description("Password hashing tasks rejected by admission control")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.authentication.service;
+
+import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.repository.UserRepositoryCustom.PasswordUpgrade;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upgrades outdated password hashes off the login path. A successful login only records the
+ * user, the verified raw password and the hash it was verified against; a background worker
+ * periodically re-hashes a batch on the password hashing pool and writes it with a single JDBC
+ * batch. Each write is conditional on that hash, so a password changed or reset between the
+ * login and the flush is left alone instead of being replaced by the old one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordRehashService implements IPasswordRehashService {
+    
+    private final PasswordEncoder passwordEncoder;
+    private final IUserService userService;
+    private final MeterRegistry meterRegistry;
+    
+    // Keyed by user id so repeated logins before a flush only re-hash once
+    private final ConcurrentHashMap<Long, Pending> pending = new ConcurrentHashMap<>();
+    
+    @Value("${app.password-hashing.rehash.batch-size:100}")
+    private int batchSize;
+    
+    @Value("${app.password-hashing.rehash.max-pending:10000}")
+    private int maxPending;
+    
+    @Value("${app.password-hashing.rehash.flush-interval:5s}")
+    private Duration flushInterval;
+    
+    private ScheduledExecutorService scheduler;
+    private Counter scheduledCounter;
+    private Counter droppedCounter;
+    private Counter upgradedCounter;
+    private Counter staleCounter;
+    
+    @PostConstruct
+    void start() {
+        scheduledCounter = meterRegistry.counter("auth.password.rehash", "result", "scheduled");
+        droppedCounter = meterRegistry.counter("auth.password.rehash", "result", "dropped");
+        upgradedCounter = meterRegistry.counter("auth.password.rehash", "result", "upgraded");
+        staleCounter = meterRegistry.counter("auth.password.rehash", "result", "stale");
+        
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("password-rehash").daemon(true).factory());
+        long intervalMillis = flushInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    void stop() {
+        scheduler.shutdown();
+    }
+    
+    @Override
+    public void schedule(UserDetails user, String rawPassword) {
+        if (!(user instanceof User domainUser) || domainUser.id == null || domainUser.password == null
+                || rawPassword == null) {
+            return;
+        }
+        // The next login retries anything dropped here, so an overflow only delays the upgrade
+        if (pending.size() >= maxPending) {
+            droppedCounter.increment();
+            return;
+        }
+        if (pending.putIfAbsent(domainUser.id, new Pending(domainUser.password, rawPassword)) == null) {
+            scheduledCounter.increment();
+        }
+    }
+    
+    @Override
+    public int flush() {
+        int upgraded = 0;
+        while (!pending.isEmpty()) {
+            Map<Long, PasswordUpgrade> batch = new LinkedHashMap<>();
+            for (Long userId : pending.keySet()) {
+                Pending request = pending.remove(userId);
+                if (request != null) {
+                    batch.put(userId, new PasswordUpgrade(request.verifiedHash(), passwordEncoder.encode(request.rawPassword())));
+                }
+                if (batch.size() >= batchSize) {
+                    break;
+                }
+            }
+            if (batch.isEmpty()) {
+                break;
+            }
+            int written = userService.updatePasswords(batch);
+            upgraded += written;
+            upgradedCounter.increment(written);
+            staleCounter.increment(batch.size() - written);
+        }
+        return upgraded;
+    }
+    
+    private void flushSafely() {
+        try {
+            int upgraded = flush();
+            if (upgraded > 0) {
+                log.info("Upgraded {} password hashes", upgraded);
+            }
+        } catch (Exception e) {
+            log.warn("Password re-hash batch failed, remaining hashes will be retried on next login", e);
+        }
+    }
+    
+    private record Pending(String verifiedHash, String rawPassword) {
+    }
+}
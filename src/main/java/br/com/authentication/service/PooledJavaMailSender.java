@@ -0,0 +1,210 @@
+package br.com.authentication.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JavaMailSender that keeps authenticated SMTP sessions open between sends. The base class
+ * connects (TCP, STARTTLS, AUTH) on every send call; here up to {@code maxConnections}
+ * connected transports are reused until a session has carried {@code maxMessagesPerConnection}
+ * messages or has been idle longer than {@code maxIdle}.
+ */
+@Slf4j
+public class PooledJavaMailSender extends JavaMailSenderImpl implements AutoCloseable {
+    
+    private final int maxMessagesPerConnection;
+    private final long maxIdleNanos;
+    private final long validateAfterNanos;
+    private final Duration borrowTimeout;
+    
+    // Bounds the sessions in use, so concurrent senders wait for a session instead of opening more
+    private final Semaphore permits;
+    // LIFO: the most recently used session is the least likely to have been dropped by the server
+    private final Deque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger open = new AtomicInteger();
+    
+    private final Counter openedCounter;
+    private final Counter reusedCounter;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final MeterRegistry meterRegistry;
+    
+    public PooledJavaMailSender(int maxConnections, int maxMessagesPerConnection, Duration maxIdle,
+                                Duration validateAfter, Duration borrowTimeout, MeterRegistry meterRegistry) {
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.maxIdleNanos = maxIdle.toNanos();
+        this.validateAfterNanos = validateAfter.toNanos();
+        this.borrowTimeout = borrowTimeout;
+        this.permits = new Semaphore(maxConnections, true);
+        this.meterRegistry = meterRegistry;
+        
+        openedCounter = meterRegistry.counter("auth.email.smtp.sessions", "outcome", "opened");
+        reusedCounter = meterRegistry.counter("auth.email.smtp.sessions", "outcome", "reused");
+        sentCounter = meterRegistry.counter("auth.email.smtp.messages", "result", "sent");
+        failedCounter = meterRegistry.counter("auth.email.smtp.messages", "result", "failed");
+        Gauge.builder("auth.email.smtp.connections", open, AtomicInteger::get)
+                .tag("state", "open")
+                .register(meterRegistry);
+        Gauge.builder("auth.email.smtp.connections", idle, Deque::size)
+                .tag("state", "idle")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        acquirePermit();
+        PooledConnection connection = null;
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                MimeMessage message = mimeMessages[i];
+                Object original = originalMessages != null ? originalMessages[i] : message;
+                if (connection == null) {
+                    try {
+                        connection = borrow();
+                    } catch (MessagingException ex) {
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], ex);
+                        }
+                        failedCounter.increment(mimeMessages.length - i);
+                        throw new MailSendException("Mail server connection failed", ex, failedMessages);
+                    }
+                }
+                
+                try {
+                    send(connection.transport, message);
+                    connection.messages++;
+                    sentCounter.increment();
+                } catch (Exception ex) {
+                    failedMessages.put(original, ex);
+                    failedCounter.increment();
+                    if (!connection.transport.isConnected()) {
+                        discard(connection, "broken");
+                        connection = null;
+                    }
+                }
+                
+                if (connection != null && connection.messages >= maxMessagesPerConnection) {
+                    discard(connection, "limit");
+                    connection = null;
+                }
+            }
+        } finally {
+            if (connection != null) {
+                connection.lastUsedNanos = System.nanoTime();
+                idle.offerFirst(connection);
+            }
+            permits.release();
+        }
+        
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+    
+    @Override
+    public void close() {
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            discard(connection, "shutdown");
+        }
+    }
+    
+    private void send(Transport transport, MimeMessage message) throws MessagingException {
+        // Same preparation as JavaMailSenderImpl: keep a caller-provided Message-ID across saveChanges()
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        String messageId = message.getMessageID();
+        message.saveChanges();
+        if (messageId != null) {
+            message.setHeader("Message-ID", messageId);
+        }
+        Address[] addresses = message.getAllRecipients();
+        transport.sendMessage(message, addresses != null ? addresses : new Address[0]);
+    }
+    
+    private PooledConnection borrow() throws MessagingException {
+        evictStaleTail();
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            long idleNanos = System.nanoTime() - connection.lastUsedNanos;
+            if (idleNanos > maxIdleNanos) {
+                discard(connection, "idle");
+                continue;
+            }
+            // isConnected() costs a NOOP round trip, so only sessions idle for a while are checked
+            if (idleNanos > validateAfterNanos && !connection.transport.isConnected()) {
+                discard(connection, "broken");
+                continue;
+            }
+            reusedCounter.increment();
+            return connection;
+        }
+        
+        Transport transport = connectTransport();
+        open.incrementAndGet();
+        openedCounter.increment();
+        return new PooledConnection(transport);
+    }
+    
+    private void evictStaleTail() {
+        PooledConnection oldest = idle.peekLast();
+        if (oldest != null && System.nanoTime() - oldest.lastUsedNanos > maxIdleNanos && idle.removeLastOccurrence(oldest)) {
+            discard(oldest, "idle");
+        }
+    }
+    
+    private void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MailSendException("No SMTP session available within " + borrowTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for an SMTP session", e);
+        }
+    }
+    
+    private void discard(PooledConnection connection, String reason) {
+        open.decrementAndGet();
+        meterRegistry.counter("auth.email.smtp.sessions.closed", "reason", reason).increment();
+        try {
+            connection.transport.close();
+        } catch (MessagingException ex) {
+            log.debug("Could not close SMTP session cleanly", ex);
+        }
+    }
+    
+    private static final class PooledConnection {
+        
+        final Transport transport;
+        int messages;
+        long lastUsedNanos;
+        
+        PooledConnection(Transport transport) {
+            this.transport = transport;
+            this.lastUsedNanos = System.nanoTime();
+        }
+    }
+}
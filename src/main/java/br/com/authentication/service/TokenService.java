@@ -3,12 +3,14 @@ package br.com.authentication.service;
 import br.com.authentication.domain.model.Token;
 import br.com.authentication.domain.model.TokenType;
 import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.model.id.IdGenerators;
 import br.com.authentication.domain.repository.TokenRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -19,41 +21,49 @@ public class TokenService implements ITokenService {
     private final TokenRepository tokenRepository;
     
     public Token createToken(User user, TokenType type, int expiryHours) {
-        // Delete any existing tokens of the same type for this user
-        tokenRepository.deleteByUserAndType(user, type);
-        
+        long id = IdGenerators.nextId();
         String tokenValue = UUID.randomUUID().toString();
-        LocalDateTime expiresAt = LocalDateTime.now().plusHours(expiryHours);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusHours(expiryHours);
+        
+        // Single statement: replaces the user's existing token of a single-instance type instead of delete + insert
+        int affected = tokenRepository.upsertToken(id, tokenValue, type.name(), user.id, type.slot(), expiresAt, now);
+        if (affected > 1) {
+            // The replaced row kept its id; only reissues pay for this lookup
+            id = tokenRepository.findIdByUserIdAndSlot(user.id, type.slot());
+        }
         
-        Token token = Token.builder()
+        return Token.builder()
+                .id(id)
                 .token(tokenValue)
                 .type(type)
                 .user(user)
+                .slot(type.slot())
                 .expiresAt(expiresAt)
                 .used(false)
+                .createdAt(now)
                 .build();
-        
-        return tokenRepository.save(token);
     }
     
     @Transactional(readOnly = true)
-    public Token findByTokenAndType(String token, TokenType type) {
-        return tokenRepository.findByTokenAndType(token, type)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid token"));
+    public Optional<Token> findByTokenAndType(String token, TokenType type) {
+        return tokenRepository.findByTokenAndType(token, type);
     }
     
-    public void markTokenAsUsed(String token, TokenType type) {
-        Token tokenEntity = findByTokenAndType(token, type);
+    public boolean markTokenAsUsed(String token, TokenType type) {
+        Token tokenEntity = tokenRepository.findByTokenAndType(token, type).orElse(null);
+        if (tokenEntity == null) {
+            return false;
+        }
         tokenEntity.markAsUsed();
         tokenRepository.save(tokenEntity);
+        return true;
     }
     
+    @Transactional(readOnly = true)
     public boolean isTokenValid(String token, TokenType type) {
-        try {
-            Token tokenEntity = findByTokenAndType(token, type);
-            return tokenEntity.isValid();
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
+        return tokenRepository.findByTokenAndType(token, type)
+                .map(Token::isValid)
+                .orElse(false);
     }
 }
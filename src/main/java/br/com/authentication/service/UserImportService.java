@@ -0,0 +1,80 @@
+package br.com.authentication.service;
+
+import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+@Service
+@RequiredArgsConstructor
+public class UserImportService implements IUserImportService {
+    
+    private static final String BCRYPT_PREFIX = "{bcrypt}";
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+    
+    private final UserRepository userRepository;
+    private final IPasswordHashingService passwordHashingService;
+    private final IUserSearchService userSearchService;
+    
+    // Validation and bcrypt run outside any transaction; only saveUsers holds a connection for its JDBC batch
+    @Override
+    public ImportBatchResult importBatch(List<ImportRow> rows) {
+        List<RowError> errors = new ArrayList<>();
+        Map<String, ImportRow> accepted = new LinkedHashMap<>();
+        
+        for (ImportRow row : rows) {
+            if (accepted.putIfAbsent(row.user().email, row) != null) {
+                errors.add(new RowError(row.line(), row.user().email, "Duplicate email in import"));
+                continue;
+            }
+            if (row.rawPassword() == null) {
+                String hash = normalizeHash(row.user().password);
+                if (hash == null) {
+                    accepted.remove(row.user().email);
+                    errors.add(new RowError(row.line(), row.user().email, "Unsupported password hash"));
+                    continue;
+                }
+                row.user().password = hash;
+            }
+        }
+        
+        if (!accepted.isEmpty()) {
+            Set<String> existing = new HashSet<>(userRepository.findUserEmailsIn(accepted.keySet()));
+            for (String email : existing) {
+                ImportRow row = accepted.remove(email);
+                if (row != null) {
+                    errors.add(new RowError(row.line(), email, "User with email " + email + " already exists"));
+                }
+            }
+        }
+        
+        List<ImportRow> toHash = accepted.values().stream().filter(row -> row.rawPassword() != null).toList();
+        if (!toHash.isEmpty()) {
+            List<String> hashes = passwordHashingService.encodeAll(toHash.stream().map(ImportRow::rawPassword).toList());
+            for (int i = 0; i < toHash.size(); i++) {
+                toHash.get(i).user().password = hashes.get(i);
+            }
+        }
+        
+        List<User> users = accepted.values().stream().map(ImportRow::user).toList();
+        int imported = userRepository.saveUsers(users);
+        userSearchService.indexUsers(users);
+        return new ImportBatchResult(imported, errors);
+    }
+    
+    private static String normalizeHash(String hash) {
+        if (hash == null) {
+            return null;
+        }
+        String bare = hash.startsWith(BCRYPT_PREFIX) ? hash.substring(BCRYPT_PREFIX.length()) : hash;
+        return BCRYPT_HASH.matcher(bare).matches() ? BCRYPT_PREFIX + bare : null;
+    }
+}
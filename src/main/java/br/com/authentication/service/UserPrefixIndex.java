@@ -0,0 +1,598 @@
+package br.com.authentication.service;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix index over normalized user emails and names (lower case, accents and extra spaces
+ * removed). A user is found by a prefix of the email, of the full name or of the name from any
+ * of its first {@link #MAX_NAME_WORDS} words on, so "silva" finds "Maria da Silva".
+ * <p>
+ * Most users live in an immutable segment: every distinct key stored once, sorted and
+ * front-coded in blocks, with the matching user ids in one long[]. A 10 million user segment
+ * takes a few hundred MB and no per-key objects. Changes go to a small concurrent delta that
+ * masks the segment's entries of the changed users until {@link #compact()} folds it in.
+ * Searches take no lock; changes, rebuilds and compactions serialize among themselves.
+ */
+public final class UserPrefixIndex {
+    
+    public static final int MAX_NAME_WORDS = 4;
+    
+    private static final int BLOCK_SIZE = 16;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    
+    private final ConcurrentSkipListSet<Entry> delta = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<Long, Change> changes = new ConcurrentHashMap<>();
+    private final Object maintenanceLock = new Object();
+    
+    private volatile Segment segment = new Builder().build();
+    // Guarded by this
+    private long sequence;
+    
+    /**
+     * Lower case without accents, with single spaces between words; empty for null.
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String folded = value;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                folded = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+                break;
+            }
+        }
+        StringBuilder normalized = new StringBuilder(folded.length());
+        boolean space = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = !normalized.isEmpty();
+                continue;
+            }
+            if (space) {
+                normalized.append(' ');
+                space = false;
+            }
+            normalized.append(Character.toLowerCase(c));
+        }
+        return normalized.toString();
+    }
+    
+    static List<String> keys(String email, String fullName) {
+        Set<String> keys = new LinkedHashSet<>();
+        String normalizedEmail = normalize(email);
+        if (!normalizedEmail.isEmpty()) {
+            keys.add(normalizedEmail);
+        }
+        String name = normalize(fullName);
+        if (!name.isEmpty()) {
+            keys.add(name);
+            int from = 0;
+            for (int word = 1; word < MAX_NAME_WORDS; word++) {
+                int space = name.indexOf(' ', from);
+                if (space < 0) {
+                    break;
+                }
+                from = space + 1;
+                keys.add(name.substring(from));
+            }
+        }
+        return List.copyOf(keys);
+    }
+    
+    /**
+     * Up to {@code limit} ids of users with a key starting with the normalized {@code prefix},
+     * ordered by their first matching key, so an exact match comes before longer keys.
+     */
+    public List<Long> search(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<Entry> candidates = new ArrayList<>();
+        segment.collect(normalized, limit, userId -> !changes.containsKey(userId), candidates);
+        
+        Set<Long> seen = new HashSet<>();
+        for (Entry entry : delta.tailSet(new Entry(normalized, Long.MIN_VALUE))) {
+            if (seen.size() >= limit || !entry.key().startsWith(normalized)) {
+                break;
+            }
+            if (seen.add(entry.userId())) {
+                candidates.add(entry);
+            }
+        }
+        
+        candidates.sort(null);
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (Entry candidate : candidates) {
+            userIds.add(candidate.userId());
+            if (userIds.size() == limit) {
+                break;
+            }
+        }
+        return List.copyOf(userIds);
+    }
+    
+    /**
+     * Adds a user or replaces all of its keys.
+     */
+    public synchronized void put(long userId, String email, String fullName) {
+        List<String> keys = keys(email, fullName);
+        for (String key : keys) {
+            delta.add(new Entry(key, userId));
+        }
+        Change previous = changes.put(userId, new Change(++sequence, keys));
+        if (previous != null) {
+            for (String key : previous.keys()) {
+                if (!keys.contains(key)) {
+                    delta.remove(new Entry(key, userId));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Users changed since the segment was built, each held in the delta.
+     */
+    public int pendingChanges() {
+        return changes.size();
+    }
+    
+    public int segmentKeys() {
+        return segment.keyCount;
+    }
+    
+    public long segmentBytes() {
+        return segment.bytes();
+    }
+    
+    /**
+     * Replaces the segment with the users {@code source} adds to the builder, e.g. read from the
+     * database. Changes made while it runs stay in the delta, since the source may have missed them.
+     */
+    public void rebuild(Consumer<Builder> source) {
+        synchronized (maintenanceLock) {
+            long since;
+            synchronized (this) {
+                since = sequence;
+            }
+            Builder builder = new Builder();
+            source.accept(builder);
+            install(builder.build(), since);
+        }
+    }
+    
+    /**
+     * Folds the delta into a new segment. Searches and changes proceed meanwhile.
+     */
+    public void compact() {
+        synchronized (maintenanceLock) {
+            Segment current;
+            long since;
+            Map<Long, Change> folded;
+            synchronized (this) {
+                current = segment;
+                since = sequence;
+                folded = new HashMap<>(changes);
+            }
+            Builder builder = new Builder();
+            current.forEach((key, length, userId) -> {
+                if (!folded.containsKey(userId)) {
+                    builder.add(key, 0, length, userId);
+                }
+            });
+            folded.forEach((userId, change) -> {
+                for (String key : change.keys()) {
+                    builder.add(key, userId);
+                }
+            });
+            install(builder.build(), since);
+        }
+    }
+    
+    private synchronized void install(Segment built, long since) {
+        segment = built;
+        // Unmask before dropping the delta entries: a search may briefly see a user twice, never zero times
+        Iterator<Map.Entry<Long, Change>> iterator = changes.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Change> change = iterator.next();
+            if (change.getValue().sequence() <= since) {
+                iterator.remove();
+                for (String key : change.getValue().keys()) {
+                    delta.remove(new Entry(key, change.getKey()));
+                }
+            }
+        }
+    }
+    
+    private record Entry(String key, long userId) implements Comparable<Entry> {
+        
+        @Override
+        public int compareTo(Entry other) {
+            int byKey = key.compareTo(other.key);
+            return byKey != 0 ? byKey : Long.compare(userId, other.userId);
+        }
+    }
+    
+    private record Change(long sequence, List<String> keys) {
+    }
+    
+    @FunctionalInterface
+    private interface EntryConsumer {
+        void accept(byte[] key, int length, long userId);
+    }
+    
+    /**
+     * Distinct keys in UTF-8 byte order, {@link #BLOCK_SIZE} per block: the first stored whole, the
+     * others as the length shared with the previous key plus the remaining bytes. Block offsets
+     * allow a binary search over the first keys; postings[starts[k]..starts[k+1]) are the users of
+     * key k.
+     */
+    private static final class Segment {
+        private final byte[] keys;
+        private final int[] blocks;
+        private final int keyCount;
+        private final int[] starts;
+        private final long[] postings;
+        
+        private Segment(byte[] keys, int[] blocks, int keyCount, int[] starts, long[] postings) {
+            this.keys = keys;
+            this.blocks = blocks;
+            this.keyCount = keyCount;
+            this.starts = starts;
+            this.postings = postings;
+        }
+        
+        long bytes() {
+            return keys.length + 4L * blocks.length + 4L * starts.length + 8L * postings.length;
+        }
+        
+        void collect(String prefix, int limit, LongPredicate visible, List<Entry> out) {
+            if (keyCount == 0) {
+                return;
+            }
+            byte[] wanted = prefix.getBytes(StandardCharsets.UTF_8);
+            Cursor cursor = new Cursor(this, firstBlock(wanted));
+            Set<Long> seen = new HashSet<>();
+            while (cursor.next()) {
+                if (!cursor.startsWith(wanted)) {
+                    if (cursor.compareTo(wanted) > 0) {
+                        return;
+                    }
+                    continue;
+                }
+                for (int p = starts[cursor.index]; p < starts[cursor.index + 1]; p++) {
+                    long userId = postings[p];
+                    if (visible.test(userId) && seen.add(userId)) {
+                        out.add(new Entry(new String(cursor.key, 0, cursor.length, StandardCharsets.UTF_8), userId));
+                        if (seen.size() >= limit) {
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+        
+        void forEach(EntryConsumer action) {
+            if (keyCount == 0) {
+                return;
+            }
+            Cursor cursor = new Cursor(this, 0);
+            while (cursor.next()) {
+                for (int p = starts[cursor.index]; p < starts[cursor.index + 1]; p++) {
+                    action.accept(cursor.key, cursor.length, postings[p]);
+                }
+            }
+        }
+        
+        // The last block whose first key sorts before the prefix, which may hold its first match
+        private int firstBlock(byte[] wanted) {
+            int low = 0;
+            int high = blocks.length - 1;
+            int block = 0;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int position = blocks[middle];
+                // A block's first key shares nothing: one zero byte, then its length
+                position++;
+                int length = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = keys[position++];
+                    length |= (b & 0x7f) << shift;
+                    shift += 7;
+                } while (b < 0);
+                if (Arrays.compareUnsigned(keys, position, position + length, wanted, 0, wanted.length) < 0) {
+                    block = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return block;
+        }
+    }
+    
+    private static final class Cursor {
+        private final Segment segment;
+        private int position;
+        private int index;
+        private byte[] key = new byte[64];
+        private int length;
+        
+        Cursor(Segment segment, int block) {
+            this.segment = segment;
+            this.position = segment.blocks[block];
+            this.index = block * BLOCK_SIZE - 1;
+        }
+        
+        boolean next() {
+            if (index + 1 >= segment.keyCount) {
+                return false;
+            }
+            index++;
+            int shared = readVarint();
+            int suffix = readVarint();
+            if (shared + suffix > key.length) {
+                key = Arrays.copyOf(key, Math.max(shared + suffix, key.length * 2));
+            }
+            System.arraycopy(segment.keys, position, key, shared, suffix);
+            position += suffix;
+            length = shared + suffix;
+            return true;
+        }
+        
+        boolean startsWith(byte[] prefix) {
+            return length >= prefix.length && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+        }
+        
+        int compareTo(byte[] other) {
+            return Arrays.compareUnsigned(key, 0, length, other, 0, other.length);
+        }
+        
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = segment.keys[position++];
+                value |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+    
+    /**
+     * Collects users into a new segment. Keys are interned in one byte buffer through an
+     * open-addressing table, so a name shared by many users is stored once. Not thread-safe.
+     */
+    public static final class Builder {
+        private byte[] bytes = new byte[1 << 16];
+        private int byteCount;
+        private int[] keyStarts = new int[1 << 10];
+        private int keyCount;
+        private int[] table = new int[1 << 11];
+        private int[] entryKeys = new int[1 << 10];
+        private long[] entryUsers = new long[1 << 10];
+        private int entryCount;
+        
+        public Builder add(long userId, String email, String fullName) {
+            for (String key : keys(email, fullName)) {
+                add(key, userId);
+            }
+            return this;
+        }
+        
+        private void add(String key, long userId) {
+            byte[] encoded = key.getBytes(StandardCharsets.UTF_8);
+            add(encoded, 0, encoded.length, userId);
+        }
+        
+        private void add(byte[] key, int from, int length, long userId) {
+            if (entryCount == entryKeys.length) {
+                entryKeys = Arrays.copyOf(entryKeys, entryCount * 2);
+                entryUsers = Arrays.copyOf(entryUsers, entryCount * 2);
+            }
+            entryKeys[entryCount] = intern(key, from, length);
+            entryUsers[entryCount] = userId;
+            entryCount++;
+        }
+        
+        private int intern(byte[] key, int from, int length) {
+            int mask = table.length - 1;
+            int slot = slot(hash(key, from, length), table.length);
+            while (table[slot] != 0) {
+                int existing = table[slot] - 1;
+                if (Arrays.equals(bytes, keyStarts[existing], end(existing), key, from, from + length)) {
+                    return existing;
+                }
+                slot = (slot + 1) & mask;
+            }
+            
+            if (byteCount + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(byteCount + length, bytes.length * 2));
+            }
+            System.arraycopy(key, from, bytes, byteCount, length);
+            if (keyCount + 1 >= keyStarts.length) {
+                keyStarts = Arrays.copyOf(keyStarts, keyStarts.length * 2);
+            }
+            keyStarts[keyCount] = byteCount;
+            byteCount += length;
+            keyStarts[keyCount + 1] = byteCount;
+            table[slot] = ++keyCount;
+            if (keyCount * 2 > table.length) {
+                rehash();
+            }
+            return keyCount - 1;
+        }
+        
+        private int end(int key) {
+            return keyStarts[key + 1];
+        }
+        
+        private void rehash() {
+            int[] grown = new int[table.length * 2];
+            int mask = grown.length - 1;
+            for (int key = 0; key < keyCount; key++) {
+                int slot = slot(hash(bytes, keyStarts[key], end(key) - keyStarts[key]), grown.length);
+                while (grown[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                grown[slot] = key + 1;
+            }
+            table = grown;
+        }
+        
+        private static int hash(byte[] key, int from, int length) {
+            int h = 0;
+            for (int i = from; i < from + length; i++) {
+                h = 31 * h + key[i];
+            }
+            return h;
+        }
+        
+        // Fibonacci hashing: the top bits of the product depend on every bit of the hash
+        private static int slot(int hash, int tableLength) {
+            return (hash * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(tableLength));
+        }
+        
+        private Segment build() {
+            table = null;
+            int[] order = sortedKeys();
+            int[] rank = new int[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                rank[order[i]] = i;
+            }
+            
+            int[] starts = new int[keyCount + 1];
+            for (int e = 0; e < entryCount; e++) {
+                starts[rank[entryKeys[e]] + 1]++;
+            }
+            for (int k = 0; k < keyCount; k++) {
+                starts[k + 1] += starts[k];
+            }
+            int[] fill = Arrays.copyOf(starts, keyCount);
+            long[] postings = new long[entryCount];
+            for (int e = 0; e < entryCount; e++) {
+                postings[fill[rank[entryKeys[e]]]++] = entryUsers[e];
+            }
+            entryKeys = null;
+            entryUsers = null;
+            
+            Output out = new Output(byteCount / 2 + 16);
+            int[] blocks = new int[(keyCount + BLOCK_SIZE - 1) / BLOCK_SIZE];
+            int previous = -1;
+            for (int i = 0; i < keyCount; i++) {
+                int key = order[i];
+                int shared = 0;
+                if (i % BLOCK_SIZE == 0) {
+                    blocks[i / BLOCK_SIZE] = out.size;
+                } else {
+                    shared = Arrays.mismatch(bytes, keyStarts[previous], end(previous), bytes, keyStarts[key], end(key));
+                }
+                out.writeVarint(shared);
+                out.writeVarint(end(key) - keyStarts[key] - shared);
+                out.write(bytes, keyStarts[key] + shared, end(key) - keyStarts[key] - shared);
+                previous = key;
+            }
+            return new Segment(Arrays.copyOf(out.bytes, out.size), blocks, keyCount, starts, postings);
+        }
+        
+        // Bottom-up merge sort of key indices by unsigned bytes, from insertion-sorted runs
+        private int[] sortedKeys() {
+            int[] order = new int[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                order[i] = i;
+            }
+            int run = 32;
+            for (int from = 0; from < keyCount; from += run) {
+                int to = Math.min(from + run, keyCount);
+                for (int i = from + 1; i < to; i++) {
+                    int key = order[i];
+                    int j = i - 1;
+                    while (j >= from && compare(order[j], key) > 0) {
+                        order[j + 1] = order[j];
+                        j--;
+                    }
+                    order[j + 1] = key;
+                }
+            }
+            int[] buffer = new int[keyCount];
+            for (int width = run; width < keyCount; width *= 2) {
+                for (int low = 0; low < keyCount; low += 2 * width) {
+                    int middle = Math.min(low + width, keyCount);
+                    int high = Math.min(low + 2 * width, keyCount);
+                    int left = low;
+                    int right = middle;
+                    for (int k = low; k < high; k++) {
+                        if (left < middle && (right >= high || compare(order[left], order[right]) <= 0)) {
+                            buffer[k] = order[left++];
+                        } else {
+                            buffer[k] = order[right++];
+                        }
+                    }
+                }
+                int[] swap = order;
+                order = buffer;
+                buffer = swap;
+            }
+            return order;
+        }
+        
+        private int compare(int a, int b) {
+            return Arrays.compareUnsigned(bytes, keyStarts[a], end(a), bytes, keyStarts[b], end(b));
+        }
+    }
+    
+    private static final class Output {
+        private byte[] bytes;
+        private int size;
+        
+        Output(int capacity) {
+            bytes = new byte[capacity];
+        }
+        
+        void writeVarint(int value) {
+            while ((value & ~0x7f) != 0) {
+                writeByte((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            writeByte(value);
+        }
+        
+        void write(byte[] source, int from, int length) {
+            ensure(length);
+            System.arraycopy(source, from, bytes, size, length);
+            size += length;
+        }
+        
+        private void writeByte(int value) {
+            ensure(1);
+            bytes[size++] = (byte) value;
+        }
+        
+        private void ensure(int length) {
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(size + length, bytes.length * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package br.com.authentication.service;
+
+import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.repository.UserRepository;
+import br.com.authentication.domain.repository.UserRepositoryCustom.UserListFilter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Type-ahead lookup of users by email or name prefix from an in-memory {@link UserPrefixIndex}.
+ * The index is loaded from the database in keyset pages once the application is ready, so never
+ * during the CDS training run, which exits on refresh. Until then searches are refused instead
+ * of answered from a partial index. Afterwards it follows committed user changes, folding them
+ * into its compact segment in the background once enough have accumulated.
+ * <p>
+ * Each replica holds its own copy. Changes made here are indexed on commit; changes made by other
+ * replicas are picked up by a periodic re-read of the users whose updated_at is at or after the
+ * previous refresh, minus an overlap that absorbs clock skew and transactions committing late.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserSearchService implements IUserSearchService {
+    
+    private static final UserListFilter ALL_USERS = new UserListFilter(null, null, null);
+    
+    private final UserRepository userRepository;
+    private final UserPrefixIndex index = new UserPrefixIndex();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    
+    @Value("${app.user-search.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.user-search.warm-page-size:10000}")
+    private int warmPageSize;
+    
+    @Value("${app.user-search.compact-threshold:50000}")
+    private int compactThreshold;
+    
+    @Value("${app.user-search.refresh-interval:30s}")
+    private Duration refreshInterval;
+    
+    @Value("${app.user-search.refresh-overlap:10s}")
+    private Duration refreshOverlap;
+    
+    private volatile boolean ready;
+    private volatile LocalDateTime refreshedFrom;
+    private ScheduledExecutorService maintenance;
+    
+    @PostConstruct
+    void start() {
+        maintenance = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("user-search").daemon(true).factory());
+        if (!enabled) {
+            log.info("User search index is DISABLED.");
+        }
+    }
+    
+    @PreDestroy
+    void stop() {
+        maintenance.shutdownNow();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    void warmOnReady() {
+        if (enabled) {
+            maintenance.execute(this::warmSafely);
+        }
+    }
+    
+    @Override
+    public Optional<List<Long>> search(String prefix, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return Optional.of(index.search(prefix, limit));
+    }
+    
+    @Override
+    public void indexUsers(Collection<User> users) {
+        if (!enabled || users.isEmpty()) {
+            return;
+        }
+        // Copied now: the entities may change before the transaction commits
+        List<IndexedUser> snapshot = users.stream()
+                .filter(user -> user.id != null)
+                .map(user -> new IndexedUser(user.id, user.email, user.fullName))
+                .toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(snapshot);
+                }
+            });
+        } else {
+            put(snapshot);
+        }
+    }
+    
+    @Override
+    public int warm() {
+        long start = System.nanoTime();
+        // Changes committed while the table is scanned are re-read by the first refresh
+        LocalDateTime scanStartedAt = LocalDateTime.now();
+        int[] loaded = {0};
+        index.rebuild(builder -> {
+            long[] after = {0};
+            int read;
+            do {
+                read = userRepository.forEachUser(ALL_USERS, after[0], warmPageSize, user -> {
+                    builder.add(user.id(), user.email(), user.fullName());
+                    after[0] = user.id();
+                });
+                loaded[0] += read;
+            } while (read == warmPageSize);
+        });
+        refreshedFrom = scanStartedAt;
+        ready = true;
+        log.info("User search index loaded {} users ({} keys, {} MB) in {} ms", loaded[0], index.segmentKeys(),
+                index.segmentBytes() >> 20, (System.nanoTime() - start) / 1_000_000);
+        return loaded[0];
+    }
+    
+    /**
+     * Indexes the users changed since the previous refresh (or the warm-up), including changes made
+     * by other replicas.
+     *
+     * @return the number of users re-indexed
+     */
+    int refresh() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = refreshedFrom.minus(refreshOverlap);
+        int refreshed = 0;
+        long after = 0;
+        int read;
+        do {
+            long[] last = {after};
+            read = userRepository.forEachUserUpdatedSince(since, after, warmPageSize, user -> {
+                index.put(user.id(), user.email(), user.fullName());
+                last[0] = user.id();
+            });
+            after = last[0];
+            refreshed += read;
+        } while (read == warmPageSize);
+        refreshedFrom = startedAt;
+        maybeCompact();
+        return refreshed;
+    }
+    
+    private void put(List<IndexedUser> users) {
+        for (IndexedUser user : users) {
+            index.put(user.id(), user.email(), user.fullName());
+        }
+        maybeCompact();
+    }
+    
+    private void maybeCompact() {
+        if (ready && index.pendingChanges() >= compactThreshold && compacting.compareAndSet(false, true)) {
+            maintenance.execute(this::compactSafely);
+        }
+    }
+    
+    private void warmSafely() {
+        try {
+            warm();
+        } catch (Exception e) {
+            log.error("User search index could not be loaded, searches stay unavailable until restart", e);
+            return;
+        }
+        long intervalMillis = refreshInterval.toMillis();
+        maintenance.scheduleWithFixedDelay(this::refreshSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("User search index refresh failed, retrying with the same window on the next run", e);
+        }
+    }
+    
+    private void compactSafely() {
+        try {
+            index.compact();
+        } catch (Exception e) {
+            log.warn("User search index compaction failed, changes stay in the delta", e);
+        } finally {
+            compacting.set(false);
+        }
+    }
+    
+    private record IndexedUser(long id, String email, String fullName) {
+    }
+}
@@ -1,44 +1,121 @@
 package br.com.authentication.service;
 
+import br.com.authentication.domain.model.EmailType;
 import br.com.authentication.domain.model.User;
 import br.com.authentication.domain.model.UserStatus;
 import br.com.authentication.domain.repository.UserRepository;
+import br.com.authentication.domain.repository.UserRepositoryCustom.PasswordUpgrade;
+import br.com.authentication.domain.repository.UserRepositoryCustom.ProfileColumn;
+import br.com.authentication.domain.repository.UserRepositoryCustom.UserListFilter;
+import br.com.authentication.domain.repository.UserRepositoryCustom.UserSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Value;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class UserService implements IUserService {
     
+    private static final Registration EMAIL_TAKEN = new Registration.EmailTaken();
+    private static final ProfileUpdate PROFILE_CONFLICT = new ProfileUpdate.Conflict();
+    
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final IEmailService emailService;
+    private final IEmailOutboxService emailOutboxService;
+    private final MeterRegistry meterRegistry;
+    private final IUserSearchService userSearchService;
 
     @Value("${app.email-verification-enabled:true}")
     private boolean emailVerificationEnabled;
     
+    private Timer lookupTimer;
+    private Timer hashTimer;
+    private Timer persistTimer;
+    
+    @PostConstruct
+    void start() {
+        lookupTimer = AuthMetrics.registrationStage(meterRegistry, "lookup");
+        hashTimer = AuthMetrics.registrationStage(meterRegistry, "hash");
+        persistTimer = AuthMetrics.registrationStage(meterRegistry, "persist");
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        // Spring Security needs the exception; a shared stackless one keeps unknown emails cheap
         return userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+                .orElseThrow(() -> AuthenticationFailures.USER_NOT_FOUND);
+    }
+    
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = (User) userDetails;
+        if (updatePasswords(Map.of(user.id, new PasswordUpgrade(user.password, newPassword))) > 0) {
+            user.password = newPassword;
+        }
+        return user;
+    }
+    
+    // Persists re-hashed passwords in one JDBC batch, see PasswordRehashService
+    public int updatePasswords(Map<Long, PasswordUpgrade> upgradesByUserId) {
+        return userRepository.updateUserPasswords(upgradesByUserId);
     }
     
-    public User createUser(String email, String password, String fullName) {
-        if (userRepository.existsByEmail(email)) {
-            throw new IllegalArgumentException("User with email " + email + " already exists");
+    public Registration createUser(String email, String password, String fullName) {
+        AuthEvents.Registration event = new AuthEvents.Registration();
+        event.begin();
+        Registration registration = null;
+        try {
+            registration = createUser(email, password, fullName, event);
+            return registration;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                if (registration instanceof Registration.Registered registered) {
+                    event.outcome = "registered";
+                    event.userIdHash = AuthEvents.userIdHash(registered.user().id);
+                } else {
+                    event.outcome = registration == null ? "error" : "email_taken";
+                }
+                event.commit();
+            }
+        }
+    }
+    
+    private Registration createUser(String email, String password, String fullName, AuthEvents.Registration event) {
+        long start = System.nanoTime();
+        boolean emailTaken = userRepository.existsByEmail(email);
+        event.lookup = System.nanoTime() - start;
+        lookupTimer.record(event.lookup, TimeUnit.NANOSECONDS);
+        if (emailTaken) {
+            return EMAIL_TAKEN;
         }
         
+        start = System.nanoTime();
         String hashedPassword = passwordEncoder.encode(password);
+        event.hash = System.nanoTime() - start;
+        hashTimer.record(event.hash, TimeUnit.NANOSECONDS);
         User.UserBuilder userBuilder = User.builder()
                 .email(email)
                 .password(hashedPassword)
@@ -55,10 +132,15 @@ public class UserService implements IUserService {
                 .emailVerificationToken(verificationToken)
                     .emailVerificationTokenExpiry(tokenExpiry);
 
-            User user = userBuilder.build();
-            // Send email verification before saving to ensure rollback works
-            emailService.sendEmailVerification(user);
-            return userRepository.save(user);
+            start = System.nanoTime();
+            User user = userRepository.save(userBuilder.build());
+            userRepository.adjustUserCount(1);
+            userSearchService.indexUsers(List.of(user));
+            // Delivered by EmailOutboxDispatcher once this transaction commits
+            emailOutboxService.enqueue(EmailType.EMAIL_VERIFICATION, user);
+            event.persist = System.nanoTime() - start;
+            persistTimer.record(event.persist, TimeUnit.NANOSECONDS);
+            return new Registration.Registered(user);
         }
 
         User user = userBuilder
@@ -68,7 +150,13 @@ public class UserService implements IUserService {
                 .emailVerificationTokenExpiry(null)
                 .build();
         
-        return userRepository.save(user);
+        start = System.nanoTime();
+        user = userRepository.save(user);
+        userRepository.adjustUserCount(1);
+        userSearchService.indexUsers(List.of(user));
+        event.persist = System.nanoTime() - start;
+        persistTimer.record(event.persist, TimeUnit.NANOSECONDS);
+        return new Registration.Registered(user);
     }
     
     public User createUserFromExternalProvider(String email, String fullName, 
@@ -89,25 +177,25 @@ public class UserService implements IUserService {
                 .roles(java.util.Set.of(br.com.authentication.domain.model.Role.USER))
                 .build();
         
-        return userRepository.save(user);
+        user = userRepository.save(user);
+        userRepository.adjustUserCount(1);
+        userSearchService.indexUsers(List.of(user));
+        return user;
     }
     
     @Transactional(readOnly = true)
-    public User findByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+    public Optional<User> findByEmail(String email) {
+        return userRepository.findByEmail(email);
     }
     
     @Transactional(readOnly = true)
-    public User findByEmailVerificationToken(String token) {
-        return userRepository.findByEmailVerificationToken(token)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid verification token"));
+    public Optional<User> findByEmailVerificationToken(String token) {
+        return userRepository.findByEmailVerificationToken(token);
     }
     
     @Transactional(readOnly = true)
-    public User findByPasswordResetToken(String token) {
-        return userRepository.findByPasswordResetToken(token)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid password reset token"));
+    public Optional<User> findByPasswordResetToken(String token) {
+        return userRepository.findByPasswordResetToken(token);
     }
     
     @Transactional(readOnly = true)
@@ -117,19 +205,25 @@ public class UserService implements IUserService {
                 .orElse(null);
     }
     
-    public void verifyEmail(String token) {
-        User user = findByEmailVerificationToken(token);
-        
+    public TokenRedemption verifyEmail(String token) {
+        User user = userRepository.findByEmailVerificationToken(token).orElse(null);
+        if (user == null) {
+            return TokenRedemption.INVALID;
+        }
         if (!user.isEmailVerificationTokenValid()) {
-            throw new IllegalArgumentException("Verification token has expired");
+            return TokenRedemption.EXPIRED;
         }
         
         user.activate();
         userRepository.save(user);
+        return TokenRedemption.REDEEMED;
     }
     
-    public void initiatePasswordReset(String email) {
-        User user = findByEmail(email);
+    public boolean initiatePasswordReset(String email) {
+        User user = userRepository.findByEmail(email).orElse(null);
+        if (user == null) {
+            return false;
+        }
         
         String resetToken = UUID.randomUUID().toString();
         LocalDateTime tokenExpiry = LocalDateTime.now().plusHours(1);
@@ -137,27 +231,58 @@ public class UserService implements IUserService {
         user.passwordResetToken = resetToken;
         user.passwordResetTokenExpiry = tokenExpiry;
         userRepository.save(user);
-        emailService.sendPasswordResetEmail(user);
+        emailOutboxService.enqueue(EmailType.PASSWORD_RESET, user);
+        return true;
     }
     
-    public void resetPassword(String token, String newPassword) {
-        User user = findByPasswordResetToken(token);
-        
+    public TokenRedemption resetPassword(String token, String newPassword) {
+        User user = userRepository.findByPasswordResetToken(token).orElse(null);
+        if (user == null) {
+            return TokenRedemption.INVALID;
+        }
         if (!user.isPasswordResetTokenValid()) {
-            throw new IllegalArgumentException("Password reset token has expired");
+            return TokenRedemption.EXPIRED;
         }
         
         String hashedPassword = passwordEncoder.encode(newPassword);
         user.password = hashedPassword;
         user.clearPasswordResetToken();
         userRepository.save(user);
+        return TokenRedemption.REDEEMED;
     }
     
-    public User updateProfile(User user, String fullName, String phone, String profilePicture) {
+    public ProfileUpdate updateProfile(User user, String fullName, String phone, String profilePicture) {
+        // The principal is detached: save() would merge it (a SELECT with the roles, then every column)
+        Map<ProfileColumn, String> changes = new EnumMap<>(ProfileColumn.class);
+        if (!Objects.equals(user.fullName, fullName)) {
+            changes.put(ProfileColumn.FULL_NAME, fullName);
+        }
+        if (!Objects.equals(user.phone, phone)) {
+            changes.put(ProfileColumn.PHONE, phone);
+        }
+        if (!Objects.equals(user.profilePicture, profilePicture)) {
+            changes.put(ProfileColumn.PROFILE_PICTURE, profilePicture);
+        }
+        if (changes.isEmpty()) {
+            return new ProfileUpdate.Updated(user);
+        }
+        
+        // Whole seconds, as stored by a DATETIME column, so the returned ETag matches the next read
+        LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        // Rows predating the version column read as 0; a user never saved has no row to update anyway
+        long expectedVersion = user.version != null ? user.version : 0L;
+        if (userRepository.updateProfile(user.id, expectedVersion, changes, updatedAt) == 0) {
+            return PROFILE_CONFLICT;
+        }
         user.fullName = fullName;
         user.phone = phone;
         user.profilePicture = profilePicture;
-        return userRepository.save(user);
+        user.updatedAt = updatedAt;
+        user.version = expectedVersion + 1;
+        if (changes.containsKey(ProfileColumn.FULL_NAME)) {
+            userSearchService.indexUsers(List.of(user));
+        }
+        return new ProfileUpdate.Updated(user);
     }
     
     public void changePassword(User user, String currentPassword, String newPassword) {
@@ -179,6 +304,30 @@ public class UserService implements IUserService {
     
     @Transactional(readOnly = true)
     public long countUsers() {
-        return userRepository.count();
+        return userRepository.approximateUserCount();
+    }
+    
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public long reconcileUserCount() {
+        return userRepository.reconcileUserCount();
+    }
+    
+    @Transactional(readOnly = true)
+    public int forEachUser(UserListFilter filter, long afterId, int limit, Consumer<UserSummary> action) {
+        return userRepository.forEachUser(filter, afterId, limit, action);
+    }
+    
+    @Transactional(readOnly = true)
+    public int forEachUserByEmail(UserListFilter filter, String afterEmail, int limit, Consumer<UserSummary> action) {
+        return userRepository.forEachUserByEmail(filter, afterEmail, limit, action);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<UserSummary> findUserSummaries(List<Long> userIds) {
+        Map<Long, UserSummary> byId = new HashMap<>();
+        for (UserSummary summary : userRepository.findSummariesByIdIn(userIds)) {
+            byId.put(summary.id(), summary);
+        }
+        return userIds.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
 }
@@ -0,0 +1,25 @@
+package br.com.authentication.usecase.user.bulkimport.contract;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportProgressEvent {
+    
+    public static final String PROGRESS = "progress";
+    public static final String ERROR = "error";
+    public static final String SUMMARY = "summary";
+    
+    public String type;
+    public Long line;
+    public String email;
+    public String message;
+    public long processed;
+    public long imported;
+    public long failed;
+    public long elapsedMillis;
+    public double usersPerSecond;
+}
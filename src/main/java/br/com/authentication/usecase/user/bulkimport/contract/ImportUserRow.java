@@ -0,0 +1,28 @@
+package br.com.authentication.usecase.user.bulkimport.contract;
+
+import br.com.authentication.domain.model.Role;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.Set;
+
+public class ImportUserRow {
+    
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email must be valid")
+    public String email;
+    
+    @NotBlank(message = "Full name is required")
+    @Size(min = 2, max = 100, message = "Full name must be between 2 and 100 characters")
+    public String fullName;
+    
+    // Either a raw password, hashed during the import, or a bcrypt hash from the source system
+    public String password;
+    
+    public String passwordHash;
+    
+    public String phone;
+    
+    public Set<Role> roles;
+}
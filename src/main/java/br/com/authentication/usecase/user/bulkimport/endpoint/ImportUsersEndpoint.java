@@ -0,0 +1,174 @@
+package br.com.authentication.usecase.user.bulkimport.endpoint;
+
+import br.com.authentication.service.IUserImportService;
+import br.com.authentication.service.IUserImportService.ImportBatchResult;
+import br.com.authentication.service.IUserImportService.ImportRow;
+import br.com.authentication.service.IUserImportService.RowError;
+import br.com.authentication.usecase.user.bulkimport.contract.ImportProgressEvent;
+import br.com.authentication.usecase.user.bulkimport.contract.ImportUserRow;
+import br.com.authentication.usecase.user.bulkimport.mapping.ImportUserMapper;
+import br.com.authentication.usecase.user.bulkimport.mapping.ImportUserRowReader;
+import br.com.authentication.usecase.user.bulkimport.mapping.ImportUserRowReader.Format;
+import br.com.authentication.usecase.user.bulkimport.mapping.ImportUserRowReader.ParsedRow;
+import br.com.authentication.usecase.user.create.endpoint.SaveUserEndpoint.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams users from an NDJSON or CSV body into the database in JDBC batches. The response is
+ * NDJSON as well: one progress line per batch, one line per rejected row (up to a limit) and a
+ * final summary, each wrapped in the usual {"data": ...} envelope.
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+@Slf4j
+public class ImportUsersEndpoint {
+    
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+    
+    private final IUserImportService userImportService;
+    private final ImportUserMapper importUserMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${app.user-import.batch-size:1000}")
+    private int batchSize;
+    
+    @Value("${app.user-import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+    
+    @PostMapping(value = "/import", consumes = {NDJSON, CSV}, produces = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> importUsers(HttpServletRequest request) throws IOException {
+        Format format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? Format.CSV
+                : Format.NDJSON;
+        InputStream body = request.getInputStream();
+        
+        StreamingResponseBody stream = out -> run(new ImportUserRowReader(body, format, objectMapper), out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(stream);
+    }
+    
+    private void run(ImportUserRowReader reader, OutputStream out) throws IOException {
+        Progress progress = new Progress();
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        
+        ParsedRow parsed;
+        while ((parsed = reader.next()) != null) {
+            progress.processed++;
+            String error = parsed.error() != null ? parsed.error() : validate(parsed.row());
+            if (error != null) {
+                reject(progress, out, parsed.line(), parsed.row() == null ? null : parsed.row().email, error);
+                continue;
+            }
+            
+            batch.add(importUserMapper.toImportRow(parsed.line(), parsed.row()));
+            if (batch.size() >= batchSize) {
+                flush(batch, progress, out);
+            }
+        }
+        flush(batch, progress, out);
+        
+        write(out, progress.event(ImportProgressEvent.SUMMARY));
+        log.info("User import finished: {} processed, {} imported, {} failed in {} ms",
+                progress.processed, progress.imported, progress.failed, progress.elapsedMillis());
+    }
+    
+    private void flush(List<ImportRow> batch, Progress progress, OutputStream out) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            ImportBatchResult result = userImportService.importBatch(batch);
+            progress.imported += result.imported();
+            for (RowError error : result.errors()) {
+                reject(progress, out, error.line(), error.email(), error.message());
+            }
+        } catch (Exception e) {
+            log.error("User import batch failed", e);
+            for (ImportRow row : batch) {
+                reject(progress, out, row.line(), row.user().email, "Batch failed: " + e.getClass().getSimpleName());
+            }
+        }
+        batch.clear();
+        write(out, progress.event(ImportProgressEvent.PROGRESS));
+    }
+    
+    private String validate(ImportUserRow row) {
+        Set<ConstraintViolation<ImportUserRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if ((row.password == null || row.password.isBlank()) && (row.passwordHash == null || row.passwordHash.isBlank())) {
+            return "password or passwordHash is required";
+        }
+        return null;
+    }
+    
+    private void reject(Progress progress, OutputStream out, long line, String email, String message) throws IOException {
+        progress.failed++;
+        if (progress.failed <= maxReportedErrors) {
+            ImportProgressEvent event = progress.event(ImportProgressEvent.ERROR);
+            event.line = line;
+            event.email = email;
+            event.message = message;
+            write(out, event);
+        }
+    }
+    
+    private void write(OutputStream out, ImportProgressEvent event) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(ApiResponse.success(event)));
+        out.write('\n');
+        if (!ImportProgressEvent.ERROR.equals(event.type)) {
+            out.flush();
+        }
+    }
+    
+    private static class Progress {
+        private final long startedAt = System.nanoTime();
+        private long processed;
+        private long imported;
+        private long failed;
+        
+        long elapsedMillis() {
+            return (System.nanoTime() - startedAt) / 1_000_000;
+        }
+        
+        ImportProgressEvent event(String type) {
+            long elapsed = elapsedMillis();
+            return ImportProgressEvent.builder()
+                    .type(type)
+                    .processed(processed)
+                    .imported(imported)
+                    .failed(failed)
+                    .elapsedMillis(elapsed)
+                    .usersPerSecond(elapsed == 0 ? 0 : imported * 1000.0 / elapsed)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.authentication.usecase.user.bulkimport.mapping;
+
+import br.com.authentication.domain.model.Role;
+import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.model.UserStatus;
+import br.com.authentication.service.IUserImportService.ImportRow;
+import br.com.authentication.usecase.user.bulkimport.contract.ImportUserRow;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+@Component
+public class ImportUserMapper {
+    
+    // Imported accounts were already verified by the source system
+    public ImportRow toImportRow(long line, ImportUserRow row) {
+        boolean preHashed = row.password == null || row.password.isBlank();
+        User user = User.builder()
+                .email(row.email.trim())
+                .password(preHashed ? row.passwordHash : null)
+                .fullName(row.fullName.trim())
+                .phone(row.phone)
+                .status(UserStatus.ACTIVE)
+                .emailVerified(true)
+                .roles(row.roles == null || row.roles.isEmpty() ? Set.of(Role.USER) : row.roles)
+                .build();
+        return new ImportRow(line, user, preHashed ? null : row.password);
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.authentication.usecase.user.bulkimport.mapping;
+
+import br.com.authentication.domain.model.Role;
+import br.com.authentication.usecase.user.bulkimport.contract.ImportUserRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads an import body one line at a time, so memory stays flat whatever the body size.
+ * NDJSON: one JSON object per line. CSV: a header line naming the columns (email, fullName,
+ * password, passwordHash, phone, roles with roles separated by '|'), quoted fields allowed.
+ */
+public class ImportUserRowReader {
+    
+    public enum Format { NDJSON, CSV }
+    
+    public record ParsedRow(long line, ImportUserRow row, String error) {
+    }
+    
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> csvColumns;
+    private long line;
+    
+    public ImportUserRowReader(InputStream input, Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+    
+    // Returns null at the end of the input
+    public ParsedRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+        
+        if (format == Format.NDJSON) {
+            try {
+                return new ParsedRow(line, objectMapper.readValue(text, ImportUserRow.class), null);
+            } catch (JsonProcessingException e) {
+                return new ParsedRow(line, null, "Malformed JSON");
+            }
+        }
+        
+        if (csvColumns == null) {
+            csvColumns = header(splitCsv(text));
+            return next();
+        }
+        return parseCsv(text);
+    }
+    
+    private ParsedRow parseCsv(String text) {
+        List<String> fields = splitCsv(text);
+        if (fields == null) {
+            return new ParsedRow(line, null, "Malformed CSV line");
+        }
+        
+        ImportUserRow row = new ImportUserRow();
+        row.email = field(fields, "email");
+        row.fullName = field(fields, "fullname");
+        row.password = field(fields, "password");
+        row.passwordHash = field(fields, "passwordhash");
+        row.phone = field(fields, "phone");
+        String roles = field(fields, "roles");
+        if (roles != null) {
+            try {
+                Set<Role> parsed = EnumSet.noneOf(Role.class);
+                for (String role : roles.split("\\|")) {
+                    if (!role.isBlank()) {
+                        parsed.add(Role.valueOf(role.trim().toUpperCase(Locale.ROOT)));
+                    }
+                }
+                row.roles = parsed;
+            } catch (IllegalArgumentException e) {
+                return new ParsedRow(line, null, "Unknown role: " + roles);
+            }
+        }
+        return new ParsedRow(line, row, null);
+    }
+    
+    private String field(List<String> fields, String column) {
+        Integer index = csvColumns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+    
+    private static Map<String, Integer> header(List<String> names) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+    
+    // RFC 4180 subset: comma separator, double-quoted fields with "" escapes, no embedded newlines
+    static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString().trim());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(current.toString().trim());
+        return fields;
+    }
+}
@@ -1,10 +1,12 @@
 package br.com.authentication.usecase.user.create.endpoint;
 
+import br.com.authentication.config.ConstantResponse;
 import br.com.authentication.usecase.user.create.contract.RegisterUserRequest;
-import br.com.authentication.usecase.user.create.contract.RegisterUserResponse;
 import br.com.authentication.usecase.user.create.mapping.UserMapper;
 import br.com.authentication.service.IUserService;
+import br.com.authentication.service.IUserService.Registration;
 import br.com.authentication.service.IEmailService;
+import br.com.authentication.service.PasswordHashingRejectedException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -16,34 +18,38 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class SaveUserEndpoint {
     
+    private static final ConstantResponse PASSWORDS_DO_NOT_MATCH = ConstantResponse.error(HttpStatus.BAD_REQUEST,
+            "Passwords do not match");
+    private static final ConstantResponse BUSY = ConstantResponse.error(HttpStatus.SERVICE_UNAVAILABLE,
+            "Too many registrations in progress, please retry shortly");
+    
     private final IUserService userService;
     private final UserMapper userMapper;
     
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse<RegisterUserResponse>> registerUser(@Valid @RequestBody RegisterUserRequest request) {
+    public ResponseEntity<?> registerUser(@Valid @RequestBody RegisterUserRequest request) {
         // Validate password confirmation
         if (!request.password.equals(request.confirmPassword)) {
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("Passwords do not match"));
+            return PASSWORDS_DO_NOT_MATCH.entity();
         }
         
         try {
             // Create user
-            var user = userService.createUser(
+            var registration = userService.createUser(
                     request.email,
                     request.password,
                     request.fullName
             );
             
-            // Map to response
-            var response = userMapper.toResponse(user);
-            
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(ApiResponse.success(response));
+            return switch (registration) {
+                case Registration.Registered registered -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(ApiResponse.success(userMapper.toResponse(registered.user())));
+                case Registration.EmailTaken emailTaken -> ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(ApiResponse.error("User with email " + request.email + " already exists"));
+            };
                     
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(ApiResponse.error(e.getMessage()));
+        } catch (PasswordHashingRejectedException e) {
+            return BUSY.entity();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error(e.getMessage()));
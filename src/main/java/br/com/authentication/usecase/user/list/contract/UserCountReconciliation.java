@@ -0,0 +1,18 @@
+package br.com.authentication.usecase.user.list.contract;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@code drift} is what the user counter was off by before the recount; {@code approximateTotal}
+ * is the corrected counter.
+ */
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCountReconciliation {
+    
+    public long drift;
+    public long approximateTotal;
+}
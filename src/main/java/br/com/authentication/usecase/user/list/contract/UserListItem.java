@@ -0,0 +1,26 @@
+package br.com.authentication.usecase.user.list.contract;
+
+import br.com.authentication.domain.model.ExternalProvider;
+import br.com.authentication.domain.model.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserListItem {
+    
+    public static final String TYPE = "user";
+    
+    public String type;
+    public Long id;
+    public String email;
+    public String fullName;
+    public UserStatus status;
+    public ExternalProvider externalProvider;
+    public boolean emailVerified;
+    public LocalDateTime createdAt;
+}
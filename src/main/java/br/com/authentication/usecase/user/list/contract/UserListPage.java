@@ -0,0 +1,24 @@
+package br.com.authentication.usecase.user.list.contract;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last line of a listing. {@code nextAfter} is the {@code after} parameter of the next page, or
+ * null when this page was not full; listings filtered by email prefix are paged by email instead
+ * and set {@code nextAfterEmail}, the {@code afterEmail} parameter of the next page.
+ */
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserListPage {
+    
+    public static final String TYPE = "page";
+    
+    public String type;
+    public int count;
+    public Long nextAfter;
+    public String nextAfterEmail;
+    public long approximateTotal;
+}
@@ -0,0 +1,124 @@
+package br.com.authentication.usecase.user.list.endpoint;
+
+import br.com.authentication.domain.model.ExternalProvider;
+import br.com.authentication.domain.model.UserStatus;
+import br.com.authentication.domain.repository.UserRepositoryCustom.UserListFilter;
+import br.com.authentication.service.IUserService;
+import br.com.authentication.usecase.user.create.endpoint.SaveUserEndpoint.ApiResponse;
+import br.com.authentication.usecase.user.list.contract.UserListPage;
+import br.com.authentication.usecase.user.list.mapping.UserListMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Lists users for support, one keyset page at a time: users with an id above {@code after}, in id
+ * order, optionally filtered by status and provider. With an email prefix the page is a range of
+ * the email index instead: users with an email above {@code afterEmail}, in email order. The
+ * response is NDJSON, one line per user written as it is read, then a page line with the cursor
+ * of the next page and the approximate number of users, each wrapped in the usual {"data": ...}
+ * envelope. No offset is ever scanned, so a page costs the same at the first and the
+ * ten-millionth user.
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class ListUsersEndpoint {
+    
+    private static final String NDJSON = "application/x-ndjson";
+    
+    private final IUserService userService;
+    private final UserListMapper userListMapper;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${app.admin-users.default-page-size:100}")
+    private int defaultPageSize;
+    
+    @Value("${app.admin-users.max-page-size:1000}")
+    private int maxPageSize;
+    
+    @GetMapping(produces = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> listUsers(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(required = false) String afterEmail,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) UserStatus status,
+            @RequestParam(required = false) ExternalProvider provider,
+            @RequestParam(required = false) String emailPrefix
+    ) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        UserListFilter filter = new UserListFilter(status, provider,
+                emailPrefix == null || emailPrefix.isBlank() ? null : emailPrefix.trim());
+        long approximateTotal = userService.countUsers();
+        
+        StreamingResponseBody stream = filter.emailPrefix() != null
+                ? out -> runByEmail(filter, afterEmail, pageSize, approximateTotal, out)
+                : out -> run(filter, Math.max(after, 0), pageSize, approximateTotal, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(stream);
+    }
+    
+    private void run(UserListFilter filter, long after, int pageSize, long approximateTotal, OutputStream out)
+            throws IOException {
+        long[] lastId = {after};
+        int count;
+        try {
+            count = userService.forEachUser(filter, after, pageSize, user -> {
+                lastId[0] = user.id();
+                write(out, userListMapper.toItem(user));
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        
+        write(out, UserListPage.builder()
+                .type(UserListPage.TYPE)
+                .count(count)
+                .nextAfter(count == pageSize ? lastId[0] : null)
+                .approximateTotal(approximateTotal)
+                .build());
+        out.flush();
+    }
+    
+    private void runByEmail(UserListFilter filter, String afterEmail, int pageSize, long approximateTotal, OutputStream out)
+            throws IOException {
+        String[] lastEmail = {afterEmail};
+        int count;
+        try {
+            count = userService.forEachUserByEmail(filter, afterEmail, pageSize, user -> {
+                lastEmail[0] = user.email();
+                write(out, userListMapper.toItem(user));
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        
+        write(out, UserListPage.builder()
+                .type(UserListPage.TYPE)
+                .count(count)
+                .nextAfterEmail(count == pageSize ? lastEmail[0] : null)
+                .approximateTotal(approximateTotal)
+                .build());
+        out.flush();
+    }
+    
+    private void write(OutputStream out, Object line) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(ApiResponse.success(line)));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
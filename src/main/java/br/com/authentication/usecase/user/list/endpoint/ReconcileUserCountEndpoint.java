@@ -0,0 +1,36 @@
+package br.com.authentication.usecase.user.list.endpoint;
+
+import br.com.authentication.service.IUserService;
+import br.com.authentication.usecase.user.create.endpoint.SaveUserEndpoint.ApiResponse;
+import br.com.authentication.usecase.user.list.contract.UserCountReconciliation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Recounts users into the counter behind {@code approximateTotal}. Registrations by instances
+ * that do not maintain the counter (older versions during a rolling deploy) and rows written
+ * outside the application are missing from it until this runs; it costs one {@code COUNT(*)}.
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+@Slf4j
+public class ReconcileUserCountEndpoint {
+    
+    private final IUserService userService;
+    
+    @PostMapping("/count/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<UserCountReconciliation>> reconcileUserCount() {
+        long drift = userService.reconcileUserCount();
+        long approximateTotal = userService.countUsers();
+        log.info("User counter reconciled: off by {}, now {}", drift, approximateTotal);
+        return ResponseEntity.ok(ApiResponse.success(UserCountReconciliation.builder()
+                .drift(drift)
+                .approximateTotal(approximateTotal)
+                .build()));
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.authentication.usecase.user.list.endpoint;
+
+import br.com.authentication.service.IUserSearchService;
+import br.com.authentication.service.IUserService;
+import br.com.authentication.usecase.user.create.endpoint.SaveUserEndpoint.ApiResponse;
+import br.com.authentication.usecase.user.list.contract.UserListItem;
+import br.com.authentication.usecase.user.list.mapping.UserListMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Type-ahead user lookup for support: users whose email or name starts with {@code q}, best match
+ * first, answered from the in-memory prefix index and completed with one query by id.
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class SearchUsersEndpoint {
+    
+    private final IUserSearchService userSearchService;
+    private final IUserService userService;
+    private final UserListMapper userListMapper;
+    
+    @Value("${app.user-search.max-results:50}")
+    private int maxResults;
+    
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<UserListItem>>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        Optional<List<Long>> userIds = userSearchService.search(q, Math.max(1, Math.min(limit, maxResults)));
+        if (userIds.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error("User search is not available yet, please retry shortly"));
+        }
+        List<UserListItem> users = userService.findUserSummaries(userIds.get()).stream()
+                .map(userListMapper::toItem)
+                .toList();
+        return ResponseEntity.ok(ApiResponse.success(users));
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.authentication.usecase.user.list.mapping;
+
+import br.com.authentication.domain.repository.UserRepositoryCustom.UserSummary;
+import br.com.authentication.usecase.user.list.contract.UserListItem;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserListMapper {
+    
+    public UserListItem toItem(UserSummary user) {
+        return UserListItem.builder()
+                .type(UserListItem.TYPE)
+                .id(user.id())
+                .email(user.email())
+                .fullName(user.fullName())
+                .status(user.status())
+                .externalProvider(user.externalProvider())
+                .emailVerified(user.emailVerified())
+                .createdAt(user.createdAt())
+                .build();
+    }
+}
@@ -1,15 +1,26 @@
 package br.com.authentication.usecase.user.login.endpoint;
 
+import br.com.authentication.config.ConstantResponse;
+import br.com.authentication.service.AuthEvents;
+import br.com.authentication.service.AuthMetrics;
 import br.com.authentication.service.IJwtService;
+import br.com.authentication.service.ILoginAttemptService;
+import br.com.authentication.service.ILoginCoalescingService;
 import br.com.authentication.service.IUserService;
+import br.com.authentication.service.PasswordHashingRejectedException;
 import br.com.authentication.usecase.user.login.contract.LoginRequest;
-import br.com.authentication.usecase.user.login.contract.LoginResponse;
 import br.com.authentication.usecase.user.login.mapping.LoginMapper;
 import br.com.authentication.usecase.user.create.endpoint.SaveUserEndpoint.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,46 +28,121 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.TimeUnit;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 @Slf4j
 public class LoginEndpoint {
 
+    private static final ConstantResponse THROTTLED = ConstantResponse.error(HttpStatus.TOO_MANY_REQUESTS,
+            "Too many failed login attempts, please try again later");
+    private static final ConstantResponse INVALID_CREDENTIALS = ConstantResponse.error(HttpStatus.UNAUTHORIZED,
+            "Invalid email or password");
+    private static final ConstantResponse BUSY = ConstantResponse.error(HttpStatus.SERVICE_UNAVAILABLE,
+            "Too many login attempts in progress, please retry shortly");
+    private static final ConstantResponse LOGIN_FAILED = ConstantResponse.error(HttpStatus.INTERNAL_SERVER_ERROR,
+            "An error occurred during login");
+
     private final AuthenticationManager authenticationManager;
     private final IJwtService jwtService;
     private final IUserService userService;
     private final LoginMapper loginMapper;
+    private final ILoginAttemptService loginAttemptService;
+    private final ILoginCoalescingService loginCoalescingService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private Timer tokenTimer;
+    private Timer serializeTimer;
+    private Timer successTimer;
+    private Timer throttledTimer;
+    private Timer badCredentialsTimer;
+    private Timer busyTimer;
+    private Timer errorTimer;
+
+    @PostConstruct
+    void start() {
+        tokenTimer = AuthMetrics.loginStage(meterRegistry, "token");
+        serializeTimer = AuthMetrics.loginStage(meterRegistry, "serialize");
+        successTimer = AuthMetrics.login(meterRegistry, "success");
+        throttledTimer = AuthMetrics.login(meterRegistry, "throttled");
+        badCredentialsTimer = AuthMetrics.login(meterRegistry, "bad_credentials");
+        busyTimer = AuthMetrics.login(meterRegistry, "busy");
+        errorTimer = AuthMetrics.login(meterRegistry, "error");
+    }
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<byte[]> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        final long start = System.nanoTime();
+        final AuthEvents.Login event = new AuthEvents.Login();
+        event.begin();
+        final String clientIp = httpRequest.getRemoteAddr();
+
+        // Reject throttled clients before authenticate() spends any bcrypt work
+        if (loginAttemptService.isBlocked(request.email, clientIp)) {
+            return finish(throttledTimer, start, event, "throttled", request.email, THROTTLED.entity());
+        }
+
         try {
-            // Authenticate user
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.email,
-                            request.password
-                    )
-            );
+            long authenticationStart = System.nanoTime();
+            // Identical concurrent attempts (client retries, double clicks) share one authentication and token
+            IssuedLogin issued = loginCoalescingService.coalesce(request.email, request.password, () -> {
+                // Authenticate user (lookup and verify stages, see RehashingAuthenticationProvider)
+                Authentication authentication = authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(
+                                request.email,
+                                request.password
+                        )
+                );
 
-            // Get user details
-            var user = (br.com.authentication.domain.model.User) authentication.getPrincipal();
+                // Get user details
+                var user = (br.com.authentication.domain.model.User) authentication.getPrincipal();
 
-            // Generate JWT token
-            String token = jwtService.generateToken(user);
+                // Generate JWT token
+                long tokenStart = System.nanoTime();
+                String token = jwtService.generateToken(user);
+                tokenTimer.record(System.nanoTime() - tokenStart, TimeUnit.NANOSECONDS);
+                return new IssuedLogin(user, token);
+            });
+            event.authentication = System.nanoTime() - authenticationStart;
+            event.userIdHash = AuthEvents.userIdHash(issued.user().id);
+            loginAttemptService.loginSucceeded(request.email, clientIp);
 
-            // Map to response
-            var response = loginMapper.toResponse(user, token);
+            // Map and serialize here rather than in MVC, so the time is attributed to its own stage
+            long serializeStart = System.nanoTime();
+            byte[] body = objectMapper.writeValueAsBytes(
+                    ApiResponse.success(loginMapper.toResponse(issued.user(), issued.token())));
+            event.serialization = System.nanoTime() - serializeStart;
+            serializeTimer.record(event.serialization, TimeUnit.NANOSECONDS);
 
-            return ResponseEntity.ok(ApiResponse.success(response));
+            return finish(successTimer, start, event, "success", request.email,
+                    ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body));
 
         } catch (AuthenticationException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(ApiResponse.error("Invalid email or password"));
+            loginAttemptService.loginFailed(request.email, clientIp);
+            return finish(badCredentialsTimer, start, event, "bad_credentials", request.email, INVALID_CREDENTIALS.entity());
+        } catch (PasswordHashingRejectedException e) {
+            return finish(busyTimer, start, event, "busy", request.email, BUSY.entity());
         } catch (Exception e) {
             log.error("Unexpected error during login", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("An error occurred during login"));
+            return finish(errorTimer, start, event, "error", request.email, LOGIN_FAILED.entity());
+        }
+    }
+
+    private static ResponseEntity<byte[]> finish(Timer timer, long start, AuthEvents.Login event, String outcome,
+                                                 String email, ResponseEntity<byte[]> response) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        event.end();
+        if (event.shouldCommit()) {
+            event.outcome = outcome;
+            event.emailHash = AuthEvents.emailHash(email);
+            event.commit();
         }
+        return response;
+    }
+
+    private record IssuedLogin(br.com.authentication.domain.model.User user, String token) {
     }
 }
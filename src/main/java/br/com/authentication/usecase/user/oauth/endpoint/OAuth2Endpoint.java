@@ -1,8 +1,8 @@
 package br.com.authentication.usecase.user.oauth.endpoint;
 
+import br.com.authentication.config.ConstantResponse;
 import br.com.authentication.service.IJwtService;
 import br.com.authentication.service.IUserService;
-import br.com.authentication.usecase.user.login.contract.LoginResponse;
 import br.com.authentication.usecase.user.login.mapping.LoginMapper;
 import br.com.authentication.usecase.user.create.endpoint.SaveUserEndpoint.ApiResponse;
 import lombok.RequiredArgsConstructor;
@@ -19,12 +19,17 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class OAuth2Endpoint {
     
+    private static final ConstantResponse OAUTH2_ERROR = ConstantResponse.error(HttpStatus.INTERNAL_SERVER_ERROR,
+            "OAuth2 authentication failed");
+    private static final ConstantResponse OAUTH2_FAILURE = ConstantResponse.error(HttpStatus.BAD_REQUEST,
+            "OAuth2 authentication failed");
+    
     private final IUserService userService;
     private final IJwtService jwtService;
     private final LoginMapper loginMapper;
     
     @GetMapping("/success")
-    public ResponseEntity<ApiResponse<LoginResponse>> oauth2Success(
+    public ResponseEntity<?> oauth2Success(
             @AuthenticationPrincipal OAuth2User oauth2User) {
         try {
             String email = oauth2User.getAttribute("email");
@@ -56,15 +61,13 @@ public class OAuth2Endpoint {
             return ResponseEntity.ok(ApiResponse.success(response));
             
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("OAuth2 authentication failed"));
+            return OAUTH2_ERROR.entity();
         }
     }
     
     @GetMapping("/failure")
-    public ResponseEntity<ApiResponse<String>> oauth2Failure() {
-        return ResponseEntity.badRequest()
-                .body(ApiResponse.error("OAuth2 authentication failed"));
+    public ResponseEntity<byte[]> oauth2Failure() {
+        return OAUTH2_FAILURE.entity();
     }
     
     private br.com.authentication.domain.model.ExternalProvider determineProvider(OAuth2User oauth2User) {
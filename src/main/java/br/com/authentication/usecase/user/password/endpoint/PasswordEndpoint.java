@@ -1,11 +1,11 @@
 package br.com.authentication.usecase.user.password.endpoint;
 
-import br.com.authentication.service.IEmailService;
+import br.com.authentication.config.ConstantResponse;
 import br.com.authentication.service.IUserService;
+import br.com.authentication.service.PasswordHashingRejectedException;
 import br.com.authentication.usecase.user.password.contract.ForgotPasswordRequest;
 import br.com.authentication.usecase.user.password.contract.PasswordResponse;
 import br.com.authentication.usecase.user.password.contract.ResetPasswordRequest;
-import br.com.authentication.usecase.user.create.endpoint.SaveUserEndpoint.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,46 +17,45 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class PasswordEndpoint {
     
+    private static final ConstantResponse RESET_EMAIL_MAYBE_SENT = ConstantResponse.success(HttpStatus.OK,
+            PasswordResponse.builder().message("If the email exists, a password reset link has been sent").build());
+    private static final ConstantResponse PASSWORD_RESET = ConstantResponse.success(HttpStatus.OK,
+            PasswordResponse.builder().message("Password reset successfully").build());
+    private static final ConstantResponse INVALID_TOKEN = ConstantResponse.error(HttpStatus.BAD_REQUEST,
+            "Invalid password reset token");
+    private static final ConstantResponse EXPIRED_TOKEN = ConstantResponse.error(HttpStatus.BAD_REQUEST,
+            "Password reset token has expired");
+    private static final ConstantResponse RESET_BUSY = ConstantResponse.error(HttpStatus.SERVICE_UNAVAILABLE,
+            "Too many password resets in progress, please retry shortly");
+    private static final ConstantResponse RESET_FAILED = ConstantResponse.error(HttpStatus.INTERNAL_SERVER_ERROR,
+            "An error occurred during password reset");
+    
     private final IUserService userService;
 
     @PostMapping("/forgot-password")
-    public ResponseEntity<ApiResponse<PasswordResponse>> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request) {
+    public ResponseEntity<?> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request) {
         try {
             userService.initiatePasswordReset(request.email);
-            
-            var response = PasswordResponse.builder()
-                    .message("Password reset email sent successfully")
-                    .build();
-            
-            return ResponseEntity.ok(ApiResponse.success(response));
-            
         } catch (Exception e) {
-            // Always return success to prevent email enumeration
-            var response = PasswordResponse.builder()
-                    .message("If the email exists, a password reset link has been sent")
-                    .build();
-            
-            return ResponseEntity.ok(ApiResponse.success(response));
+            // Failures are not reported either
         }
+        // Known and unknown emails get the same answer, to prevent email enumeration
+        return RESET_EMAIL_MAYBE_SENT.entity();
     }
     
     @PostMapping("/reset-password")
-    public ResponseEntity<ApiResponse<PasswordResponse>> resetPassword(@Valid @RequestBody ResetPasswordRequest request) {
+    public ResponseEntity<?> resetPassword(@Valid @RequestBody ResetPasswordRequest request) {
         try {
-            userService.resetPassword(request.token, request.newPassword);
-            
-            var response = PasswordResponse.builder()
-                    .message("Password reset successfully")
-                    .build();
-            
-            return ResponseEntity.ok(ApiResponse.success(response));
+            return switch (userService.resetPassword(request.token, request.newPassword)) {
+                case REDEEMED -> PASSWORD_RESET.entity();
+                case INVALID -> INVALID_TOKEN.entity();
+                case EXPIRED -> EXPIRED_TOKEN.entity();
+            };
             
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error(e.getMessage()));
+        } catch (PasswordHashingRejectedException e) {
+            return RESET_BUSY.entity();
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("An error occurred during password reset"));
+            return RESET_FAILED.entity();
         }
     }
 }
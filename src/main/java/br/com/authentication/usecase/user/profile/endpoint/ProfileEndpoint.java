@@ -1,32 +1,52 @@
 package br.com.authentication.usecase.user.profile.endpoint;
 
 import br.com.authentication.service.IUserService;
+import br.com.authentication.service.IUserService.ProfileUpdate;
 import br.com.authentication.usecase.user.profile.contract.ProfileResponse;
 import br.com.authentication.usecase.user.profile.contract.UpdateProfileRequest;
 import br.com.authentication.usecase.user.profile.mapping.ProfileMapper;
 import br.com.authentication.usecase.user.create.endpoint.SaveUserEndpoint.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/user")
 @RequiredArgsConstructor
 public class ProfileEndpoint {
     
+    // Only the user's own browser may keep the profile, and it must revalidate before reusing it
+    private static final CacheControl PROFILE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+    
     private final IUserService userService;
     private final ProfileMapper profileMapper;
     
     @GetMapping("/profile")
-    public ResponseEntity<ApiResponse<ProfileResponse>> getProfile(Authentication authentication) {
+    public ResponseEntity<ApiResponse<ProfileResponse>> getProfile(Authentication authentication, WebRequest webRequest) {
         try {
             var user = (br.com.authentication.domain.model.User) authentication.getPrincipal();
+            String etag = profileMapper.etag(user);
+            long lastModified = profileMapper.lastModified(user);
+            
+            // Unchanged since the client's copy: answer 304 before mapping or serializing anything
+            if (webRequest.checkNotModified(etag, lastModified)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .cacheControl(PROFILE_CACHE_CONTROL)
+                        .build();
+            }
+            
             var response = profileMapper.toResponse(user);
             
-            return ResponseEntity.ok(ApiResponse.success(response));
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .lastModified(lastModified)
+                    .cacheControl(PROFILE_CACHE_CONTROL)
+                    .body(ApiResponse.success(response));
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -37,20 +57,33 @@ public class ProfileEndpoint {
     @PutMapping("/profile")
     public ResponseEntity<ApiResponse<ProfileResponse>> updateProfile(
             @Valid @RequestBody UpdateProfileRequest request,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         try {
             var user = (br.com.authentication.domain.model.User) authentication.getPrincipal();
             
-            var updatedUser = userService.updateProfile(
+            // If-Match carries the ETag of the profile the client edited; the principal was just read,
+            // so a mismatch means someone else changed it since (412). The versioned UPDATE then
+            // catches a change landing between this read and the write (409).
+            if (webRequest.checkNotModified(profileMapper.etag(user))) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                        .body(ApiResponse.error("Profile was changed since it was read, please reload it and retry"));
+            }
+            
+            var update = userService.updateProfile(
                     user,
                     request.fullName,
                     request.phone,
                     request.profilePicture
             );
             
-            var response = profileMapper.toResponse(updatedUser);
-            
-            return ResponseEntity.ok(ApiResponse.success(response));
+            return switch (update) {
+                case ProfileUpdate.Updated updated -> ResponseEntity.ok()
+                        .eTag(profileMapper.etag(updated.user()))
+                        .body(ApiResponse.success(profileMapper.toResponse(updated.user())));
+                case ProfileUpdate.Conflict conflict -> ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(ApiResponse.error("Profile was changed by another request, please reload it and retry"));
+            };
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -1,9 +1,14 @@
 package br.com.authentication.usecase.user.profile.mapping;
 
+import br.com.authentication.domain.model.Role;
 import br.com.authentication.domain.model.User;
 import br.com.authentication.usecase.user.profile.contract.ProfileResponse;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+
 @Component
 public class ProfileMapper {
     
@@ -19,4 +24,31 @@ public class ProfileMapper {
                 .createdAt(user.createdAt)
                 .build();
     }
+    
+    /**
+     * Strong validator for the profile representation, computed without building it: the user
+     * id and last update time, plus a hash of every field toResponse exposes. The hash covers
+     * edits that land within the same second (updated_at has second precision) and writes that
+     * bypass the entity callbacks. Role names are hashed instead of the enums so the tag is the
+     * same on every replica.
+     */
+    public String etag(User user) {
+        int rolesHash = 0;
+        if (user.roles != null) {
+            for (Role role : user.roles) {
+                rolesHash += role.name().hashCode();
+            }
+        }
+        int hash = Objects.hash(user.email, user.fullName, user.phone, user.profilePicture,
+                user.emailVerified, user.createdAt, rolesHash);
+        return Long.toHexString(user.id) + "-" + Long.toHexString(lastModified(user)) + "-" + Integer.toHexString(hash);
+    }
+    
+    /**
+     * Last update time in epoch milliseconds, or -1 when unknown.
+     */
+    public long lastModified(User user) {
+        LocalDateTime updatedAt = user.updatedAt != null ? user.updatedAt : user.createdAt;
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
 }
@@ -1,9 +1,9 @@
 package br.com.authentication.usecase.user.verify.endpoint;
 
+import br.com.authentication.config.ConstantResponse;
 import br.com.authentication.service.IUserService;
 import br.com.authentication.usecase.user.verify.contract.VerifyEmailRequest;
 import br.com.authentication.usecase.user.verify.contract.VerifyEmailResponse;
-import br.com.authentication.usecase.user.create.endpoint.SaveUserEndpoint.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -15,26 +15,28 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class VerifyEmailEndpoint {
     
+    private static final ConstantResponse EMAIL_VERIFIED = ConstantResponse.success(HttpStatus.OK,
+            VerifyEmailResponse.builder().message("Email verified successfully").verified(true).build());
+    private static final ConstantResponse INVALID_TOKEN = ConstantResponse.error(HttpStatus.BAD_REQUEST,
+            "Invalid verification token");
+    private static final ConstantResponse EXPIRED_TOKEN = ConstantResponse.error(HttpStatus.BAD_REQUEST,
+            "Verification token has expired");
+    private static final ConstantResponse VERIFICATION_FAILED = ConstantResponse.error(HttpStatus.INTERNAL_SERVER_ERROR,
+            "An error occurred during email verification");
+    
     private final IUserService userService;
     
     @PostMapping("/verify-email")
-    public ResponseEntity<ApiResponse<VerifyEmailResponse>> verifyEmail(@Valid @RequestBody VerifyEmailRequest request) {
+    public ResponseEntity<?> verifyEmail(@Valid @RequestBody VerifyEmailRequest request) {
         try {
-            userService.verifyEmail(request.token);
-            
-            var response = VerifyEmailResponse.builder()
-                    .message("Email verified successfully")
-                    .verified(true)
-                    .build();
-            
-            return ResponseEntity.ok(ApiResponse.success(response));
+            return switch (userService.verifyEmail(request.token)) {
+                case REDEEMED -> EMAIL_VERIFIED.entity();
+                case INVALID -> INVALID_TOKEN.entity();
+                case EXPIRED -> EXPIRED_TOKEN.entity();
+            };
             
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest()
-                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ApiResponse.error("An error occurred during email verification"));
+            return VERIFICATION_FAILED.entity();
         }
     }
 }
@@ -0,0 +1,2 @@
+-- Run by Hibernate only when it generates the schema (tests, load test); MySQL gets these rows from the changelog
+INSERT INTO user_counter (slot, user_count) VALUES (0, 0), (1, 0), (2, 0), (3, 0), (4, 0), (5, 0), (6, 0), (7, 0), (8, 0), (9, 0), (10, 0), (11, 0), (12, 0), (13, 0), (14, 0), (15, 0);
@@ -0,0 +1,74 @@
+package br.com.authentication.benchmark;
+
+import br.com.authentication.service.EmailTemplate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the former String.format email bodies with compiled templates rendered into a reused
+ * builder, at bulk-send volume. Run with: ./gradlew benchmark
+ */
+@Tag("benchmark")
+@DisplayName("Email Template Benchmark")
+class EmailTemplateBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int EMAILS = 1_000_000;
+
+    private static final String FORMAT_BODY = """
+            Hello %s,
+            
+            Thank you for registering with our service. Please click the link below to verify your email address:
+            
+            %s
+            
+            This link will expire in 24 hours.
+            
+            If you did not create an account, please ignore this email.
+            
+            Best regards,
+            The Authentication Team
+            """;
+
+    private static final EmailTemplate TEMPLATE = EmailTemplate.compile(
+            FORMAT_BODY.replaceFirst("%s", "{{fullName}}").replaceFirst("%s", "{{link}}"), false);
+
+    @Test
+    @DisplayName("Compiled templates vs String.format")
+    void compareRendering() {
+        String fullName = "Test User";
+        String link = "http://localhost:3000/verify-email?token=0b9f4a5e-8a3c-4a53-9d53-2f0f6c1d9e7a";
+        assertEquals(String.format(FORMAT_BODY, fullName, link),
+                TEMPLATE.render(Map.of("fullName", fullName, "link", link)));
+
+        run("string-format", WARMUP, fullName, link, false);
+        run("compiled", WARMUP, fullName, link, true);
+        double format = run("string-format", EMAILS, fullName, link, false);
+        double compiled = run("compiled", EMAILS, fullName, link, true);
+        System.out.printf("speedup=%.1fx%n", format / compiled);
+    }
+
+    private static double run(String name, int emails, String fullName, String link, boolean compiled) {
+        StringBuilder out = new StringBuilder(TEMPLATE.estimatedLength());
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < emails; i++) {
+            String body;
+            if (compiled) {
+                out.setLength(0);
+                body = TEMPLATE.render(Map.of("fullName", fullName, "link", link), out).toString();
+            } else {
+                body = String.format(FORMAT_BODY, fullName, link);
+            }
+            checksum += body.length();
+        }
+        double nanosPerEmail = (System.nanoTime() - start) / (double) emails;
+        System.out.printf("%-14s emails=%d ns/email=%.0f checksum=%d%n", name, emails, nanosPerEmail, checksum);
+        return nanosPerEmail;
+    }
+}
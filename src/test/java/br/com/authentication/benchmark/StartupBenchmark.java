@@ -0,0 +1,112 @@
+package br.com.authentication.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Time from process launch to the first answered HTTP request for the plain, CDS and CDS+AOT
+ * startup of the layout built by the cdsArchive task. Each run starts the real application, so
+ * the database environment variables must point at a reachable MySQL.
+ * Run with: ./gradlew [-Paot] startupBenchmark
+ */
+@Tag("benchmark")
+@DisplayName("Startup Benchmark")
+class StartupBenchmark {
+
+    private static final int RUNS = Integer.getInteger("startup.runs", 5);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    @Test
+    @DisplayName("Reports time-to-first-request per startup mode")
+    void compareStartupModes() throws Exception {
+        Path layout = Path.of(System.getProperty("startup.layout", "build/cds"));
+        assumeTrue(Files.exists(layout.resolve("app.jar")) && Files.exists(layout.resolve("app.jsa")),
+                "CDS layout not found, run ./gradlew cdsArchive first");
+
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("plain"));
+        modes.add(new Mode("cds", "-XX:SharedArchiveFile=app.jsa"));
+        if (Boolean.getBoolean("startup.aot")) {
+            modes.add(new Mode("cds+aot", "-XX:SharedArchiveFile=app.jsa", "-Dspring.aot.enabled=true"));
+        }
+
+        for (Mode mode : modes) {
+            long[] millis = new long[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                millis[run] = timeToFirstRequest(layout, mode, run);
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-8s runs=%d min=%dms median=%dms max=%dms%n",
+                    mode.name(), RUNS, millis[0], millis[RUNS / 2], millis[RUNS - 1]);
+        }
+    }
+
+    private long timeToFirstRequest(Path layout, Mode mode, int run) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(List.of(mode.jvmArgs()));
+        command.addAll(List.of("-jar", "app.jar", "--server.port=" + port));
+
+        Path log = layout.resolve("startup-" + mode.name().replace('+', '-') + "-" + run + ".log");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(layout.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                assertTrue(process.isAlive(), () -> mode.name() + " exited during startup, see " + log);
+                try {
+                    // Any status counts: the server accepted and answered a request
+                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                    return (System.nanoTime() - start) / 1_000_000;
+                } catch (IOException e) {
+                    Thread.sleep(POLL_INTERVAL);
+                }
+            }
+            return fail(mode.name() + " did not answer within " + STARTUP_TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Mode(String name, String... jvmArgs) {
+    }
+}
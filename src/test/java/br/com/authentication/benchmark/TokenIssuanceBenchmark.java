@@ -0,0 +1,162 @@
+package br.com.authentication.benchmark;
+
+import br.com.authentication.domain.model.Token;
+import br.com.authentication.domain.model.TokenType;
+import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.model.UserStatus;
+import br.com.authentication.domain.model.id.IdGenerators;
+import br.com.authentication.domain.model.id.TsidGenerator;
+import br.com.authentication.domain.repository.TokenRepository;
+import br.com.authentication.domain.repository.UserRepository;
+import br.com.authentication.service.TokenService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares delete-then-insert token issuance with the single-statement upsert while many
+ * threads issue tokens for the same user. Run with: ./gradlew benchmark
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(TokenService.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:token-bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Token Issuance Benchmark")
+class TokenIssuanceBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int ISSUES_PER_THREAD = 200;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TokenRepository tokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        IdGenerators.use(new TsidGenerator(1));
+        tokenRepository.deleteAll();
+        userRepository.deleteAll();
+        user = userRepository.save(User.builder()
+                .email("bench@example.com")
+                .password("hashedPassword123")
+                .fullName("Bench User")
+                .status(UserStatus.ACTIVE)
+                .emailVerified(true)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Upsert issues one write per token under same-user contention")
+    void compareIssuancePaths() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        Result legacy = run("delete+insert", () -> tx.executeWithoutResult(status -> {
+            tokenRepository.deleteByUserAndType(user, TokenType.PASSWORD_RESET);
+            tokenRepository.save(Token.builder()
+                    .token(UUID.randomUUID().toString())
+                    .type(TokenType.PASSWORD_RESET)
+                    .user(user)
+                    .expiresAt(LocalDateTime.now().plusHours(1))
+                    .build());
+        }));
+
+        Result upsert = run("upsert", () -> tokenService.createToken(user, TokenType.PASSWORD_RESET, 1));
+
+        System.out.println(legacy);
+        System.out.println(upsert);
+
+        assertEquals(0, upsert.failures);
+        assertEquals(1, tokenRepository.count());
+    }
+
+    private Result run(String name, Runnable issue) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ISSUES_PER_THREAD; i++) {
+                        try {
+                            issue.run();
+                        } catch (RuntimeException e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+
+            int attempts = THREADS * ISSUES_PER_THREAD;
+            return new Result(name, attempts, failures.get(),
+                    (double) statistics.getPrepareStatementCount() / attempts,
+                    attempts / (elapsedNanos / 1_000_000_000.0));
+        }
+    }
+
+    private record Result(String name, int attempts, int failures, double statementsPerIssue, double issuesPerSecond) {
+
+        @Override
+        public String toString() {
+            return String.format("%-14s attempts=%d failures=%d statements/issue=%.2f issues/s=%.0f",
+                    name, attempts, failures, statementsPerIssue, issuesPerSecond);
+        }
+    }
+}
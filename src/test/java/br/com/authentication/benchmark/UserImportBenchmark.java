@@ -0,0 +1,110 @@
+package br.com.authentication.benchmark;
+
+import br.com.authentication.domain.model.Role;
+import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.model.UserStatus;
+import br.com.authentication.domain.model.id.IdGenerators;
+import br.com.authentication.domain.model.id.TsidGenerator;
+import br.com.authentication.domain.repository.UserRepository;
+import br.com.authentication.service.IUserImportService.ImportRow;
+import br.com.authentication.service.PasswordHashingService;
+import br.com.authentication.service.UserImportService;
+import br.com.authentication.service.UserSearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Users imported per second through UserImportService, with pre-hashed and raw passwords.
+ * Run with: ./gradlew benchmark
+ */
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({UserImportService.class, UserSearchService.class, UserImportBenchmark.HashingConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("User Import Benchmark")
+class UserImportBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String BCRYPT_HASH = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        IdGenerators.use(new TsidGenerator(1));
+    }
+
+    @Test
+    @DisplayName("Import throughput with pre-hashed and raw passwords")
+    void importThroughput() {
+        userRepository.deleteAll();
+
+        double preHashed = run("pre-hashed", "pre", 50_000, false);
+        double raw = run("raw (cost 10)", "raw", 2_000, true);
+
+        assertEquals(52_000, userRepository.count());
+        System.out.printf("pre-hashed: %.0f users/s, raw: %.0f users/s%n", preHashed, raw);
+    }
+
+    private double run(String name, String prefix, int users, boolean rawPasswords) {
+        long start = System.nanoTime();
+        int imported = 0;
+        List<ImportRow> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < users; i++) {
+            User user = User.builder()
+                    .email(prefix + i + "@example.com")
+                    .password(rawPasswords ? null : BCRYPT_HASH)
+                    .fullName("Imported User " + i)
+                    .status(UserStatus.ACTIVE)
+                    .emailVerified(true)
+                    .roles(Set.of(Role.USER))
+                    .build();
+            batch.add(new ImportRow(i + 1, user, rawPasswords ? "ValidPass123!" : null));
+            if (batch.size() == BATCH_SIZE) {
+                imported += userImportService.importBatch(batch).imported();
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            imported += userImportService.importBatch(batch).imported();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("%-14s imported=%d seconds=%.2f users/s=%.0f%n", name, imported, seconds, imported / seconds);
+        return imported / seconds;
+    }
+
+    @TestConfiguration
+    static class HashingConfig {
+
+        @Bean
+        PasswordHashingService passwordHashingService() {
+            int cores = Runtime.getRuntime().availableProcessors();
+            return new PasswordHashingService(new BCryptPasswordEncoder(10), cores, cores, 256, cores * 2,
+                    Duration.ofSeconds(2), new SimpleMeterRegistry());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.authentication.benchmark;
+
+import br.com.authentication.service.UserPrefixIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Builds the user prefix index over ten million generated users, then measures top-10 prefix
+ * search latency, with and without pending changes, and the compaction of those changes.
+ * Needs a 4 GB heap (set on the benchmark task). Run with: ./gradlew benchmark
+ */
+@Tag("benchmark")
+@DisplayName("User Search Benchmark")
+class UserSearchBenchmark {
+
+    private static final int USERS = 10_000_000;
+    private static final int CHANGES = 50_000;
+    private static final int WARMUP = 200_000;
+    private static final int SEARCHES = 1_000_000;
+    private static final int LIMIT = 10;
+    private static final long PROBE = 4_242_424L;
+
+    private static final String[] FIRST_NAMES = {"Ana", "Bruno", "Carla", "Davi", "Eduardo", "Fernanda", "Gabriel",
+            "Helena", "Igor", "Júlia", "Lucas", "Mariana", "Nicolas", "Olívia", "Pedro", "Rafaela", "Samuel",
+            "Tatiana", "Vinícius", "Yasmin"};
+    private static final String[] LAST_NAMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes",
+            "Soares", "Fernandes", "Vieira", "Barbosa"};
+    private static final List<String> QUERIES = List.of("a", "ana", "mariana.costa12", "silva s", "pedro lima",
+            "yasmin.vieira99", "olivia", "gab", "carla.almeida7", "zz");
+
+    @Test
+    @DisplayName("Top-10 prefix search over ten million users")
+    void searchTenMillionUsers() {
+        UserPrefixIndex index = new UserPrefixIndex();
+        SplittableRandom random = new SplittableRandom(42);
+        String[] probeEmail = new String[1];
+
+        long start = System.nanoTime();
+        index.rebuild(builder -> {
+            for (long id = 1; id <= USERS; id++) {
+                String email = email(random, id);
+                if (id == PROBE) {
+                    probeEmail[0] = email;
+                }
+                builder.add(id, email, fullName(random));
+            }
+        });
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("build: %d users in %d ms, %d keys, segment %d MB, heap used %d MB%n", USERS, buildMillis,
+                index.segmentKeys(), index.segmentBytes() >> 20, (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+        assertEquals(List.of(PROBE), index.search(probeEmail[0], LIMIT));
+
+        search(index, "warmup", WARMUP);
+        search(index, "segment", SEARCHES);
+
+        for (long id = USERS - CHANGES + 1; id <= USERS + CHANGES / 2; id++) {
+            index.put(id, email(random, id), fullName(random));
+        }
+        assertEquals(CHANGES + CHANGES / 2, index.pendingChanges());
+        search(index, "segment+delta", SEARCHES);
+
+        start = System.nanoTime();
+        index.compact();
+        System.out.printf("compact: %d changes in %d ms%n", CHANGES + CHANGES / 2, (System.nanoTime() - start) / 1_000_000);
+        assertEquals(0, index.pendingChanges());
+        search(index, "compacted", SEARCHES);
+    }
+
+    private static void search(UserPrefixIndex index, String name, int searches) {
+        long[] nanos = new long[searches];
+        long found = 0;
+        for (int i = 0; i < searches; i++) {
+            String query = QUERIES.get(i % QUERIES.size());
+            long start = System.nanoTime();
+            found += index.search(query, LIMIT).size();
+            nanos[i] = System.nanoTime() - start;
+        }
+        assertFalse(found == 0);
+        Arrays.sort(nanos);
+        System.out.printf("%s: p50=%.1fus p99=%.1fus p99.9=%.1fus%n", name, nanos[searches / 2] / 1e3,
+                nanos[searches * 99 / 100] / 1e3, nanos[searches * 999 / 1000] / 1e3);
+    }
+
+    private static String email(SplittableRandom random, long id) {
+        return (FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + "." + LAST_NAMES[random.nextInt(LAST_NAMES.length)]
+                + id + "@example.com").toLowerCase();
+    }
+
+    private static String fullName(SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)]
+                + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.authentication.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BCryptCostCalibrator Tests")
+class BCryptCostCalibratorTest {
+
+    @Test
+    @DisplayName("Should fall back to the minimum cost when the target cannot be met")
+    void shouldFallBackToMinimumCost() {
+        // Given
+        BCryptCostCalibrator calibrator = new BCryptCostCalibrator(Duration.ofNanos(1), 4, 6, 1);
+
+        // When & Then
+        assertEquals(4, calibrator.calibrate());
+    }
+
+    @Test
+    @DisplayName("Should not exceed the maximum cost for a generous target")
+    void shouldNotExceedMaximumCost() {
+        // Given
+        BCryptCostCalibrator calibrator = new BCryptCostCalibrator(Duration.ofMinutes(1), 4, 5, 1);
+
+        // When & Then
+        assertEquals(5, calibrator.calibrate());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid cost bounds")
+    void shouldRejectInvalidCostBounds() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BCryptCostCalibrator(Duration.ofMillis(250), 12, 10, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BCryptCostCalibrator(Duration.ofMillis(250), 3, 10, 1));
+    }
+}
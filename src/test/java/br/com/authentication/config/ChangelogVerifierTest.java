@@ -0,0 +1,96 @@
+package br.com.authentication.config;
+
+import br.com.authentication.config.ChangelogVerifier.AppliedChangeSet;
+import liquibase.ChecksumVersion;
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import liquibase.resource.ResourceAccessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ChangelogVerifier Tests")
+class ChangelogVerifierTest {
+
+    private static final String CHANGE_LOG = "db/changelog/db.changelog-master.yaml";
+
+    private DatabaseChangeLog changeLog;
+    private List<AppliedChangeSet> applied;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (ResourceAccessor resourceAccessor = new ClassLoaderResourceAccessor()) {
+            changeLog = ChangeLogParserFactory.getInstance().getParser(CHANGE_LOG, resourceAccessor)
+                    .parse(CHANGE_LOG, new ChangeLogParameters(), resourceAccessor);
+        }
+        applied = new ArrayList<>();
+        for (ChangeSet changeSet : changeLog.getChangeSets()) {
+            applied.add(new AppliedChangeSet(changeSet.getId(), changeSet.getAuthor(),
+                    changeSet.generateCheckSum(ChecksumVersion.latest()).toString()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept a database with every changeset applied unchanged")
+    void shouldAcceptFullyAppliedChangeLog() {
+        // When
+        int verified = ChangelogVerifier.verify(changeLog, applied);
+
+        // Then
+        assertEquals(changeLog.getChangeSets().size(), verified);
+    }
+
+    @Test
+    @DisplayName("Should fail when a changeset has not been applied")
+    void shouldFailOnPendingChangeSet() {
+        // Given
+        AppliedChangeSet last = applied.remove(applied.size() - 1);
+
+        // When / Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> ChangelogVerifier.verify(changeLog, applied));
+        assertTrue(exception.getMessage().contains("pending: [" + last.id() + "]"));
+    }
+
+    @Test
+    @DisplayName("Should fail when an applied changeset was modified")
+    void shouldFailOnModifiedChangeSet() {
+        // Given
+        AppliedChangeSet first = applied.get(0);
+        applied.set(0, new AppliedChangeSet(first.id(), first.author(), "9:00000000000000000000000000000000"));
+
+        // When / Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> ChangelogVerifier.verify(changeLog, applied));
+        assertTrue(exception.getMessage().contains("modified: [" + first.id() + "]"));
+    }
+
+    @Test
+    @DisplayName("Should accept changesets applied by a newer release")
+    void shouldAcceptUnknownAppliedChangeSets() {
+        // Given
+        applied.add(new AppliedChangeSet("vinicius-29991231-01", "vinicius", "9:00000000000000000000000000000000"));
+
+        // When / Then
+        assertDoesNotThrow(() -> ChangelogVerifier.verify(changeLog, applied));
+    }
+
+    @Test
+    @DisplayName("Should accept a cleared checksum")
+    void shouldAcceptClearedCheckSum() {
+        // Given
+        AppliedChangeSet first = applied.get(0);
+        applied.set(0, new AppliedChangeSet(first.id(), first.author(), null));
+
+        // When / Then
+        assertDoesNotThrow(() -> ChangelogVerifier.verify(changeLog, applied));
+    }
+}
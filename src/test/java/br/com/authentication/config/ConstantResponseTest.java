@@ -0,0 +1,76 @@
+package br.com.authentication.config;
+
+import br.com.authentication.usecase.user.create.endpoint.SaveUserEndpoint.ApiResponse;
+import br.com.authentication.usecase.user.password.contract.PasswordResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConstantResponse Tests")
+class ConstantResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should serialize error bodies exactly like ApiResponse")
+    void shouldSerializeErrorLikeApiResponse() throws Exception {
+        // Given
+        ConstantResponse response = ConstantResponse.error(HttpStatus.UNAUTHORIZED, "Invalid email or password");
+
+        // When
+        ResponseEntity<byte[]> entity = response.entity();
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, entity.getStatusCode());
+        assertArrayEquals(objectMapper.writeValueAsBytes(ApiResponse.error("Invalid email or password")), entity.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, entity.getHeaders().getContentType());
+        assertEquals(entity.getBody().length, entity.getHeaders().getContentLength());
+    }
+
+    @Test
+    @DisplayName("Should serialize success bodies exactly like ApiResponse")
+    void shouldSerializeSuccessLikeApiResponse() throws Exception {
+        // Given
+        PasswordResponse data = PasswordResponse.builder().message("Password reset successfully").build();
+
+        // When
+        ResponseEntity<byte[]> entity = ConstantResponse.success(HttpStatus.OK, data).entity();
+
+        // Then
+        assertArrayEquals(objectMapper.writeValueAsBytes(ApiResponse.success(data)), entity.getBody());
+    }
+
+    @Test
+    @DisplayName("Should serve the same entity on every call")
+    void shouldReuseEntity() {
+        // Given
+        ConstantResponse response = ConstantResponse.error(HttpStatus.FORBIDDEN, "Access denied");
+
+        // When / Then
+        assertSame(response.entity(), response.entity());
+        assertThrows(UnsupportedOperationException.class, () -> response.entity().getHeaders().set("X-Test", "1"));
+    }
+
+    @Test
+    @DisplayName("Should write status, headers and body to a servlet response")
+    void shouldWriteToServletResponse() throws Exception {
+        // Given
+        ConstantResponse response = ConstantResponse.error(HttpStatus.CONFLICT, "Still processing");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        // When
+        response.writeTo(servletResponse);
+
+        // Then
+        assertEquals(409, servletResponse.getStatus());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, servletResponse.getContentType());
+        assertEquals("{\"data\":null,\"error\":\"Still processing\",\"success\":false}", servletResponse.getContentAsString());
+        assertEquals(servletResponse.getContentAsByteArray().length, servletResponse.getContentLength());
+    }
+}
@@ -0,0 +1,174 @@
+package br.com.authentication.config;
+
+import br.com.authentication.config.IdempotencyConfig.IdempotencyFilter;
+import br.com.authentication.service.IIdempotencyService;
+import br.com.authentication.service.IIdempotencyService.Claim;
+import br.com.authentication.service.IIdempotencyService.StoredResponse;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyFilter Tests")
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"email\":\"test@example.com\"}";
+
+    @Mock
+    private IIdempotencyService idempotencyService;
+
+    private IdempotencyFilter filter;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(idempotencyService, 1024);
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should pass requests without an Idempotency-Key straight through")
+    void shouldIgnoreRequestsWithoutKey() throws Exception {
+        // Given
+        MockHttpServletRequest request = request(null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, chain(201));
+
+        // Then
+        assertEquals(1, executions.get());
+        verifyNoInteractions(idempotencyService);
+    }
+
+    @Test
+    @DisplayName("Should execute once and store the response of a new key")
+    void shouldStoreResponseOfNewKey() throws Exception {
+        // Given
+        when(idempotencyService.begin(anyString(), anyString())).thenReturn(new Claim.Acquired());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("retry-1"), response, chain(201));
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(201, response.getStatus());
+        assertEquals("{\"echo\":" + BODY + "}", response.getContentAsString());
+        ArgumentCaptor<StoredResponse> stored = ArgumentCaptor.forClass(StoredResponse.class);
+        verify(idempotencyService).complete(anyString(), anyString(), stored.capture());
+        assertEquals(201, stored.getValue().status());
+        assertEquals(response.getContentAsString(), new String(stored.getValue().body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response without executing the endpoint")
+    void shouldReplayStoredResponse() throws Exception {
+        // Given
+        StoredResponse stored = new StoredResponse(201, "application/json", "{\"success\":true}".getBytes(StandardCharsets.UTF_8));
+        when(idempotencyService.begin(anyString(), anyString())).thenReturn(new Claim.Replay(stored));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("retry-1"), response, chain(201));
+
+        // Then
+        assertEquals(0, executions.get());
+        assertEquals(201, response.getStatus());
+        assertEquals("{\"success\":true}", response.getContentAsString());
+        assertEquals("true", response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different body")
+    void shouldRejectMismatch() throws Exception {
+        // Given
+        when(idempotencyService.begin(anyString(), anyString())).thenReturn(new Claim.Mismatch());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("retry-1"), response, chain(201));
+
+        // Then
+        assertEquals(0, executions.get());
+        assertEquals(422, response.getStatus());
+        assertTrue(response.getContentAsString().contains("\"success\":false"));
+    }
+
+    @Test
+    @DisplayName("Should not store server errors so the retry executes again")
+    void shouldAbandonServerErrors() throws Exception {
+        // Given
+        when(idempotencyService.begin(anyString(), anyString())).thenReturn(new Claim.Acquired());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request("retry-1"), response, chain(503));
+
+        // Then
+        assertEquals(503, response.getStatus());
+        verify(idempotencyService, never()).complete(anyString(), anyString(), any());
+        verify(idempotencyService).abandon(anyString());
+    }
+
+    @Test
+    @DisplayName("Should derive the same key and fingerprint for identical retries")
+    void shouldHashKeyAndBodyConsistently() throws Exception {
+        // Given
+        when(idempotencyService.begin(anyString(), anyString())).thenReturn(new Claim.Mismatch());
+
+        // When
+        filter.doFilter(request("retry-1"), new MockHttpServletResponse(), chain(201));
+        filter.doFilter(request("retry-1"), new MockHttpServletResponse(), chain(201));
+
+        // Then
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> fingerprints = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyService, times(2)).begin(keys.capture(), fingerprints.capture());
+        assertEquals(keys.getAllValues().get(0), keys.getAllValues().get(1));
+        assertEquals(fingerprints.getAllValues().get(0), fingerprints.getAllValues().get(1));
+        assertEquals(64, keys.getValue().length());
+    }
+
+    private static MockHttpServletRequest request(String idempotencyKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/register");
+        request.setContentType("application/json");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        if (idempotencyKey != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        return request;
+    }
+
+    // Echoes the request body, which also checks that the filter hands the consumed body on
+    private MockFilterChain chain(int status) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                executions.incrementAndGet();
+                String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                response.setStatus(status);
+                response.setContentType("application/json");
+                response.getWriter().write("{\"echo\":" + body + "}");
+            }
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.authentication.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PublicRoutes Tests")
+class PublicRoutesTest {
+
+    private final PublicRoutes routes = SecurityConfig.PUBLIC_ROUTES;
+
+    @Nested
+    @DisplayName("Application Route Tests")
+    class ApplicationRouteTests {
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+                "/api/auth/login",
+                "/api/auth/register",
+                "/api/auth/verify-email",
+                "/api/auth/forgot-password",
+                "/api/auth/reset-password",
+                "/api/auth/oauth2/success",
+                "/oauth2/authorization/google",
+                "/login/oauth2/code/google",
+                "/swagger-ui.html",
+                "/swagger-ui/index.html",
+                "/v3/api-docs",
+                "/v3/api-docs/swagger-config"
+        })
+        @DisplayName("Should classify public routes as public")
+        void shouldMatchPublicRoutes(String path) {
+            assertTrue(routes.matches(path));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+                "/",
+                "",
+                "/api",
+                "/api/user/profile",
+                "/api/authx/login",
+                "/api/admin/users/import",
+                "/api/admin/users",
+                "/api/admin/users/search",
+                "/api/admin/users/count/reconcile",
+                "/swagger-ui.html/",
+                "/swagger-ui.htmlx",
+                "/v3/api",
+                "/actuator/prometheus"
+        })
+        @DisplayName("Should classify every other route as protected")
+        void shouldNotMatchProtectedRoutes(String path) {
+            assertFalse(routes.matches(path));
+        }
+    }
+
+    @Nested
+    @DisplayName("Pattern Tests")
+    class PatternTests {
+
+        @Test
+        @DisplayName("Should match a single segment wildcard only for one non-empty segment")
+        void shouldMatchSingleSegmentWildcard() {
+            // Given
+            PublicRoutes wildcard = PublicRoutes.compile("/api/*/status", "/api/users/me");
+
+            // When / Then
+            assertTrue(wildcard.matches("/api/orders/status"));
+            assertTrue(wildcard.matches("/api/users/status"));
+            assertTrue(wildcard.matches("/api/users/me"));
+            assertFalse(wildcard.matches("/api//status"));
+            assertFalse(wildcard.matches("/api/orders/items/status"));
+            assertFalse(wildcard.matches("/api/orders"));
+        }
+
+        @Test
+        @DisplayName("Should ignore the context path and path parameters of a request")
+        void shouldMatchRequestWithinContextPath() {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth-api/api/auth/login;jsessionid=abc");
+            request.setContextPath("/auth-api");
+
+            // When / Then
+            assertTrue(routes.matches(request));
+            assertTrue(routes.requestMatcher().matches(request));
+        }
+
+        @Test
+        @DisplayName("Should reject '**' before the end of a pattern")
+        void shouldRejectInnerDoubleWildcard() {
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> PublicRoutes.compile("/api/**/status"));
+            assertThrows(IllegalArgumentException.class, () -> PublicRoutes.compile("api/auth/**"));
+        }
+    }
+}
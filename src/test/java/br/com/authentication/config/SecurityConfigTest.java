@@ -0,0 +1,48 @@
+package br.com.authentication.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SecurityConfig Tests")
+class SecurityConfigTest {
+
+    @Nested
+    @DisplayName("Actuator CSRF Tests")
+    class ActuatorCsrfTests {
+
+        @Test
+        @DisplayName("Should require a token for actuator writes without the custom header")
+        void shouldProtectWritesWithoutHeader() {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/actuator/jfr");
+
+            // When / Then
+            assertTrue(SecurityConfig.ACTUATOR_CSRF_MATCHER.matches(request));
+        }
+
+        @Test
+        @DisplayName("Should accept actuator writes that carry the custom header")
+        void shouldAcceptWritesWithHeader() {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/actuator/jfr");
+            request.addHeader(SecurityConfig.ACTUATOR_WRITE_HEADER, "curl");
+
+            // When / Then
+            assertFalse(SecurityConfig.ACTUATOR_CSRF_MATCHER.matches(request));
+        }
+
+        @Test
+        @DisplayName("Should never require a token for reads")
+        void shouldNotProtectReads() {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/jfr");
+
+            // When / Then
+            assertFalse(SecurityConfig.ACTUATOR_CSRF_MATCHER.matches(request));
+        }
+    }
+}
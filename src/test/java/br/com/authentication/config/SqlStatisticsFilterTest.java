@@ -0,0 +1,167 @@
+package br.com.authentication.config;
+
+import br.com.authentication.config.SqlStatisticsConfig.CountingStatementInspector;
+import br.com.authentication.config.SqlStatisticsConfig.SqlStatistics;
+import br.com.authentication.config.SqlStatisticsConfig.SqlStatisticsCallableInterceptor;
+import br.com.authentication.config.SqlStatisticsConfig.SqlStatisticsFilter;
+import br.com.authentication.config.SqlStatisticsConfig.StreamingHandlerInterceptor;
+import br.com.authentication.service.AuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SqlStatisticsFilter Tests")
+class SqlStatisticsFilterTest {
+
+    private final SqlStatisticsFilter filter = new SqlStatisticsFilter(new SimpleMeterRegistry(), true);
+    private final CountingStatementInspector inspector = new CountingStatementInspector();
+
+    @Nested
+    @DisplayName("Response Header Tests")
+    class ResponseHeaderTests {
+
+        @Test
+        @DisplayName("Should buffer a regular body and report its statements in headers")
+        void shouldReportStatementsForRegularBody() throws Exception {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/profile");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            // When
+            filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+                @Override
+                protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                    inspector.inspect("select * from users where id = ?");
+                    res.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+                }
+            }));
+
+            // Then
+            assertEquals("1", response.getHeader(SqlStatisticsFilter.STATEMENTS_HEADER));
+            assertNotNull(response.getHeader(SqlStatisticsFilter.SERVER_TIMING_HEADER));
+            assertEquals("{}", response.getContentAsString());
+        }
+
+        @Test
+        @DisplayName("Should write a streaming body straight through, without headers")
+        void shouldNotBufferStreamingBody() throws Exception {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/users");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            String[] writtenBeforeCompletion = {null};
+
+            // When
+            filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+                @Override
+                protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                    req.setAttribute(SqlStatisticsFilter.STREAMING_ATTRIBUTE, Boolean.TRUE);
+                    inspector.inspect("select * from users");
+                    res.getOutputStream().write("{\"data\":{}}\n".getBytes(StandardCharsets.UTF_8));
+                    res.getOutputStream().flush();
+                    writtenBeforeCompletion[0] = response.getContentAsString();
+                }
+            }));
+
+            // Then
+            assertEquals("{\"data\":{}}\n", writtenBeforeCompletion[0]);
+            assertEquals("{\"data\":{}}\n", response.getContentAsString());
+            assertNull(response.getHeader(SqlStatisticsFilter.STATEMENTS_HEADER));
+            assertEquals(1, ((SqlStatistics) request.getAttribute(SqlStatistics.ATTRIBUTE)).statements());
+        }
+
+        @Test
+        @DisplayName("Should tag non-standard HTTP methods as UNKNOWN")
+        void shouldNotTagInventedMethods() throws Exception {
+            // Given
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            SqlStatisticsFilter tagging = new SqlStatisticsFilter(registry, false);
+
+            // When
+            tagging.doFilter(new MockHttpServletRequest("FOO1", "/api/user/profile"), new MockHttpServletResponse(),
+                    new MockFilterChain());
+            tagging.doFilter(new MockHttpServletRequest("FOO2", "/api/user/profile"), new MockHttpServletResponse(),
+                    new MockFilterChain());
+            tagging.doFilter(new MockHttpServletRequest("GET", "/api/user/profile"), new MockHttpServletResponse(),
+                    new MockFilterChain());
+
+            // Then
+            assertEquals(2, registry.get(AuthMetrics.SQL_STATEMENTS).tag("method", "UNKNOWN").summary().count());
+            assertEquals(1, registry.get(AuthMetrics.SQL_STATEMENTS).tag("method", "GET").summary().count());
+            assertEquals(2, registry.get(AuthMetrics.SQL_STATEMENTS).summaries().size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Async Tests")
+    class AsyncTests {
+
+        @Test
+        @DisplayName("Should count statements of a streaming body on the thread that writes it")
+        void shouldBindTallyOnAsyncThread() {
+            // Given
+            SqlStatistics statistics = new SqlStatistics();
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/admin/users/import");
+            request.setAttribute(SqlStatistics.ATTRIBUTE, statistics);
+            ServletWebRequest webRequest = new ServletWebRequest(request);
+            SqlStatisticsCallableInterceptor interceptor = new SqlStatisticsCallableInterceptor();
+            Callable<Void> task = () -> null;
+
+            // When
+            CompletableFuture.runAsync(() -> {
+                interceptor.preProcess(webRequest, task);
+                inspector.inspect("insert into users values (?)");
+                interceptor.postProcess(webRequest, task, null);
+                inspector.inspect("select 1");
+            }).join();
+
+            // Then
+            assertEquals(1, statistics.statements());
+            assertEquals(1, statistics.writes());
+        }
+
+        @Test
+        @DisplayName("Should flag handlers that stream their body")
+        void shouldDetectStreamingHandlers() throws Exception {
+            // Given
+            Handlers handlers = new Handlers();
+
+            // When & Then
+            assertTrue(StreamingHandlerInterceptor.streams(new HandlerMethod(handlers, "entity")));
+            assertTrue(StreamingHandlerInterceptor.streams(new HandlerMethod(handlers, "body")));
+            assertFalse(StreamingHandlerInterceptor.streams(new HandlerMethod(handlers, "json")));
+        }
+    }
+
+    static class Handlers {
+
+        public ResponseEntity<StreamingResponseBody> entity() {
+            return ResponseEntity.ok(out -> { });
+        }
+
+        public StreamingResponseBody body() {
+            return out -> { };
+        }
+
+        public ResponseEntity<String> json() {
+            return ResponseEntity.ok("{}");
+        }
+    }
+}
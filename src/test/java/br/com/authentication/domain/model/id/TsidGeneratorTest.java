@@ -0,0 +1,140 @@
+package br.com.authentication.domain.model.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TsidGenerator Tests")
+class TsidGeneratorTest {
+
+    @Nested
+    @DisplayName("Id Layout Tests")
+    class IdLayoutTests {
+
+        @Test
+        @DisplayName("Should encode the node id and the current timestamp")
+        void shouldEncodeNodeAndTimestamp() {
+            // Given
+            TsidGenerator generator = new TsidGenerator(42);
+            Instant before = Instant.now().minusMillis(1);
+
+            // When
+            long id = generator.nextId();
+
+            // Then
+            assertTrue(id > 0);
+            assertEquals(42, (id >>> TsidGenerator.SEQUENCE_BITS) & TsidGenerator.MAX_NODE);
+            Instant timestamp = TsidGenerator.timestampOf(id);
+            assertFalse(timestamp.isBefore(before));
+            assertFalse(timestamp.isAfter(Instant.now()));
+        }
+
+        @Test
+        @DisplayName("Should reject node ids outside the node range")
+        void shouldRejectInvalidNode() {
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> new TsidGenerator(-1));
+            assertThrows(IllegalArgumentException.class, () -> new TsidGenerator(TsidGenerator.MAX_NODE + 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Ordering Tests")
+    class OrderingTests {
+
+        @Test
+        @DisplayName("Should issue strictly increasing ids within the same millisecond")
+        void shouldIncreaseWithinSameMillisecond() {
+            // Given
+            TsidGenerator generator = fixedClock(1_000_000L);
+
+            // When
+            long first = generator.nextId();
+            long second = generator.nextId();
+
+            // Then
+            assertEquals(first + 1, second);
+        }
+
+        @Test
+        @DisplayName("Should keep increasing when the clock goes backwards")
+        void shouldIncreaseWhenClockGoesBackwards() {
+            // Given
+            long[] now = {TsidGenerator.EPOCH.toEpochMilli() + 2_000_000L};
+            TsidGenerator generator = new TsidGenerator(1) {
+                @Override
+                protected long currentTimeMillis() {
+                    return now[0];
+                }
+            };
+            long first = generator.nextId();
+
+            // When
+            now[0] -= 5_000;
+            long second = generator.nextId();
+
+            // Then
+            assertTrue(second > first);
+        }
+
+        @Test
+        @DisplayName("Should issue unique ids across concurrent callers")
+        void shouldIssueUniqueIdsConcurrently() throws Exception {
+            // Given
+            TsidGenerator generator = new TsidGenerator(7);
+            int threads = 8;
+            int perThread = 20_000;
+            Set<Long> ids = ConcurrentHashMap.newKeySet();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+            // When
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        long previous = 0;
+                        for (int i = 0; i < perThread; i++) {
+                            long id = generator.nextId();
+                            assertTrue(id > previous);
+                            previous = id;
+                            ids.add(id);
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            // Then
+            assertEquals(threads * perThread, ids.size());
+        }
+    }
+
+    private static TsidGenerator fixedClock(long millis) {
+        return new TsidGenerator(1) {
+            @Override
+            protected long currentTimeMillis() {
+                return TsidGenerator.EPOCH.toEpochMilli() + millis;
+            }
+        };
+    }
+}
@@ -3,6 +3,11 @@ package br.com.authentication.domain.repository;
 import br.com.authentication.domain.model.ExternalProvider;
 import br.com.authentication.domain.model.User;
 import br.com.authentication.domain.model.UserStatus;
+import br.com.authentication.domain.model.id.IdGenerators;
+import br.com.authentication.domain.model.id.TsidGenerator;
+import br.com.authentication.domain.repository.UserRepositoryCustom.PasswordUpgrade;
+import br.com.authentication.domain.repository.UserRepositoryCustom.UserListFilter;
+import br.com.authentication.domain.repository.UserRepositoryCustom.UserSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,6 +18,9 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +40,7 @@ class UserRepositoryTest {
 
     @BeforeEach
     void setUp() {
+        IdGenerators.use(new TsidGenerator(1));
         testUser = User.builder()
                 .email("test@example.com")
                 .password("hashedPassword123")
@@ -263,6 +272,8 @@ class UserRepositoryTest {
                     .emailVerified(savedUser.emailVerified)
                     .createdAt(savedUser.createdAt)
                     .updatedAt(LocalDateTime.now())
+                    // A detached copy carries the version it was read at, or it is taken for a new user
+                    .version(savedUser.version)
                     .build();
 
             // When
@@ -350,6 +361,186 @@ class UserRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("Password Upgrade Tests")
+    class PasswordUpgradeTests {
+
+        @Test
+        @DisplayName("Should upgrade a hash that is still the verified one")
+        void shouldUpgradeVerifiedHash() {
+            // Given
+            User saved = entityManager.persistAndFlush(testUser);
+
+            // When
+            int upgraded = userRepository.updateUserPasswords(
+                    Map.of(saved.id, new PasswordUpgrade("hashedPassword123", "upgradedHash")));
+
+            // Then
+            assertEquals(1, upgraded);
+            entityManager.clear();
+            assertEquals("upgradedHash", userRepository.findById(saved.id).orElseThrow().password);
+        }
+
+        @Test
+        @DisplayName("Should keep a password changed after the verified hash was read")
+        void shouldNotOverwriteChangedPassword() {
+            // Given
+            User saved = entityManager.persistAndFlush(testUser);
+            saved.password = "resetHash";
+            entityManager.persistAndFlush(saved);
+
+            // When
+            int upgraded = userRepository.updateUserPasswords(
+                    Map.of(saved.id, new PasswordUpgrade("hashedPassword123", "rehashOfOldPassword")));
+
+            // Then
+            assertEquals(0, upgraded);
+            entityManager.clear();
+            assertEquals("resetHash", userRepository.findById(saved.id).orElseThrow().password);
+        }
+    }
+
+    @Nested
+    @DisplayName("User Listing Tests")
+    class UserListingTests {
+
+        private static final UserListFilter NO_FILTER = new UserListFilter(null, null, null);
+
+        private User persist(String email, UserStatus status, ExternalProvider provider) {
+            return entityManager.persistAndFlush(User.builder()
+                    .email(email)
+                    .password("hashedPassword123")
+                    .fullName("Listed User")
+                    .status(status)
+                    .emailVerified(true)
+                    .externalProvider(provider)
+                    .externalProviderId(provider != null ? email : null)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+
+        private List<UserSummary> page(UserListFilter filter, long afterId, int limit) {
+            List<UserSummary> users = new ArrayList<>();
+            int count = userRepository.forEachUser(filter, afterId, limit, users::add);
+            assertEquals(users.size(), count);
+            return users;
+        }
+
+        private List<UserSummary> pageByEmail(UserListFilter filter, String afterEmail, int limit) {
+            List<UserSummary> users = new ArrayList<>();
+            int count = userRepository.forEachUserByEmail(filter, afterEmail, limit, users::add);
+            assertEquals(users.size(), count);
+            return users;
+        }
+
+        @Test
+        @DisplayName("Should page through users in id order from the last id seen")
+        void shouldPageThroughUsersByKeyset() {
+            // Given
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                ids.add(persist("user" + i + "@example.com", UserStatus.ACTIVE, null).id);
+            }
+            ids.sort(Long::compare);
+
+            // When
+            List<UserSummary> first = page(NO_FILTER, 0, 2);
+            List<UserSummary> second = page(NO_FILTER, first.get(1).id(), 2);
+            List<UserSummary> last = page(NO_FILTER, second.get(1).id(), 2);
+
+            // Then
+            assertEquals(ids.subList(0, 2), first.stream().map(UserSummary::id).toList());
+            assertEquals(ids.subList(2, 4), second.stream().map(UserSummary::id).toList());
+            assertEquals(ids.subList(4, 5), last.stream().map(UserSummary::id).toList());
+        }
+
+        @Test
+        @DisplayName("Should filter by status, provider and literal email prefix")
+        void shouldFilterUsers() {
+            // Given
+            persist("ana@example.com", UserStatus.ACTIVE, null);
+            persist("ana_b@example.com", UserStatus.LOCKED, ExternalProvider.GOOGLE);
+            persist("anaxb@example.com", UserStatus.ACTIVE, ExternalProvider.GOOGLE);
+            persist("bruno@example.com", UserStatus.ACTIVE, ExternalProvider.FACEBOOK);
+
+            // When
+            List<UserSummary> locked = page(new UserListFilter(UserStatus.LOCKED, null, null), 0, 10);
+            List<UserSummary> google = page(new UserListFilter(null, ExternalProvider.GOOGLE, null), 0, 10);
+            List<UserSummary> prefixed = pageByEmail(new UserListFilter(null, null, "ana_"), null, 10);
+            List<UserSummary> combined = pageByEmail(new UserListFilter(UserStatus.ACTIVE, ExternalProvider.GOOGLE, "ana"), null, 10);
+
+            // Then
+            assertEquals(List.of("ana_b@example.com"), locked.stream().map(UserSummary::email).toList());
+            assertEquals(2, google.size());
+            assertEquals(List.of("ana_b@example.com"), prefixed.stream().map(UserSummary::email).toList());
+            assertEquals(List.of("anaxb@example.com"), combined.stream().map(UserSummary::email).toList());
+            assertEquals(ExternalProvider.GOOGLE, combined.get(0).externalProvider());
+        }
+
+        @Test
+        @DisplayName("Should page through an email prefix in email order from the last email seen")
+        void shouldPageThroughEmailPrefixByEmail() {
+            // Given
+            persist("carla@example.com", UserStatus.ACTIVE, null);
+            persist("ana.c@example.com", UserStatus.ACTIVE, null);
+            persist("ana.a@example.com", UserStatus.ACTIVE, null);
+            persist("bruno@example.com", UserStatus.ACTIVE, null);
+            persist("ana.b@example.com", UserStatus.ACTIVE, null);
+            UserListFilter filter = new UserListFilter(null, null, "ana.");
+
+            // When
+            List<UserSummary> first = pageByEmail(filter, null, 2);
+            List<UserSummary> last = pageByEmail(filter, first.get(1).email(), 2);
+
+            // Then
+            assertEquals(List.of("ana.a@example.com", "ana.b@example.com"), first.stream().map(UserSummary::email).toList());
+            assertEquals(List.of("ana.c@example.com"), last.stream().map(UserSummary::email).toList());
+        }
+
+        @Test
+        @DisplayName("Should refuse to page an email prefix by id")
+        void shouldRejectEmailPrefixInIdOrder() {
+            // When & Then
+            assertThrows(IllegalArgumentException.class,
+                    () -> page(new UserListFilter(null, null, "ana"), 0, 10));
+        }
+
+        @Test
+        @DisplayName("Should sum the user counter slots")
+        void shouldMaintainApproximateUserCount() {
+            // Given
+            long before = userRepository.approximateUserCount();
+
+            // When
+            for (int i = 0; i < 20; i++) {
+                userRepository.adjustUserCount(1);
+            }
+            userRepository.adjustUserCount(-3);
+
+            // Then
+            assertEquals(before + 17, userRepository.approximateUserCount());
+        }
+
+        @Test
+        @DisplayName("Should fold the users missing from the counter into it")
+        void shouldReconcileUserCount() {
+            // Given
+            userRepository.reconcileUserCount();
+            persist("missed1@example.com", UserStatus.ACTIVE, null);
+            persist("missed2@example.com", UserStatus.ACTIVE, null);
+            persist("counted@example.com", UserStatus.ACTIVE, null);
+            userRepository.adjustUserCount(1);
+
+            // When
+            long drift = userRepository.reconcileUserCount();
+
+            // Then
+            assertEquals(2, drift);
+            assertEquals(userRepository.count(), userRepository.approximateUserCount());
+            assertEquals(0, userRepository.reconcileUserCount());
+        }
+    }
+
     @Nested
     @DisplayName("Email Uniqueness Tests")
     class EmailUniquenessTests {
@@ -0,0 +1,138 @@
+package br.com.authentication.integration;
+
+import br.com.authentication.TestConfig;
+import br.com.authentication.domain.model.Role;
+import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.model.UserStatus;
+import br.com.authentication.domain.repository.EmailOutboxRepository;
+import br.com.authentication.domain.repository.UserRepository;
+import br.com.authentication.service.IEmailService;
+import br.com.authentication.service.IJwtService;
+import br.com.authentication.util.QueryBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * SQL statement budgets of the hot endpoints. Not @Transactional, so each request flushes and
+ * commits its own writes exactly as in production. A budget only goes down: raise one only with
+ * the reason in the commit that does it.
+ */
+@SpringBootTest(classes = br.com.authentication.AuthenticationApiApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@DisplayName("Query Budget Integration Tests")
+class QueryBudgetIntegrationTest {
+
+    private static final String PASSWORD = "ValidPass123!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private IJwtService jwtService;
+
+    @MockBean
+    private IEmailService emailService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxRepository.deleteAll();
+        userRepository.deleteAll();
+        user = userRepository.save(User.builder()
+                .email("budget@example.com")
+                .password(passwordEncoder.encode(PASSWORD))
+                .fullName("Budget User")
+                .status(UserStatus.ACTIVE)
+                .emailVerified(true)
+                .roles(Set.of(Role.USER))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailOutboxRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Registration: email check, user, roles, outbox message and user counter")
+    void registrationBudget() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {
+                                "email": "new@example.com",
+                                "password": "ValidPass123!",
+                                "confirmPassword": "ValidPass123!",
+                                "fullName": "New User"
+                            }
+                            """))
+                .andExpect(status().isCreated())
+                .andExpect(QueryBudget.selectsAtMost(1))
+                .andExpect(QueryBudget.atMost(5));
+    }
+
+    @Test
+    @DisplayName("Login: user and roles lookup only")
+    void loginBudget() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"budget@example.com\", \"password\": \"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(2));
+    }
+
+    @Test
+    @DisplayName("Profile read: the JWT filter's user lookup only")
+    void profileReadBudget() throws Exception {
+        mockMvc.perform(get("/api/user/profile")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(user)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Sql-Statements"))
+                .andExpect(header().exists("Server-Timing"))
+                .andExpect(QueryBudget.atMost(2));
+    }
+
+    @Test
+    @DisplayName("Profile update: user lookup and one targeted update")
+    void profileUpdateBudget() throws Exception {
+        mockMvc.perform(put("/api/user/profile")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(user))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fullName\": \"Renamed User\", \"phone\": \"+5511999999999\"}"))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.writesAtMost(1))
+                .andExpect(QueryBudget.atMost(3));
+    }
+}
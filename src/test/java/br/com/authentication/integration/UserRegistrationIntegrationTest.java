@@ -1,8 +1,12 @@
 package br.com.authentication.integration;
 
 import br.com.authentication.TestConfig;
+import br.com.authentication.domain.model.EmailOutbox;
+import br.com.authentication.domain.model.EmailType;
+import br.com.authentication.domain.model.OutboxStatus;
 import br.com.authentication.domain.model.User;
 import br.com.authentication.domain.model.UserStatus;
+import br.com.authentication.domain.repository.EmailOutboxRepository;
 import br.com.authentication.domain.repository.UserRepository;
 import br.com.authentication.service.IEmailService;
 import br.com.authentication.service.IJwtService;
@@ -22,6 +26,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,6 +51,9 @@ class UserRegistrationIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
     @MockBean
     private IEmailService emailService;
 
@@ -57,6 +65,7 @@ class UserRegistrationIntegrationTest {
     @BeforeEach
     void setUp() {
         // Clear database before each test
+        emailOutboxRepository.deleteAll();
         userRepository.deleteAll();
 
         validRegistrationJson = """
@@ -100,8 +109,13 @@ class UserRegistrationIntegrationTest {
             assertNotNull(user.emailVerificationTokenExpiry);
             assertNotNull(user.createdAt);
 
-            // Verify email service was called
-            verify(emailService).sendEmailVerification(user);
+            // Verify the verification email was queued in the outbox instead of sent inline
+            List<EmailOutbox> outbox = emailOutboxRepository.findAll();
+            assertEquals(1, outbox.size());
+            assertEquals(EmailType.EMAIL_VERIFICATION, outbox.get(0).type);
+            assertEquals(user.id, outbox.get(0).userId);
+            assertEquals(OutboxStatus.PENDING, outbox.get(0).status);
+            verify(emailService, never()).sendEmailVerification(any(User.class));
         }
 
         @Test
@@ -129,7 +143,7 @@ class UserRegistrationIntegrationTest {
 
             // Verify only one user exists in database
             assertEquals(1, userRepository.count());
-            verify(emailService, never()).sendEmailVerification(any(User.class));
+            assertEquals(0, emailOutboxRepository.count());
         }
 
         @Test
@@ -172,8 +186,8 @@ class UserRegistrationIntegrationTest {
     class DatabaseTransactionTests {
 
         @Test
-        @DisplayName("Should rollback transaction on service failure")
-        void shouldRollbackTransactionOnServiceFailure() throws Exception {
+        @DisplayName("Should register user even when the email service is unavailable")
+        void shouldRegisterUserWhenEmailServiceIsUnavailable() throws Exception {
             // Given - Mock email service to throw exception
             doThrow(new RuntimeException("Email service unavailable"))
                     .when(emailService).sendEmailVerification(any(User.class));
@@ -182,10 +196,11 @@ class UserRegistrationIntegrationTest {
             mockMvc.perform(post("/api/auth/register")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(validRegistrationJson))
-                    .andExpect(status().isInternalServerError());
+                    .andExpect(status().isCreated());
 
-            // Verify no user was saved due to rollback
-            assertEquals(0, userRepository.count());
+            // Verify the user and its pending email were committed together
+            assertEquals(1, userRepository.count());
+            assertEquals(1, emailOutboxRepository.count());
         }
 
         @Test
@@ -328,7 +343,7 @@ class UserRegistrationIntegrationTest {
             assertNotNull(user.password);
             assertNotEquals("ValidPass123!", user.password);
             assertTrue(user.password.length() > 20); // BCrypt hashes are typically 60 characters
-            assertTrue(user.password.startsWith("$2")); // BCrypt hash prefix
+            assertTrue(user.password.startsWith("{bcrypt}$2")); // DelegatingPasswordEncoder id + BCrypt hash prefix
         }
 
         @Test
@@ -0,0 +1,144 @@
+package br.com.authentication.service;
+
+import br.com.authentication.domain.model.EmailType;
+import br.com.authentication.domain.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailOutboxDispatcher Tests")
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private IEmailOutboxService emailOutboxService;
+
+    @Mock
+    private IEmailService emailService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new EmailOutboxDispatcher(emailOutboxService, emailService, meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "enabled", false);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    @DisplayName("Should send claimed emails by type and mark them sent")
+    void shouldSendClaimedEmails() throws Exception {
+        // Given
+        User first = user(1L);
+        User second = user(2L);
+        when(emailOutboxService.claimDue(2)).thenReturn(List.of(
+                claimed(10L, EmailType.EMAIL_VERIFICATION, first),
+                claimed(11L, EmailType.PASSWORD_RESET, second)))
+                .thenReturn(List.of());
+
+        // When
+        int delivered = dispatcher.dispatch();
+
+        // Then
+        assertEquals(2, delivered);
+        verify(emailService).sendEmailVerification(first);
+        verify(emailService).sendPasswordResetEmail(second);
+        verify(emailOutboxService).complete(List.of(10L, 11L), Map.of());
+        assertEquals(2, meterRegistry.get("auth.email.outbox.lag").timer().count());
+        assertEquals(2.0, meterRegistry.get("auth.email.outbox.dispatched").tag("result", "sent").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should report failed sends for retry without blocking the rest of the batch")
+    void shouldReportFailuresForRetry() throws Exception {
+        // Given
+        User failing = user(1L);
+        User working = user(2L);
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) == failing) {
+                throw new RuntimeException("SMTP unavailable");
+            }
+            return null;
+        }).when(emailService).sendEmailVerification(any(User.class));
+        when(emailOutboxService.claimDue(2)).thenReturn(List.of(
+                claimed(10L, EmailType.EMAIL_VERIFICATION, failing),
+                claimed(11L, EmailType.EMAIL_VERIFICATION, working)))
+                .thenReturn(List.of());
+        when(emailOutboxService.complete(anyCollection(), anyMap())).thenReturn(0);
+
+        // When
+        int delivered = dispatcher.dispatch();
+
+        // Then
+        assertEquals(1, delivered);
+        verify(emailOutboxService).complete(List.of(11L), Map.of(10L, "SMTP unavailable"));
+        assertEquals(1.0, meterRegistry.get("auth.email.outbox.dispatched").tag("result", "retried").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should count dead-lettered emails")
+    void shouldCountDeadLetters() throws Exception {
+        // Given
+        User failing = user(1L);
+        doThrow(new RuntimeException("Mailbox unavailable")).when(emailService).sendPasswordResetEmail(failing);
+        when(emailOutboxService.claimDue(2)).thenReturn(List.of(claimed(10L, EmailType.PASSWORD_RESET, failing)));
+        when(emailOutboxService.complete(anyCollection(), anyMap())).thenReturn(1);
+
+        // When
+        int delivered = dispatcher.dispatch();
+
+        // Then
+        assertEquals(0, delivered);
+        assertEquals(1.0, meterRegistry.get("auth.email.outbox.dispatched").tag("result", "dead").counter().count());
+        assertEquals(0.0, meterRegistry.get("auth.email.outbox.dispatched").tag("result", "retried").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should stop polling when nothing is due")
+    void shouldStopWhenNothingIsDue() throws Exception {
+        // Given
+        when(emailOutboxService.claimDue(2)).thenReturn(List.of());
+
+        // When
+        int delivered = dispatcher.dispatch();
+
+        // Then
+        assertEquals(0, delivered);
+        verify(emailOutboxService, never()).complete(anyCollection(), anyMap());
+        verifyNoInteractions(emailService);
+    }
+
+    private static IEmailOutboxService.ClaimedEmail claimed(long id, EmailType type, User user) {
+        return new IEmailOutboxService.ClaimedEmail(id, type, user, LocalDateTime.now().minusSeconds(1));
+    }
+
+    private static User user(Long id) {
+        return User.builder()
+                .id(id)
+                .email("user" + id + "@example.com")
+                .fullName("User " + id)
+                .build();
+    }
+}
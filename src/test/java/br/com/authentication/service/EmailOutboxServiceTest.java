@@ -0,0 +1,190 @@
+package br.com.authentication.service;
+
+import br.com.authentication.domain.model.EmailOutbox;
+import br.com.authentication.domain.model.EmailType;
+import br.com.authentication.domain.model.OutboxStatus;
+import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.repository.EmailOutboxRepository;
+import br.com.authentication.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailOutboxService Tests")
+class EmailOutboxServiceTest {
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private EmailOutboxService emailOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(emailOutboxService, "lease", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(emailOutboxService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(emailOutboxService, "initialBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(emailOutboxService, "maxBackoff", Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should store a pending email for the user")
+    void shouldEnqueuePendingEmail() {
+        // Given
+        User user = User.builder().id(7L).email("test@example.com").build();
+
+        // When
+        emailOutboxService.enqueue(EmailType.EMAIL_VERIFICATION, user);
+
+        // Then
+        ArgumentCaptor<EmailOutbox> captor = ArgumentCaptor.forClass(EmailOutbox.class);
+        verify(emailOutboxRepository).save(captor.capture());
+        assertEquals(EmailType.EMAIL_VERIFICATION, captor.getValue().type);
+        assertEquals(7L, captor.getValue().userId);
+    }
+
+    @Nested
+    @DisplayName("Claim Tests")
+    class ClaimTests {
+
+        @Test
+        @DisplayName("Should lease due emails and attach their users")
+        void shouldLeaseDueEmails() {
+            // Given
+            User user = User.builder().id(7L).email("test@example.com").build();
+            when(emailOutboxRepository.lockDue(any(LocalDateTime.class), eq(10)))
+                    .thenReturn(List.of(message(1L, 7L, 0)));
+            when(userRepository.findAllById(List.of(7L))).thenReturn(List.of(user));
+
+            // When
+            List<IEmailOutboxService.ClaimedEmail> claimed = emailOutboxService.claimDue(10);
+
+            // Then
+            assertEquals(1, claimed.size());
+            assertSame(user, claimed.get(0).user());
+            verify(emailOutboxRepository).lease(eq(List.of(1L)), any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("Should dead-letter emails whose user no longer exists")
+        void shouldDeadLetterOrphanedEmails() {
+            // Given
+            EmailOutbox orphan = message(1L, 7L, 0);
+            when(emailOutboxRepository.lockDue(any(LocalDateTime.class), eq(10))).thenReturn(List.of(orphan));
+            when(userRepository.findAllById(List.of(7L))).thenReturn(List.of());
+
+            // When
+            List<IEmailOutboxService.ClaimedEmail> claimed = emailOutboxService.claimDue(10);
+
+            // Then
+            assertTrue(claimed.isEmpty());
+            assertEquals(OutboxStatus.DEAD, orphan.status);
+        }
+
+        @Test
+        @DisplayName("Should not touch anything when nothing is due")
+        void shouldReturnEmptyWhenNothingIsDue() {
+            // Given
+            when(emailOutboxRepository.lockDue(any(LocalDateTime.class), eq(10))).thenReturn(List.of());
+
+            // When
+            List<IEmailOutboxService.ClaimedEmail> claimed = emailOutboxService.claimDue(10);
+
+            // Then
+            assertTrue(claimed.isEmpty());
+            verify(emailOutboxRepository, never()).lease(anyCollection(), any(LocalDateTime.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Completion Tests")
+    class CompletionTests {
+
+        @Test
+        @DisplayName("Should mark sent emails in one statement")
+        void shouldMarkSentEmails() {
+            // When
+            int deadLettered = emailOutboxService.complete(List.of(1L, 2L), Map.of());
+
+            // Then
+            assertEquals(0, deadLettered);
+            verify(emailOutboxRepository).markSent(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+            verify(emailOutboxRepository, never()).findAllById(anyIterable());
+        }
+
+        @Test
+        @DisplayName("Should reschedule failed emails with backoff")
+        void shouldRescheduleFailures() {
+            // Given
+            EmailOutbox failed = message(1L, 7L, 0);
+            when(emailOutboxRepository.findAllById(Map.of(1L, "").keySet())).thenReturn(List.of(failed));
+            LocalDateTime before = LocalDateTime.now();
+
+            // When
+            int deadLettered = emailOutboxService.complete(List.of(), Map.of(1L, "SMTP unavailable"));
+
+            // Then
+            assertEquals(0, deadLettered);
+            assertEquals(OutboxStatus.PENDING, failed.status);
+            assertEquals(1, failed.attempts);
+            assertEquals("SMTP unavailable", failed.lastError);
+            assertFalse(failed.nextAttemptAt.isBefore(before.plusSeconds(30)));
+        }
+
+        @Test
+        @DisplayName("Should dead-letter emails that exhausted their attempts")
+        void shouldDeadLetterExhaustedEmails() {
+            // Given
+            EmailOutbox failed = message(1L, 7L, 2);
+            when(emailOutboxRepository.findAllById(Map.of(1L, "").keySet())).thenReturn(List.of(failed));
+
+            // When
+            int deadLettered = emailOutboxService.complete(List.of(), Map.of(1L, "SMTP unavailable"));
+
+            // Then
+            assertEquals(1, deadLettered);
+            assertEquals(OutboxStatus.DEAD, failed.status);
+            assertEquals(3, failed.attempts);
+        }
+
+        @Test
+        @DisplayName("Should double the backoff per attempt up to the maximum")
+        void shouldCapExponentialBackoff() {
+            assertEquals(Duration.ofSeconds(30), emailOutboxService.backoff(1));
+            assertEquals(Duration.ofMinutes(1), emailOutboxService.backoff(2));
+            assertEquals(Duration.ofMinutes(1), emailOutboxService.backoff(10));
+        }
+    }
+
+    private static EmailOutbox message(Long id, Long userId, int attempts) {
+        return EmailOutbox.builder()
+                .id(id)
+                .type(EmailType.EMAIL_VERIFICATION)
+                .userId(userId)
+                .status(OutboxStatus.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,211 @@
+package br.com.authentication.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EmailTemplateEngine Tests")
+class EmailTemplateEngineTest {
+
+    private static final Map<String, String> MODEL = Map.of(
+            "fullName", "Test <User>",
+            "link", "http://localhost:3000/verify-email?token=abc&x=1");
+
+    @TempDir
+    Path templateDir;
+
+    private EmailTemplateEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new EmailTemplateEngine();
+        ReflectionTestUtils.setField(engine, "location", templateDir.toUri().toString());
+        ReflectionTestUtils.setField(engine, "defaultLocale", "en");
+        ReflectionTestUtils.setField(engine, "reloadInterval", Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.stop();
+    }
+
+    @Nested
+    @DisplayName("Compiled Template Tests")
+    class CompiledTemplateTests {
+
+        @Test
+        @DisplayName("Should render literals and variables in order")
+        void shouldRenderSegments() {
+            // Given
+            EmailTemplate template = EmailTemplate.compile("Hello {{ fullName }}, open {{link}}.", false);
+
+            // When
+            String rendered = template.render(Map.of("fullName", "Ana", "link", "http://x"));
+
+            // Then
+            assertEquals("Hello Ana, open http://x.", rendered);
+        }
+
+        @Test
+        @DisplayName("Should append into a caller-supplied builder")
+        void shouldAppendIntoBuilder() {
+            // Given
+            EmailTemplate template = EmailTemplate.compile("Hi {{fullName}}", false);
+            StringBuilder out = new StringBuilder("> ");
+
+            // When
+            template.render(Map.of("fullName", "Ana"), out);
+
+            // Then
+            assertEquals("> Hi Ana", out.toString());
+        }
+
+        @Test
+        @DisplayName("Should escape variables in HTML templates")
+        void shouldEscapeHtml() {
+            // Given
+            EmailTemplate template = EmailTemplate.compile("<p>{{fullName}}</p>", true);
+
+            // When
+            String rendered = template.render(Map.of("fullName", "<b>\"Ana\" & 'Bia'</b>"));
+
+            // Then
+            assertEquals("<p>&lt;b&gt;&quot;Ana&quot; &amp; &#39;Bia&#39;&lt;/b&gt;</p>", rendered);
+        }
+
+        @Test
+        @DisplayName("Should reject missing variables and malformed placeholders")
+        void shouldRejectInvalidInput() {
+            // Given
+            EmailTemplate template = EmailTemplate.compile("Hi {{fullName}}", false);
+
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> template.render(Map.of()));
+            assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("Hi {{fullName", false));
+            assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("Hi {{ }}", false));
+        }
+    }
+
+    @Nested
+    @DisplayName("Locale Resolution Tests")
+    class LocaleResolutionTests {
+
+        @BeforeEach
+        void writeTemplates() throws IOException {
+            write("welcome.en.txt", "Subject: Welcome {{fullName}}\n\nHello {{fullName}}: {{link}}\n");
+            write("welcome.en.html", "<p>Hello {{fullName}}: <a href=\"{{link}}\">open</a></p>");
+            write("welcome.pt-BR.txt", "Subject: Bem-vindo\n\nOlá {{fullName}}\n");
+            engine.start();
+        }
+
+        @Test
+        @DisplayName("Should render subject, text and HTML parts")
+        void shouldRenderAllParts() {
+            // When
+            IEmailTemplateEngine.RenderedEmail email = engine.render("welcome", "en", MODEL);
+
+            // Then
+            assertEquals("Welcome Test <User>", email.subject());
+            assertEquals("Hello Test <User>: http://localhost:3000/verify-email?token=abc&x=1\n", email.text());
+            assertEquals("<p>Hello Test &lt;User&gt;: <a href=\"http://localhost:3000/verify-email?token=abc&amp;x=1\">open</a></p>",
+                    email.html());
+        }
+
+        @Test
+        @DisplayName("Should pick the exact locale and omit a missing HTML part")
+        void shouldPickExactLocale() {
+            // When
+            IEmailTemplateEngine.RenderedEmail email = engine.render("welcome", "pt_BR", MODEL);
+
+            // Then
+            assertEquals("Bem-vindo", email.subject());
+            assertNull(email.html());
+        }
+
+        @Test
+        @DisplayName("Should fall back to the language and then to the default locale")
+        void shouldFallBack() {
+            assertEquals("Welcome Test <User>", engine.render("welcome", "en-GB", MODEL).subject());
+            assertEquals("Welcome Test <User>", engine.render("welcome", "fr", MODEL).subject());
+            assertEquals("Welcome Test <User>", engine.render("welcome", null, MODEL).subject());
+        }
+
+        @Test
+        @DisplayName("Should reject unknown templates")
+        void shouldRejectUnknownTemplate() {
+            assertThrows(IllegalArgumentException.class, () -> engine.render("missing", "en", MODEL));
+        }
+    }
+
+    @Nested
+    @DisplayName("Hot Reload Tests")
+    class HotReloadTests {
+
+        @Test
+        @DisplayName("Should recompile templates when a file changes")
+        void shouldReloadChangedTemplates() throws IOException {
+            // Given
+            Path file = write("welcome.en.txt", "Subject: Old\n\nBody\n");
+            engine.start();
+
+            // When
+            Files.writeString(file, "Subject: New\n\nBody\n");
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+            engine.reloadIfChanged();
+
+            // Then
+            assertEquals("New", engine.render("welcome", "en", MODEL).subject());
+        }
+
+        @Test
+        @DisplayName("Should keep the previous templates when an edit does not compile")
+        void shouldKeepPreviousTemplatesOnError() throws IOException {
+            // Given
+            Path file = write("welcome.en.txt", "Subject: Old\n\nBody\n");
+            engine.start();
+
+            // When
+            Files.writeString(file, "Subject: Broken {{fullName\n\nBody\n");
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+            engine.reloadIfChanged();
+
+            // Then
+            assertEquals("Old", engine.render("welcome", "en", MODEL).subject());
+        }
+    }
+
+    @Test
+    @DisplayName("Should load the bundled templates")
+    void shouldLoadBundledTemplates() throws IOException {
+        // Given
+        ReflectionTestUtils.setField(engine, "location", "classpath:/templates/email/");
+
+        // When
+        int loaded = engine.reload();
+
+        // Then
+        assertEquals(4, loaded);
+        IEmailTemplateEngine.RenderedEmail email = engine.render(EmailService.PASSWORD_RESET_TEMPLATE, "pt-BR", MODEL);
+        assertEquals("Redefina sua senha", email.subject());
+        assertTrue(email.text().contains(MODEL.get("link")));
+        assertNotNull(email.html());
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(templateDir.resolve(name), content);
+    }
+}
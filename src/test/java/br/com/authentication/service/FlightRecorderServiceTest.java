@@ -0,0 +1,110 @@
+package br.com.authentication.service;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FlightRecorderService Tests")
+class FlightRecorderServiceTest {
+
+    @TempDir
+    Path dumpDirectory;
+
+    private FlightRecorderService flightRecorderService;
+
+    @BeforeEach
+    void setUp() {
+        flightRecorderService = new FlightRecorderService();
+        ReflectionTestUtils.setField(flightRecorderService, "enabled", true);
+        ReflectionTestUtils.setField(flightRecorderService, "settings", new ClassPathResource("jfr/auth.jfc"));
+        ReflectionTestUtils.setField(flightRecorderService, "maxAge", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(flightRecorderService, "maxSize", DataSize.ofMegabytes(10));
+        ReflectionTestUtils.setField(flightRecorderService, "dumpDirectory", dumpDirectory);
+        ReflectionTestUtils.setField(flightRecorderService, "maxDumps", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRecorderService.stop();
+    }
+
+    @Test
+    @DisplayName("Should dump authentication events with their outcome and durations")
+    void shouldDumpAuthenticationEvents() throws Exception {
+        // Given
+        flightRecorderService.start();
+        AuthEvents.Login event = new AuthEvents.Login();
+        event.begin();
+        event.authentication = Duration.ofMillis(250).toNanos();
+        event.end();
+        event.outcome = "success";
+        event.userIdHash = AuthEvents.userIdHash(42L);
+        event.commit();
+
+        // When
+        Path file = flightRecorderService.dump();
+
+        // Then
+        List<RecordedEvent> logins = RecordingFile.readAllEvents(file).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("br.com.authentication.Login"))
+                .toList();
+        assertEquals(1, logins.size());
+        assertEquals("success", logins.get(0).getString("outcome"));
+        assertEquals(AuthEvents.userIdHash(42L), logins.get(0).getLong("userIdHash"));
+        assertEquals(Duration.ofMillis(250), logins.get(0).getDuration("authentication"));
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest dumps")
+    void shouldDeleteOldDumps() throws Exception {
+        // Given
+        flightRecorderService.start();
+
+        // When
+        Path first = flightRecorderService.dump();
+        Thread.sleep(5);
+        Path second = flightRecorderService.dump();
+        Thread.sleep(5);
+        Path third = flightRecorderService.dump();
+
+        // Then
+        assertEquals(List.of(third.getFileName().toString(), second.getFileName().toString()),
+                flightRecorderService.status().dumps());
+        assertFalse(first.toFile().exists());
+    }
+
+    @Test
+    @DisplayName("Should refuse to dump when recording is disabled")
+    void shouldRefuseDumpWhenDisabled() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(flightRecorderService, "enabled", false);
+        flightRecorderService.start();
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> flightRecorderService.dump());
+        assertFalse(flightRecorderService.status().recording());
+    }
+
+    @Test
+    @DisplayName("Should hash user ids consistently without exposing them")
+    void shouldHashUserIds() {
+        // When / Then
+        assertEquals(AuthEvents.userIdHash(42L), AuthEvents.userIdHash(42L));
+        assertNotEquals(42L, AuthEvents.userIdHash(42L));
+        assertNotEquals(AuthEvents.userIdHash(42L), AuthEvents.userIdHash(43L));
+        assertEquals(0, AuthEvents.userIdHash(null));
+    }
+}
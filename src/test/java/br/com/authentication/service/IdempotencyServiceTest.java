@@ -0,0 +1,197 @@
+package br.com.authentication.service;
+
+import br.com.authentication.domain.model.IdempotencyRecord;
+import br.com.authentication.domain.model.IdempotencyStatus;
+import br.com.authentication.domain.repository.IdempotencyRecordRepository;
+import br.com.authentication.service.IIdempotencyService.Claim;
+import br.com.authentication.service.IIdempotencyService.StoredResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyService Tests")
+class IdempotencyServiceTest {
+
+    private static final String KEY = "key-hash";
+    private static final String FINGERPRINT = "body-hash";
+    private static final StoredResponse CREATED =
+            new StoredResponse(201, "application/json", "{\"success\":true}".getBytes(StandardCharsets.UTF_8));
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(idempotencyService, "ttl", Duration.ofHours(24));
+        ReflectionTestUtils.setField(idempotencyService, "cacheSize", 100);
+        ReflectionTestUtils.setField(idempotencyService, "waitTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(idempotencyService, "pollInterval", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(idempotencyService, "inProgressTimeout", Duration.ofMinutes(2));
+        idempotencyService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotencyService.stop();
+    }
+
+    @Nested
+    @DisplayName("Single Process Tests")
+    class SingleProcessTests {
+
+        @Test
+        @DisplayName("Should let the first request execute and replay it afterwards from memory")
+        void shouldReplayCompletedRequest() {
+            // Given
+            when(idempotencyRecordRepository.insertInProgress(eq(KEY), eq(FINGERPRINT), any(), any())).thenReturn(1);
+
+            // When
+            Claim first = idempotencyService.begin(KEY, FINGERPRINT);
+            idempotencyService.complete(KEY, FINGERPRINT, CREATED);
+            Claim retry = idempotencyService.begin(KEY, FINGERPRINT);
+
+            // Then
+            assertInstanceOf(Claim.Acquired.class, first);
+            assertEquals(CREATED, assertInstanceOf(Claim.Replay.class, retry).response());
+            verify(idempotencyRecordRepository).complete(KEY, 201, "application/json", CREATED.body());
+            verify(idempotencyRecordRepository, times(1)).insertInProgress(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject a reused key with a different body")
+        void shouldRejectDifferentBody() {
+            // Given
+            when(idempotencyRecordRepository.insertInProgress(eq(KEY), eq(FINGERPRINT), any(), any())).thenReturn(1);
+            idempotencyService.begin(KEY, FINGERPRINT);
+            idempotencyService.complete(KEY, FINGERPRINT, CREATED);
+
+            // When
+            Claim claim = idempotencyService.begin(KEY, "other-body-hash");
+
+            // Then
+            assertInstanceOf(Claim.Mismatch.class, claim);
+        }
+
+        @Test
+        @DisplayName("Should make concurrent duplicates wait for the first execution")
+        void shouldWaitForRunningDuplicate() throws Exception {
+            // Given
+            when(idempotencyRecordRepository.insertInProgress(eq(KEY), eq(FINGERPRINT), any(), any())).thenReturn(1);
+            Claim first = idempotencyService.begin(KEY, FINGERPRINT);
+
+            // When
+            CompletableFuture<Claim> duplicate = CompletableFuture.supplyAsync(() -> idempotencyService.begin(KEY, FINGERPRINT));
+            Thread.sleep(50);
+            assertFalse(duplicate.isDone());
+            idempotencyService.complete(KEY, FINGERPRINT, CREATED);
+
+            // Then
+            assertInstanceOf(Claim.Acquired.class, first);
+            assertEquals(CREATED, assertInstanceOf(Claim.Replay.class, duplicate.get(5, TimeUnit.SECONDS)).response());
+            verify(idempotencyRecordRepository, times(1)).insertInProgress(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should let the next attempt execute after an abandoned execution")
+        void shouldExecuteAgainAfterAbandon() {
+            // Given
+            when(idempotencyRecordRepository.insertInProgress(eq(KEY), eq(FINGERPRINT), any(), any())).thenReturn(1);
+            idempotencyService.begin(KEY, FINGERPRINT);
+
+            // When
+            idempotencyService.abandon(KEY);
+            Claim retry = idempotencyService.begin(KEY, FINGERPRINT);
+
+            // Then
+            assertInstanceOf(Claim.Acquired.class, retry);
+            verify(idempotencyRecordRepository).deleteClaim(eq(KEY), any(LocalDateTime.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Persistent Record Tests")
+    class PersistentRecordTests {
+
+        @Test
+        @DisplayName("Should replay a response stored by another replica")
+        void shouldReplayStoredResponse() {
+            // Given
+            when(idempotencyRecordRepository.insertInProgress(eq(KEY), eq(FINGERPRINT), any(), any())).thenReturn(0);
+            when(idempotencyRecordRepository.findById(KEY)).thenReturn(Optional.of(record(IdempotencyStatus.COMPLETED, LocalDateTime.now())));
+
+            // When
+            Claim claim = idempotencyService.begin(KEY, FINGERPRINT);
+
+            // Then
+            Claim.Replay replay = assertInstanceOf(Claim.Replay.class, claim);
+            assertEquals(201, replay.response().status());
+        }
+
+        @Test
+        @DisplayName("Should take over a claim left behind by a crashed replica")
+        void shouldTakeOverAbandonedClaim() {
+            // Given
+            LocalDateTime staleCreatedAt = LocalDateTime.now().minusMinutes(10);
+            when(idempotencyRecordRepository.insertInProgress(eq(KEY), eq(FINGERPRINT), any(), any())).thenReturn(0, 1);
+            when(idempotencyRecordRepository.findById(KEY)).thenReturn(Optional.of(record(IdempotencyStatus.IN_PROGRESS, staleCreatedAt)));
+
+            // When
+            Claim claim = idempotencyService.begin(KEY, FINGERPRINT);
+
+            // Then
+            assertInstanceOf(Claim.Acquired.class, claim);
+            verify(idempotencyRecordRepository).deleteClaim(KEY, staleCreatedAt);
+        }
+
+        @Test
+        @DisplayName("Should give up waiting on another replica after the wait timeout")
+        void shouldTimeOutWaitingForOtherReplica() {
+            // Given
+            ReflectionTestUtils.setField(idempotencyService, "waitTimeout", Duration.ofMillis(100));
+            when(idempotencyRecordRepository.insertInProgress(eq(KEY), eq(FINGERPRINT), any(), any())).thenReturn(0);
+            when(idempotencyRecordRepository.findById(KEY)).thenReturn(Optional.of(record(IdempotencyStatus.IN_PROGRESS, LocalDateTime.now())));
+
+            // When
+            Claim claim = idempotencyService.begin(KEY, FINGERPRINT);
+
+            // Then
+            assertInstanceOf(Claim.InProgress.class, claim);
+            verify(idempotencyRecordRepository, atLeast(2)).findById(KEY);
+        }
+    }
+
+    private static IdempotencyRecord record(IdempotencyStatus status, LocalDateTime createdAt) {
+        return IdempotencyRecord.builder()
+                .id(KEY)
+                .fingerprint(FINGERPRINT)
+                .status(status)
+                .responseStatus(status == IdempotencyStatus.COMPLETED ? 201 : null)
+                .contentType("application/json")
+                .responseBody(status == IdempotencyStatus.COMPLETED ? CREATED.body() : null)
+                .createdAt(createdAt)
+                .expiresAt(createdAt.plusHours(24))
+                .build();
+    }
+}
@@ -0,0 +1,206 @@
+package br.com.authentication.service;
+
+import br.com.authentication.domain.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoginAttemptService Tests")
+class LoginAttemptServiceTest {
+
+    private static final String EMAIL = "test@example.com";
+    private static final String IP = "10.0.0.1";
+
+    @Mock
+    private IUserService userService;
+
+    private LoginAttemptService loginAttemptService;
+
+    @BeforeEach
+    void setUp() {
+        loginAttemptService = new LoginAttemptService(userService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(loginAttemptService, "enabled", true);
+        ReflectionTestUtils.setField(loginAttemptService, "window", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(loginAttemptService, "maxFailuresPerEmail", 3);
+        ReflectionTestUtils.setField(loginAttemptService, "maxFailuresPerIp", 5);
+        ReflectionTestUtils.setField(loginAttemptService, "maxTrackedKeys", 1000);
+        ReflectionTestUtils.setField(loginAttemptService, "persistentLockoutFailures", 6);
+        loginAttemptService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginAttemptService.stop();
+    }
+
+    @Nested
+    @DisplayName("Throttling Tests")
+    class ThrottlingTests {
+
+        @Test
+        @DisplayName("Should block an email after the failure threshold")
+        void shouldBlockEmailAfterThreshold() {
+            // Given
+            for (int i = 0; i < 3; i++) {
+                assertFalse(loginAttemptService.isBlocked(EMAIL, IP));
+                loginAttemptService.loginFailed(EMAIL, IP);
+            }
+
+            // When & Then
+            assertTrue(loginAttemptService.isBlocked(EMAIL, IP));
+            assertTrue(loginAttemptService.isBlocked(" TEST@example.com ", "10.0.0.2"));
+            assertFalse(loginAttemptService.isBlocked("other@example.com", "10.0.0.2"));
+        }
+
+        @Test
+        @DisplayName("Should block an IP spraying many emails")
+        void shouldBlockIpSprayingManyEmails() {
+            // Given
+            for (int i = 0; i < 5; i++) {
+                loginAttemptService.loginFailed("user" + i + "@example.com", IP);
+            }
+
+            // When & Then
+            assertTrue(loginAttemptService.isBlocked("new@example.com", IP));
+            assertFalse(loginAttemptService.isBlocked("new@example.com", "10.0.0.2"));
+        }
+
+        @Test
+        @DisplayName("Should reset the email counter after a successful login")
+        void shouldResetEmailCounterAfterSuccess() {
+            // Given
+            loginAttemptService.loginFailed(EMAIL, IP);
+            loginAttemptService.loginFailed(EMAIL, IP);
+
+            // When
+            loginAttemptService.loginSucceeded(EMAIL, IP);
+            loginAttemptService.loginFailed(EMAIL, IP);
+
+            // Then
+            assertFalse(loginAttemptService.isBlocked(EMAIL, "10.0.0.2"));
+        }
+
+        @Test
+        @DisplayName("Should never block when protection is disabled")
+        void shouldNeverBlockWhenDisabled() {
+            // Given
+            ReflectionTestUtils.setField(loginAttemptService, "enabled", false);
+            for (int i = 0; i < 10; i++) {
+                loginAttemptService.loginFailed(EMAIL, IP);
+            }
+
+            // When & Then
+            assertFalse(loginAttemptService.isBlocked(EMAIL, IP));
+        }
+
+        @Test
+        @DisplayName("Should stay within max tracked keys and throttle new IPs once full")
+        void shouldBoundTrackedKeys() {
+            // Given
+            ReflectionTestUtils.setField(loginAttemptService, "maxTrackedKeys", 100);
+            for (int i = 0; i < 1000; i++) {
+                loginAttemptService.loginFailed("user" + i + "@example.com", "10.1." + (i / 250) + "." + (i % 250));
+            }
+
+            // When & Then
+            assertEquals(100, ((Map<?, ?>) ReflectionTestUtils.getField(loginAttemptService, "emailFailures")).size());
+            assertEquals(100, ((Map<?, ?>) ReflectionTestUtils.getField(loginAttemptService, "ipFailures")).size());
+            assertTrue(loginAttemptService.isBlocked("new@example.com", "10.2.0.1"));
+            assertFalse(loginAttemptService.isBlocked("new@example.com", "10.1.0.0"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Persistent Lockout Tests")
+    class PersistentLockoutTests {
+
+        @Test
+        @DisplayName("Should lock the account once when persistent lockout is enabled")
+        void shouldLockAccountWhenEnabled() {
+            // Given
+            ReflectionTestUtils.setField(loginAttemptService, "persistentLockoutEnabled", true);
+            User user = User.builder().id(7L).email(EMAIL).build();
+            when(userService.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+            // When
+            for (int i = 0; i < 10; i++) {
+                attemptWrongPassword();
+            }
+
+            // Then
+            verify(userService, times(1)).lockUser(7L);
+        }
+
+        @Test
+        @DisplayName("Should reach the lockout threshold even though the email is throttled first")
+        void shouldCountThrottledAttemptsTowardLockout() {
+            // Given
+            ReflectionTestUtils.setField(loginAttemptService, "persistentLockoutEnabled", true);
+            User user = User.builder().id(7L).email(EMAIL).build();
+            when(userService.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+            // When
+            for (int i = 0; i < 5; i++) {
+                attemptWrongPassword();
+            }
+
+            // Then
+            verify(userService, never()).lockUser(anyLong());
+
+            // When
+            attemptWrongPassword();
+
+            // Then
+            verify(userService, times(1)).lockUser(7L);
+        }
+
+        @Test
+        @DisplayName("Should refuse to start when the lockout threshold is not above the throttle threshold")
+        void shouldRejectLockoutThresholdBelowThrottle() {
+            // Given
+            LoginAttemptService misconfigured = new LoginAttemptService(userService, new SimpleMeterRegistry());
+            ReflectionTestUtils.setField(misconfigured, "window", Duration.ofMinutes(15));
+            ReflectionTestUtils.setField(misconfigured, "maxFailuresPerEmail", 5);
+            ReflectionTestUtils.setField(misconfigured, "persistentLockoutEnabled", true);
+            ReflectionTestUtils.setField(misconfigured, "persistentLockoutFailures", 5);
+
+            // When & Then
+            assertThrows(IllegalStateException.class, misconfigured::start);
+        }
+
+        @Test
+        @DisplayName("Should not touch the account when persistent lockout is disabled")
+        void shouldNotLockAccountWhenDisabled() {
+            // When
+            for (int i = 0; i < 10; i++) {
+                attemptWrongPassword();
+            }
+
+            // Then
+            verify(userService, never()).lockUser(anyLong());
+        }
+    }
+
+    /** Mirrors LoginEndpoint: failures are only recorded for attempts that get past the throttle. */
+    private void attemptWrongPassword() {
+        if (!loginAttemptService.isBlocked(EMAIL, IP)) {
+            loginAttemptService.loginFailed(EMAIL, IP);
+        }
+    }
+}
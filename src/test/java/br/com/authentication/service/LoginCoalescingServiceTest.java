@@ -0,0 +1,118 @@
+package br.com.authentication.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LoginCoalescingService Tests")
+class LoginCoalescingServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginCoalescingService coalescingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescingService = new LoginCoalescingService(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should share one computation between identical concurrent logins")
+    void shouldShareOneComputationBetweenIdenticalLogins() throws Exception {
+        // Given
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() ->
+                coalescingService.coalesce("test@example.com", "ValidPass123!", () -> {
+                    computations.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return "jwt-1";
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(() ->
+                coalescingService.coalesce("test@example.com", "ValidPass123!", () -> {
+                    computations.incrementAndGet();
+                    return "jwt-2";
+                }));
+        awaitCoalesced(1);
+        release.countDown();
+
+        // Then
+        assertEquals("jwt-1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("jwt-1", duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, computations.get());
+        assertEquals(0, coalescingService.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("Should not share results between different passwords")
+    void shouldNotShareBetweenDifferentPasswords() {
+        // When
+        String first = coalescingService.coalesce("test@example.com", "ValidPass123!", () -> "ok");
+        String second = coalescingService.coalesce("test@example.com", "WrongPass123!", () -> "other");
+
+        // Then
+        assertEquals("ok", first);
+        assertEquals("other", second);
+    }
+
+    @Test
+    @DisplayName("Should propagate the failure to every waiter and drop the entry")
+    void shouldPropagateFailureToWaiters() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() ->
+                coalescingService.coalesce("test@example.com", "bad", () -> {
+                    started.countDown();
+                    await(release);
+                    throw new BadCredentialsException("Bad credentials");
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(() ->
+                coalescingService.coalesce("test@example.com", "bad", () -> "unexpected"));
+        awaitCoalesced(1);
+
+        // When
+        release.countDown();
+
+        // Then
+        ExecutionException firstError = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BadCredentialsException.class, firstError.getCause());
+        ExecutionException duplicateError = assertThrows(ExecutionException.class, () -> duplicate.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BadCredentialsException.class, duplicateError.getCause());
+        assertEquals(0, coalescingService.inFlightCount());
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("auth.login.coalesced").count() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, meterRegistry.counter("auth.login.coalesced").count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.authentication.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordHashingService Tests")
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingService hashingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (hashingService != null) {
+            hashingService.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("Delegation Tests")
+    class DelegationTests {
+
+        @Test
+        @DisplayName("Should encode and match on the hashing pool and record metrics")
+        void shouldEncodeAndMatchOnPool() {
+            // Given
+            hashingService = new PasswordHashingService(new PlainEncoder(), 2, 1, 4, 4, Duration.ofSeconds(1), meterRegistry);
+
+            // When
+            String encoded = hashingService.encode("secret");
+
+            // Then
+            assertEquals("plain:secret", encoded);
+            assertTrue(hashingService.matches("secret", encoded));
+            assertFalse(hashingService.matches("other", encoded));
+            assertEquals(1, meterRegistry.get("auth.password.hashing.compute").tag("operation", "encode").timer().count());
+            assertEquals(2, meterRegistry.get("auth.password.hashing.queue").tag("operation", "matches").timer().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Hashing Tests")
+    class BulkHashingTests {
+
+        @Test
+        @DisplayName("Should hash a batch on the bulk pool preserving order")
+        void shouldHashBatchPreservingOrder() {
+            // Given
+            hashingService = new PasswordHashingService(new PlainEncoder(), 1, 2, 1, 4, Duration.ofSeconds(1), meterRegistry);
+
+            // When
+            var encoded = hashingService.encodeAll(List.of("a", "b", "c"));
+
+            // Then
+            assertEquals(List.of("plain:a", "plain:b", "plain:c"), encoded);
+            assertEquals(3, meterRegistry.get("auth.password.hashing.compute").tag("operation", "bulk").timer().count());
+        }
+
+        @Test
+        @DisplayName("Should hash a batch larger than the bulk queue")
+        void shouldHashBatchLargerThanBulkQueue() {
+            // Given
+            hashingService = new PasswordHashingService(new PlainEncoder(), 1, 1, 1, 2, Duration.ofSeconds(1), meterRegistry);
+            List<String> passwords = IntStream.range(0, 20).mapToObj(i -> "p" + i).toList();
+
+            // When
+            var encoded = hashingService.encodeAll(passwords);
+
+            // Then
+            assertEquals(passwords.stream().map(p -> "plain:" + p).toList(), encoded);
+        }
+
+        @Test
+        @DisplayName("Should reject a bulk call when the bulk queue is full")
+        void shouldRejectBulkCallWhenQueueIsFull() throws Exception {
+            // Given
+            hashingService = new PasswordHashingService(new BlockingEncoder(), 1, 1, 1, 2, Duration.ofSeconds(30), meterRegistry);
+            CompletableFuture.runAsync(() -> hashingService.encodeAll(List.of("a", "b", "c")));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            waitForQueuedBulkTasks(1);
+
+            // When & Then
+            assertThrows(PasswordHashingRejectedException.class, () -> hashingService.encodeAll(List.of("x", "y")));
+            assertEquals(1.0, meterRegistry.get("auth.password.hashing.rejected").tag("reason", "bulk_queue_full").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should refuse a bulk queue smaller than the in-flight limit")
+        void shouldRejectUndersizedBulkQueue() {
+            // When & Then
+            assertThrows(IllegalArgumentException.class,
+                    () -> new PasswordHashingService(new PlainEncoder(), 1, 2, 1, 3, Duration.ofSeconds(1), meterRegistry));
+        }
+    }
+
+    @Nested
+    @DisplayName("Admission Control Tests")
+    class AdmissionControlTests {
+
+        @Test
+        @DisplayName("Should reject when the queue is full")
+        void shouldRejectWhenQueueIsFull() throws Exception {
+            // Given
+            hashingService = new PasswordHashingService(new BlockingEncoder(), 1, 1, 1, 2, Duration.ofSeconds(30), meterRegistry);
+            CompletableFuture.runAsync(() -> hashingService.encode("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture.runAsync(() -> hashingService.encode("queued"));
+            waitForQueuedTasks(1);
+
+            // When & Then
+            assertThrows(PasswordHashingRejectedException.class, () -> hashingService.encode("rejected"));
+            assertEquals(1.0, meterRegistry.get("auth.password.hashing.rejected").tag("reason", "queue_full").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should reject tasks that waited past the deadline")
+        void shouldRejectTasksPastDeadline() throws Exception {
+            // Given
+            hashingService = new PasswordHashingService(new BlockingEncoder(), 1, 1, 4, 2, Duration.ofMillis(50), meterRegistry);
+            CompletableFuture.runAsync(() -> hashingService.encode("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<String> late = CompletableFuture.supplyAsync(() -> hashingService.encode("late"));
+            waitForQueuedTasks(1);
+            Thread.sleep(100);
+
+            // When
+            release.countDown();
+
+            // Then
+            var thrown = assertThrows(Exception.class, () -> late.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(PasswordHashingRejectedException.class, thrown.getCause());
+            assertEquals(1.0, meterRegistry.get("auth.password.hashing.rejected").tag("reason", "deadline").counter().count());
+        }
+    }
+
+    private void waitForQueuedTasks(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (hashingService.queuedTasks() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, hashingService.queuedTasks());
+    }
+
+    private void waitForQueuedBulkTasks(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkQueueSize() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, bulkQueueSize());
+    }
+
+    private int bulkQueueSize() {
+        return (int) meterRegistry.get("auth.password.hashing.bulk.queue.size").gauge().value();
+    }
+
+    private static class PlainEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "plain:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    private class BlockingEncoder extends PlainEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.encode(rawPassword);
+        }
+    }
+}
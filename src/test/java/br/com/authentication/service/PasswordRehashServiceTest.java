@@ -0,0 +1,131 @@
+package br.com.authentication.service;
+
+import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.repository.UserRepositoryCustom.PasswordUpgrade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PasswordRehashService Tests")
+class PasswordRehashServiceTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private IUserService userService;
+
+    private PasswordRehashService rehashService;
+
+    @BeforeEach
+    void setUp() {
+        rehashService = new PasswordRehashService(passwordEncoder, userService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(rehashService, "batchSize", 2);
+        ReflectionTestUtils.setField(rehashService, "maxPending", 3);
+        ReflectionTestUtils.setField(rehashService, "flushInterval", Duration.ofHours(1));
+        rehashService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rehashService.stop();
+    }
+
+    @Test
+    @DisplayName("Should not hash or write anything on the login thread")
+    void shouldDeferWorkUntilFlush() {
+        // When
+        rehashService.schedule(user(1L), "ValidPass123!");
+
+        // Then
+        verifyNoInteractions(passwordEncoder, userService);
+    }
+
+    @Test
+    @DisplayName("Should re-hash pending passwords and write them in batches")
+    void shouldWritePendingPasswordsInBatches() {
+        // Given
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "{bcrypt}" + invocation.getArgument(0));
+        when(userService.updatePasswords(anyMap())).thenAnswer(invocation -> ((Map<?, ?>) invocation.getArgument(0)).size());
+        rehashService.schedule(user(1L), "pass-1");
+        rehashService.schedule(user(2L), "pass-2");
+        rehashService.schedule(user(3L), "pass-3");
+
+        // When
+        int upgraded = rehashService.flush();
+
+        // Then
+        assertEquals(3, upgraded);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, PasswordUpgrade>> batches = ArgumentCaptor.forClass(Map.class);
+        verify(userService, times(2)).updatePasswords(batches.capture());
+        assertEquals(2, batches.getAllValues().get(0).size());
+        assertEquals(1, batches.getAllValues().get(1).size());
+        assertEquals(0, rehashService.flush());
+    }
+
+    @Test
+    @DisplayName("Should re-hash once per user and drop requests above the pending limit")
+    void shouldDeduplicateAndBoundPendingRequests() {
+        // Given
+        when(passwordEncoder.encode(anyString())).thenReturn("{bcrypt}hash");
+        when(userService.updatePasswords(anyMap())).thenAnswer(invocation -> ((Map<?, ?>) invocation.getArgument(0)).size());
+        rehashService.schedule(user(1L), "pass-1");
+        rehashService.schedule(user(1L), "pass-1");
+        rehashService.schedule(user(2L), "pass-2");
+        rehashService.schedule(user(3L), "pass-3");
+        rehashService.schedule(user(4L), "pass-4");
+
+        // When
+        int upgraded = rehashService.flush();
+
+        // Then
+        assertEquals(3, upgraded);
+        verify(passwordEncoder, times(3)).encode(anyString());
+    }
+
+    @Test
+    @DisplayName("Should make the write conditional on the hash verified at login")
+    void shouldNotOverwritePasswordChangedBeforeFlush() {
+        // Given
+        when(passwordEncoder.encode("old-pass")).thenReturn("{bcrypt}rehashed-old-pass");
+        User user = user(1L);
+        rehashService.schedule(user, "old-pass");
+        // Reset between the login and the flush; the conditional UPDATE then matches no row
+        user.password = "{bcrypt}new-pass-hash";
+        when(userService.updatePasswords(anyMap())).thenReturn(0);
+
+        // When
+        int upgraded = rehashService.flush();
+
+        // Then
+        assertEquals(0, upgraded);
+        verify(userService).updatePasswords(Map.of(1L, new PasswordUpgrade("$2a$10$outdated", "{bcrypt}rehashed-old-pass")));
+    }
+
+    private static User user(Long id) {
+        return User.builder()
+                .id(id)
+                .email("user" + id + "@example.com")
+                .password("$2a$10$outdated")
+                .fullName("User " + id)
+                .build();
+    }
+}
@@ -0,0 +1,161 @@
+package br.com.authentication.service;
+
+import br.com.authentication.util.LocalSmtpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PooledJavaMailSender Tests")
+class PooledJavaMailSenderTest {
+
+    private LocalSmtpServer smtpServer;
+    private SimpleMeterRegistry meterRegistry;
+    private PooledJavaMailSender mailSender;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtpServer = LocalSmtpServer.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (mailSender != null) {
+            mailSender.close();
+        }
+        smtpServer.close();
+    }
+
+    @Nested
+    @DisplayName("Session Reuse Tests")
+    class SessionReuseTests {
+
+        @Test
+        @DisplayName("Should send consecutive emails over one SMTP session")
+        void shouldReuseSession() {
+            // Given
+            mailSender = sender(4, 100, Duration.ofMinutes(1));
+
+            // When
+            for (int i = 0; i < 5; i++) {
+                mailSender.send(message(i));
+            }
+
+            // Then
+            assertEquals(5, smtpServer.messages().size());
+            assertEquals(1, smtpServer.connectionCount());
+            assertEquals(1.0, sessions("opened"));
+            assertEquals(4.0, sessions("reused"));
+        }
+
+        @Test
+        @DisplayName("Should open a new session once the messages-per-connection limit is reached")
+        void shouldEnforceMessagesPerConnection() {
+            // Given
+            mailSender = sender(4, 2, Duration.ofMinutes(1));
+
+            // When
+            for (int i = 0; i < 5; i++) {
+                mailSender.send(message(i));
+            }
+
+            // Then
+            assertEquals(5, smtpServer.messages().size());
+            assertEquals(3, smtpServer.connectionCount());
+            assertEquals(2.0, meterRegistry.get("auth.email.smtp.sessions.closed").tag("reason", "limit").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should not reuse sessions that were idle longer than max-idle")
+        void shouldDiscardIdleSessions() throws Exception {
+            // Given
+            mailSender = sender(4, 100, Duration.ofMillis(1));
+            mailSender.send(message(0));
+            Thread.sleep(5);
+
+            // When
+            mailSender.send(message(1));
+
+            // Then
+            assertEquals(2, smtpServer.connectionCount());
+            assertEquals(1.0, meterRegistry.get("auth.email.smtp.sessions.closed").tag("reason", "idle").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should send a batch over a single session")
+        void shouldSendBatchOverOneSession() {
+            // Given
+            mailSender = sender(4, 100, Duration.ofMinutes(1));
+
+            // When
+            mailSender.send(message(0), message(1), message(2));
+
+            // Then
+            assertEquals(3, smtpServer.messages().size());
+            assertEquals(1, smtpServer.connectionCount());
+            assertEquals(List.of("user0@example.com"), smtpServer.messages().get(0).recipients());
+        }
+    }
+
+    @Test
+    @DisplayName("Should never open more sessions than max-connections under concurrent sends")
+    void shouldBoundConcurrentSessions() throws Exception {
+        // Given
+        mailSender = sender(2, 100, Duration.ofMinutes(1));
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        // When
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> mailSender.send(message(index))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertEquals(20, smtpServer.messages().size());
+        assertTrue(smtpServer.connectionCount() <= 2);
+        assertEquals(20.0, meterRegistry.get("auth.email.smtp.messages").tag("result", "sent").counter().count());
+    }
+
+    private PooledJavaMailSender sender(int maxConnections, int maxMessagesPerConnection, Duration maxIdle) {
+        PooledJavaMailSender sender = new PooledJavaMailSender(maxConnections, maxMessagesPerConnection, maxIdle,
+                Duration.ofSeconds(5), Duration.ofSeconds(5), meterRegistry);
+        sender.setHost(InetAddress.getLoopbackAddress().getHostAddress());
+        sender.setPort(smtpServer.port());
+        return sender;
+    }
+
+    private double sessions(String outcome) {
+        return meterRegistry.get("auth.email.smtp.sessions").tag("outcome", outcome).counter().count();
+    }
+
+    private static SimpleMailMessage message(int index) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@example.com");
+        message.setTo("user" + index + "@example.com");
+        message.setSubject("Message " + index);
+        message.setText("Body " + index);
+        return message;
+    }
+}
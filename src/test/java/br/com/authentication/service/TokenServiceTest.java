@@ -0,0 +1,148 @@
+package br.com.authentication.service;
+
+import br.com.authentication.domain.model.Token;
+import br.com.authentication.domain.model.TokenType;
+import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.model.UserStatus;
+import br.com.authentication.domain.model.id.IdGenerators;
+import br.com.authentication.domain.model.id.TsidGenerator;
+import br.com.authentication.domain.repository.TokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenService Tests")
+class TokenServiceTest {
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    @InjectMocks
+    private TokenService tokenService;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        IdGenerators.use(new TsidGenerator(1));
+        testUser = User.builder()
+                .id(1L)
+                .email("test@example.com")
+                .password("hashedPassword123")
+                .fullName("Test User")
+                .status(UserStatus.ACTIVE)
+                .emailVerified(true)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Create Token Tests")
+    class CreateTokenTests {
+
+        @Test
+        @DisplayName("Should issue token with a single upsert statement")
+        void shouldIssueTokenWithSingleUpsert() {
+            // When
+            Token token = tokenService.createToken(testUser, TokenType.PASSWORD_RESET, 1);
+
+            // Then
+            assertNotNull(token.id);
+            assertNotNull(token.token);
+            assertEquals(TokenType.PASSWORD_RESET, token.type);
+            assertEquals(TokenType.PASSWORD_RESET.name(), token.slot);
+            assertFalse(token.used);
+            assertTrue(token.expiresAt.isAfter(LocalDateTime.now()));
+
+            verify(tokenRepository).upsertToken(eq(token.id), eq(token.token), eq("PASSWORD_RESET"), eq(1L),
+                    eq("PASSWORD_RESET"), eq(token.expiresAt), eq(token.createdAt));
+            verify(tokenRepository, never()).deleteByUserAndType(any(), any());
+            verify(tokenRepository, never()).save(any(Token.class));
+            verify(tokenRepository, never()).findIdByUserIdAndSlot(anyLong(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should keep the id of a replaced token")
+        void shouldKeepIdOfReplacedToken() {
+            // Given
+            when(tokenRepository.upsertToken(anyLong(), anyString(), eq("PASSWORD_RESET"), eq(1L),
+                    eq("PASSWORD_RESET"), any(), any())).thenReturn(2);
+            when(tokenRepository.findIdByUserIdAndSlot(1L, "PASSWORD_RESET")).thenReturn(7L);
+
+            // When
+            Token token = tokenService.createToken(testUser, TokenType.PASSWORD_RESET, 1);
+
+            // Then
+            assertEquals(7L, token.id);
+        }
+
+        @Test
+        @DisplayName("Should generate a new token value on every issuance")
+        void shouldGenerateNewTokenValueOnEveryIssuance() {
+            // When
+            Token first = tokenService.createToken(testUser, TokenType.EMAIL_VERIFICATION, 24);
+            Token second = tokenService.createToken(testUser, TokenType.EMAIL_VERIFICATION, 24);
+
+            // Then
+            assertNotEquals(first.token, second.token);
+            assertTrue(second.id > first.id);
+            verify(tokenRepository, times(2)).upsertToken(anyLong(), anyString(), eq("EMAIL_VERIFICATION"), eq(1L),
+                    eq("EMAIL_VERIFICATION"), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Token Lookup Tests")
+    class TokenLookupTests {
+
+        @Test
+        @DisplayName("Should report unknown tokens without throwing")
+        void shouldReportUnknownTokenWithoutThrowing() {
+            // Given
+            when(tokenRepository.findByTokenAndType("unknown", TokenType.PASSWORD_RESET)).thenReturn(Optional.empty());
+
+            // When & Then
+            assertTrue(tokenService.findByTokenAndType("unknown", TokenType.PASSWORD_RESET).isEmpty());
+            assertFalse(tokenService.isTokenValid("unknown", TokenType.PASSWORD_RESET));
+            assertFalse(tokenService.markTokenAsUsed("unknown", TokenType.PASSWORD_RESET));
+            verify(tokenRepository, never()).save(any(Token.class));
+        }
+
+        @Test
+        @DisplayName("Should validate and consume an existing token")
+        void shouldValidateAndConsumeExistingToken() {
+            // Given
+            Token token = Token.builder()
+                    .id(5L)
+                    .token("valid")
+                    .type(TokenType.PASSWORD_RESET)
+                    .user(testUser)
+                    .expiresAt(LocalDateTime.now().plusHours(1))
+                    .used(false)
+                    .build();
+            when(tokenRepository.findByTokenAndType("valid", TokenType.PASSWORD_RESET)).thenReturn(Optional.of(token));
+
+            // When
+            boolean validBefore = tokenService.isTokenValid("valid", TokenType.PASSWORD_RESET);
+            boolean marked = tokenService.markTokenAsUsed("valid", TokenType.PASSWORD_RESET);
+
+            // Then
+            assertTrue(validBefore);
+            assertTrue(marked);
+            assertFalse(tokenService.isTokenValid("valid", TokenType.PASSWORD_RESET));
+            verify(tokenRepository).save(token);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.authentication.service;
+
+import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.model.UserStatus;
+import br.com.authentication.domain.repository.UserRepository;
+import br.com.authentication.service.IUserImportService.ImportBatchResult;
+import br.com.authentication.service.IUserImportService.ImportRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserImportService Tests")
+class UserImportServiceTest {
+
+    private static final String BCRYPT_HASH = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private IPasswordHashingService passwordHashingService;
+
+    @Mock
+    private IUserSearchService userSearchService;
+
+    @InjectMocks
+    private UserImportService userImportService;
+
+    @Test
+    @DisplayName("Should hash raw passwords in bulk, keep bcrypt hashes and batch-insert")
+    void shouldHashRawPasswordsAndKeepPreHashed() {
+        // Given
+        ImportRow raw = row(1, "raw@example.com", null, "ValidPass123!");
+        ImportRow preHashed = row(2, "hashed@example.com", BCRYPT_HASH, null);
+        when(userRepository.findUserEmailsIn(anyCollection())).thenReturn(List.of());
+        when(passwordHashingService.encodeAll(List.of("ValidPass123!"))).thenReturn(List.of("{bcrypt}encoded"));
+        when(userRepository.saveUsers(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // When
+        ImportBatchResult result = userImportService.importBatch(List.of(raw, preHashed));
+
+        // Then
+        assertEquals(2, result.imported());
+        assertTrue(result.errors().isEmpty());
+        assertEquals("{bcrypt}encoded", raw.user().password);
+        assertEquals("{bcrypt}" + BCRYPT_HASH, preHashed.user().password);
+        verify(passwordHashingService, never()).encode(any());
+        InOrder inOrder = inOrder(userRepository, passwordHashingService);
+        inOrder.verify(userRepository).findUserEmailsIn(anyCollection());
+        inOrder.verify(passwordHashingService).encodeAll(anyList());
+        inOrder.verify(userRepository).saveUsers(anyList());
+    }
+
+    @Test
+    @DisplayName("Should report duplicates, existing emails and invalid hashes as row errors")
+    void shouldReportRowErrors() {
+        // Given
+        ImportRow ok = row(1, "ok@example.com", BCRYPT_HASH, null);
+        ImportRow duplicate = row(2, "ok@example.com", BCRYPT_HASH, null);
+        ImportRow existing = row(3, "existing@example.com", BCRYPT_HASH, null);
+        ImportRow badHash = row(4, "bad@example.com", "md5:abc", null);
+        when(userRepository.findUserEmailsIn(anyCollection())).thenReturn(List.of("existing@example.com"));
+        when(userRepository.saveUsers(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // When
+        ImportBatchResult result = userImportService.importBatch(List.of(ok, duplicate, existing, badHash));
+
+        // Then
+        assertEquals(1, result.imported());
+        assertEquals(3, result.errors().size());
+        assertEquals(List.of(2L, 3L, 4L), result.errors().stream().map(IUserImportService.RowError::line).sorted().toList());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> saved = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).saveUsers(saved.capture());
+        assertEquals(List.of("ok@example.com"), saved.getValue().stream().map(user -> user.email).toList());
+        verifyNoInteractions(passwordHashingService);
+    }
+
+    private static ImportRow row(long line, String email, String hash, String rawPassword) {
+        User user = User.builder()
+                .email(email)
+                .password(hash)
+                .fullName("Imported User")
+                .status(UserStatus.ACTIVE)
+                .emailVerified(true)
+                .build();
+        return new ImportRow(line, user, rawPassword);
+    }
+}
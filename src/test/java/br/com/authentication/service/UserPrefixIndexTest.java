@@ -0,0 +1,136 @@
+package br.com.authentication.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UserPrefixIndex Tests")
+class UserPrefixIndexTest {
+
+    private UserPrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserPrefixIndex();
+        index.rebuild(builder -> builder
+                .add(1L, "maria.silva@example.com", "Maria da Silva")
+                .add(2L, "joao@example.com", "João Silva Santos")
+                .add(3L, "ana@example.com", "Ana")
+                .add(4L, "anabela@example.com", "Anabela Souza"));
+    }
+
+    @Nested
+    @DisplayName("Search Tests")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should find users by email prefix, exact keys first")
+        void shouldFindByEmailPrefix() {
+            // When / Then
+            assertEquals(List.of(3L, 4L), index.search("ana", 10));
+            assertEquals(List.of(3L), index.search("ana@", 10));
+            assertEquals(List.of(), index.search("zoe", 10));
+        }
+
+        @Test
+        @DisplayName("Should find users by any of their first name words, ignoring case and accents")
+        void shouldFindByNameWords() {
+            // When / Then
+            assertEquals(List.of(1L, 2L), index.search("SILVA", 10));
+            assertEquals(List.of(2L), index.search("joão silva s", 10));
+            assertEquals(List.of(2L), index.search("santos", 10));
+            assertEquals(List.of(1L), index.search("  da   silva ", 10));
+        }
+
+        @Test
+        @DisplayName("Should return each user once, at most limit users")
+        void shouldDeduplicateAndLimit() {
+            // When
+            List<Long> found = index.search("a", 2);
+
+            // Then
+            assertEquals(List.of(3L, 4L), found);
+        }
+
+        @Test
+        @DisplayName("Should find nothing for an empty prefix")
+        void shouldIgnoreEmptyPrefix() {
+            // When / Then
+            assertEquals(List.of(), index.search(" ", 10));
+            assertEquals(List.of(), index.search(null, 10));
+        }
+
+        @Test
+        @DisplayName("Should search across many blocks of the segment")
+        void shouldSearchLargeSegment() {
+            // Given
+            index.rebuild(builder -> {
+                for (long id = 1; id <= 5000; id++) {
+                    builder.add(id, "user" + id + "@example.com", "User Number " + id);
+                }
+            });
+
+            // When / Then
+            assertEquals(List.of(4321L), index.search("user4321@", 10));
+            assertEquals(List.of(4321L), index.search("number 4321", 10));
+            assertEquals(11, index.search("user432", 20).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Change Tests")
+    class ChangeTests {
+
+        @Test
+        @DisplayName("Should find a new user and forget the old keys of a changed one")
+        void shouldApplyChanges() {
+            // When
+            index.put(5L, "bruno@example.com", "Bruno Silva");
+            index.put(2L, "joao@example.com", "João Pereira");
+
+            // Then
+            assertEquals(List.of(5L), index.search("bruno", 10));
+            assertEquals(List.of(1L, 5L), index.search("silva", 10));
+            assertEquals(List.of(2L), index.search("pereira", 10));
+            assertEquals(2, index.pendingChanges());
+        }
+
+        @Test
+        @DisplayName("Should keep the same results after folding the changes into the segment")
+        void shouldCompactChanges() {
+            // Given
+            index.put(5L, "bruno@example.com", "Bruno Silva");
+            index.put(2L, "joao@example.com", "João Pereira");
+            index.put(2L, "joao@example.com", "João Pereira Lima");
+
+            // When
+            index.compact();
+
+            // Then
+            assertEquals(0, index.pendingChanges());
+            assertEquals(List.of(1L, 5L), index.search("silva", 10));
+            assertEquals(List.of(2L), index.search("lima", 10));
+            assertEquals(List.of(3L, 4L), index.search("ana", 10));
+        }
+
+        @Test
+        @DisplayName("Should keep changes made while a rebuild reads its source")
+        void shouldKeepChangesMadeDuringRebuild() {
+            // When
+            index.rebuild(builder -> {
+                builder.add(1L, "maria.silva@example.com", "Maria da Silva");
+                index.put(1L, "maria.silva@example.com", "Maria Costa");
+            });
+
+            // Then
+            assertEquals(List.of(), index.search("silva s", 10));
+            assertEquals(List.of(1L), index.search("costa", 10));
+            assertEquals(List.of(), index.search("joao", 10));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package br.com.authentication.service;
+
+import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.model.UserStatus;
+import br.com.authentication.domain.repository.UserRepository;
+import br.com.authentication.domain.repository.UserRepositoryCustom.UserSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserSearchService Tests")
+class UserSearchServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSearchService userSearchService;
+
+    @BeforeEach
+    void setUp() {
+        userSearchService = new UserSearchService(userRepository);
+        ReflectionTestUtils.setField(userSearchService, "enabled", true);
+        ReflectionTestUtils.setField(userSearchService, "warmPageSize", 2);
+        ReflectionTestUtils.setField(userSearchService, "compactThreshold", 1000);
+        ReflectionTestUtils.setField(userSearchService, "refreshInterval", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(userSearchService, "refreshOverlap", Duration.ofSeconds(10));
+        userSearchService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userSearchService.stop();
+    }
+
+    @Nested
+    @DisplayName("Warm-up Tests")
+    class WarmTests {
+
+        @Test
+        @DisplayName("Should refuse searches until the index is loaded")
+        void shouldRefuseSearchesBeforeWarm() {
+            // When & Then
+            assertEquals(Optional.empty(), userSearchService.search("ana", 10));
+        }
+
+        @Test
+        @DisplayName("Should load every page and answer prefix searches")
+        void shouldLoadEveryPage() {
+            // Given
+            stubUsers(summary(1L, "ana@example.com", "Ana Silva"),
+                    summary(2L, "bruno@example.com", "Bruno Costa"),
+                    summary(3L, "carla@example.com", "Carla Souza"));
+
+            // When
+            int loaded = userSearchService.warm();
+
+            // Then
+            assertEquals(3, loaded);
+            assertEquals(Optional.of(List.of(1L)), userSearchService.search("ana", 10));
+            assertEquals(Optional.of(List.of(3L)), userSearchService.search("souza", 10));
+            verify(userRepository).forEachUser(any(), eq(0L), eq(2), any());
+            verify(userRepository).forEachUser(any(), eq(2L), eq(2), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should index users changed on this node")
+        void shouldIndexLocalChanges() {
+            // Given
+            stubUsers();
+            userSearchService.warm();
+
+            // When
+            userSearchService.indexUsers(List.of(user(5L, "nova@example.com", "Nova Pessoa")));
+
+            // Then
+            assertEquals(Optional.of(List.of(5L)), userSearchService.search("pessoa", 10));
+        }
+
+        @Test
+        @DisplayName("Should drop the old name when a user is renamed")
+        void shouldReplaceKeysOnRename() {
+            // Given
+            stubUsers(summary(1L, "user1@example.com", "Ana Silva"));
+            userSearchService.warm();
+
+            // When
+            userSearchService.indexUsers(List.of(user(1L, "user1@example.com", "Beatriz Souza")));
+
+            // Then
+            assertEquals(Optional.of(List.of()), userSearchService.search("silva", 10));
+            assertEquals(Optional.of(List.of(1L)), userSearchService.search("souza", 10));
+        }
+
+        @Test
+        @DisplayName("Should pick up users changed on other replicas since the last refresh")
+        void shouldRefreshChangesFromOtherReplicas() {
+            // Given
+            stubUsers(summary(1L, "user1@example.com", "Ana Silva"));
+            userSearchService.warm();
+            when(userRepository.forEachUserUpdatedSince(any(), anyLong(), anyInt(), any())).thenAnswer(invocation -> {
+                Consumer<UserSummary> action = invocation.getArgument(3);
+                action.accept(summary(1L, "user1@example.com", "Ana Pereira"));
+                action.accept(summary(9L, "remote@example.com", "Remote User"));
+                return 2;
+            }).thenReturn(0);
+
+            // When
+            int refreshed = userSearchService.refresh();
+
+            // Then
+            assertEquals(2, refreshed);
+            assertEquals(Optional.of(List.of(1L)), userSearchService.search("pereira", 10));
+            assertEquals(Optional.of(List.of(9L)), userSearchService.search("remote", 10));
+            assertEquals(Optional.of(List.of()), userSearchService.search("silva", 10));
+            ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+            verify(userRepository, times(2)).forEachUserUpdatedSince(since.capture(), anyLong(), eq(2), any());
+            assertTrue(since.getValue().isBefore(LocalDateTime.now().minusSeconds(9)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Compaction Tests")
+    class CompactionTests {
+
+        @Test
+        @DisplayName("Should fold changes into the segment once the threshold is reached")
+        void shouldCompactAfterThreshold() throws InterruptedException {
+            // Given
+            ReflectionTestUtils.setField(userSearchService, "compactThreshold", 2);
+            stubUsers(summary(1L, "ana@example.com", "Ana Silva"));
+            userSearchService.warm();
+
+            // When
+            userSearchService.indexUsers(List.of(
+                    user(2L, "bruno@example.com", "Bruno Costa"),
+                    user(3L, "carla@example.com", "Carla Souza")));
+
+            // Then
+            UserPrefixIndex index = (UserPrefixIndex) ReflectionTestUtils.getField(userSearchService, "index");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (index.pendingChanges() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(0, index.pendingChanges());
+            assertEquals(Optional.of(List.of(1L)), userSearchService.search("ana", 10));
+            assertEquals(Optional.of(List.of(2L)), userSearchService.search("costa", 10));
+            assertEquals(Optional.of(List.of(3L)), userSearchService.search("carla", 10));
+        }
+    }
+
+    private void stubUsers(UserSummary... users) {
+        when(userRepository.forEachUser(any(), anyLong(), anyInt(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(1);
+            int limit = invocation.getArgument(2);
+            Consumer<UserSummary> action = invocation.getArgument(3);
+            List<UserSummary> page = Arrays.stream(users)
+                    .filter(user -> user.id() > afterId)
+                    .limit(limit)
+                    .toList();
+            page.forEach(action);
+            return page.size();
+        });
+    }
+
+    private static UserSummary summary(long id, String email, String fullName) {
+        return new UserSummary(id, email, fullName, UserStatus.ACTIVE, null, true, LocalDateTime.of(2026, 1, 1, 10, 0));
+    }
+
+    private static User user(long id, String email, String fullName) {
+        return User.builder().id(id).email(email).fullName(fullName).build();
+    }
+}
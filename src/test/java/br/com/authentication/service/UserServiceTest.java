@@ -1,9 +1,17 @@
 package br.com.authentication.service;
 
+import br.com.authentication.domain.model.EmailType;
 import br.com.authentication.domain.model.User;
 import br.com.authentication.domain.model.UserStatus;
 import br.com.authentication.domain.model.ExternalProvider;
 import br.com.authentication.domain.repository.UserRepository;
+import br.com.authentication.domain.repository.UserRepositoryCustom.PasswordUpgrade;
+import br.com.authentication.domain.repository.UserRepositoryCustom.ProfileColumn;
+import br.com.authentication.service.IUserService.ProfileUpdate;
+import br.com.authentication.service.IUserService.Registration;
+import br.com.authentication.service.IUserService.TokenRedemption;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,12 +19,15 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,11 +45,17 @@ class UserServiceTest {
     private PasswordEncoder passwordEncoder;
 
     @Mock
-    private IEmailService emailService;
+    private IEmailOutboxService emailOutboxService;
 
     @Mock
     private IJwtService jwtService;
 
+    @Mock
+    private IUserSearchService userSearchService;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private UserService userService;
 
@@ -49,6 +66,7 @@ class UserServiceTest {
 
     @BeforeEach
     void setUp() {
+        userService.start();
         testEmail = "test@example.com";
         testPassword = "ValidPass123!";
         testFullName = "Test User";
@@ -92,9 +110,10 @@ class UserServiceTest {
             when(userRepository.save(any(User.class))).thenReturn(expectedUser);
 
             // When
-            User createdUser = userService.createUser(testEmail, testPassword, testFullName);
+            Registration registration = userService.createUser(testEmail, testPassword, testFullName);
 
             // Then
+            User createdUser = assertInstanceOf(Registration.Registered.class, registration).user();
             assertNotNull(createdUser);
             assertEquals(testEmail, createdUser.email);
             assertEquals(testFullName, createdUser.fullName);
@@ -107,23 +126,57 @@ class UserServiceTest {
             verify(passwordEncoder).encode(testPassword);
             verify(userRepository).existsByEmail(testEmail);
             verify(userRepository).save(any(User.class));
-            verify(emailService).sendEmailVerification(createdUser);
+            verify(userRepository).adjustUserCount(1);
+            verify(userSearchService).indexUsers(List.of(createdUser));
+            verify(emailOutboxService).enqueue(EmailType.EMAIL_VERIFICATION, createdUser);
         }
 
         @Test
-        @DisplayName("Should throw exception when user already exists")
-        void shouldThrowExceptionWhenUserAlreadyExists() {
+        @DisplayName("Should time the lookup, hash and persist stages of a registration")
+        void shouldTimeRegistrationStages() {
+            // Given
+            when(userRepository.existsByEmail(testEmail)).thenReturn(false);
+            when(passwordEncoder.encode(testPassword)).thenReturn("hashedPassword123");
+            when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+            // When
+            userService.createUser(testEmail, testPassword, testFullName);
+
+            // Then
+            for (String stage : new String[]{"lookup", "hash", "persist"}) {
+                assertEquals(1, meterRegistry.get(AuthMetrics.REGISTRATION_STAGE).tag("stage", stage).timer().count(), stage);
+            }
+        }
+
+        @Test
+        @DisplayName("Should only time the lookup when the email is taken")
+        void shouldOnlyTimeLookupWhenEmailTaken() {
             // Given
             when(userRepository.existsByEmail(testEmail)).thenReturn(true);
 
-            // When & Then
-            assertThrows(IllegalArgumentException.class, () -> {
-                userService.createUser(testEmail, testPassword, testFullName);
-            });
+            // When
+            userService.createUser(testEmail, testPassword, testFullName);
+
+            // Then
+            assertEquals(1, meterRegistry.get(AuthMetrics.REGISTRATION_STAGE).tag("stage", "lookup").timer().count());
+            assertEquals(0, meterRegistry.get(AuthMetrics.REGISTRATION_STAGE).tag("stage", "hash").timer().count());
+        }
+
+        @Test
+        @DisplayName("Should report a taken email when user already exists")
+        void shouldReportEmailTakenWhenUserAlreadyExists() {
+            // Given
+            when(userRepository.existsByEmail(testEmail)).thenReturn(true);
+
+            // When
+            Registration registration = userService.createUser(testEmail, testPassword, testFullName);
+
+            // Then
+            assertInstanceOf(Registration.EmailTaken.class, registration);
 
             verify(userRepository).existsByEmail(testEmail);
             verify(userRepository, never()).save(any(User.class));
-            verify(emailService, never()).sendEmailVerification(any(User.class));
+            verify(emailOutboxService, never()).enqueue(any(EmailType.class), any(User.class));
         }
 
         @Test
@@ -198,24 +251,21 @@ class UserServiceTest {
             when(userRepository.findByEmail(testEmail)).thenReturn(Optional.of(testUser));
 
             // When
-            User foundUser = userService.findByEmail(testEmail);
+            User foundUser = userService.findByEmail(testEmail).orElseThrow();
 
             // Then
-            assertNotNull(foundUser);
             assertEquals(testEmail, foundUser.email);
             verify(userRepository).findByEmail(testEmail);
         }
 
         @Test
-        @DisplayName("Should throw exception when user does not exist")
-        void shouldThrowExceptionWhenUserDoesNotExist() {
+        @DisplayName("Should return empty when user does not exist")
+        void shouldReturnEmptyWhenUserDoesNotExist() {
             // Given
             when(userRepository.findByEmail(testEmail)).thenReturn(Optional.empty());
 
             // When & Then
-            assertThrows(UsernameNotFoundException.class, () -> {
-                userService.findByEmail(testEmail);
-            });
+            assertTrue(userService.findByEmail(testEmail).isEmpty());
             verify(userRepository).findByEmail(testEmail);
         }
 
@@ -237,10 +287,9 @@ class UserServiceTest {
             when(userRepository.findByEmailVerificationToken(token)).thenReturn(Optional.of(testUser));
 
             // When
-            User foundUser = userService.findByEmailVerificationToken(token);
+            User foundUser = userService.findByEmailVerificationToken(token).orElseThrow();
 
             // Then
-            assertNotNull(foundUser);
             assertEquals(token, foundUser.emailVerificationToken);
             verify(userRepository).findByEmailVerificationToken(token);
         }
@@ -263,10 +312,9 @@ class UserServiceTest {
             when(userRepository.findByPasswordResetToken(token)).thenReturn(Optional.of(testUser));
 
             // When
-            User foundUser = userService.findByPasswordResetToken(token);
+            User foundUser = userService.findByPasswordResetToken(token).orElseThrow();
 
             // Then
-            assertNotNull(foundUser);
             assertEquals(token, foundUser.passwordResetToken);
             verify(userRepository).findByPasswordResetToken(token);
         }
@@ -296,9 +344,10 @@ class UserServiceTest {
             when(userRepository.save(any(User.class))).thenReturn(testUser);
 
             // When
-            userService.verifyEmail(token);
+            TokenRedemption result = userService.verifyEmail(token);
 
             // Then
+            assertEquals(TokenRedemption.REDEEMED, result);
             assertTrue(testUser.emailVerified);
             assertNull(testUser.emailVerificationToken);
             assertNull(testUser.emailVerificationTokenExpiry);
@@ -309,24 +358,22 @@ class UserServiceTest {
         }
 
         @Test
-        @DisplayName("Should throw exception when verification token is invalid")
-        void shouldThrowExceptionWhenVerificationTokenIsInvalid() {
+        @DisplayName("Should report an invalid verification token")
+        void shouldReportInvalidVerificationToken() {
             // Given
             String token = "invalid-token";
             when(userRepository.findByEmailVerificationToken(token)).thenReturn(Optional.empty());
 
             // When & Then
-            assertThrows(IllegalArgumentException.class, () -> {
-                userService.verifyEmail(token);
-            });
+            assertEquals(TokenRedemption.INVALID, userService.verifyEmail(token));
 
             verify(userRepository).findByEmailVerificationToken(token);
             verify(userRepository, never()).save(any(User.class));
         }
 
         @Test
-        @DisplayName("Should throw exception when verification token is expired")
-        void shouldThrowExceptionWhenVerificationTokenIsExpired() {
+        @DisplayName("Should report an expired verification token")
+        void shouldReportExpiredVerificationToken() {
             // Given
             String token = "expired-token";
             testUser = User.builder()
@@ -343,9 +390,7 @@ class UserServiceTest {
             when(userRepository.findByEmailVerificationToken(token)).thenReturn(Optional.of(testUser));
 
             // When & Then
-            assertThrows(IllegalArgumentException.class, () -> {
-                userService.verifyEmail(token);
-            });
+            assertEquals(TokenRedemption.EXPIRED, userService.verifyEmail(token));
 
             verify(userRepository).findByEmailVerificationToken(token);
             verify(userRepository, never()).save(any(User.class));
@@ -364,31 +409,30 @@ class UserServiceTest {
             when(userRepository.save(any(User.class))).thenReturn(testUser);
 
             // When
-            userService.initiatePasswordReset(testEmail);
+            boolean initiated = userService.initiatePasswordReset(testEmail);
 
             // Then
+            assertTrue(initiated);
             assertNotNull(testUser.passwordResetToken);
             assertNotNull(testUser.passwordResetTokenExpiry);
 
             verify(userRepository).findByEmail(testEmail);
             verify(userRepository).save(testUser);
-            verify(emailService).sendPasswordResetEmail(testUser);
+            verify(emailOutboxService).enqueue(EmailType.PASSWORD_RESET, testUser);
         }
 
         @Test
-        @DisplayName("Should throw exception when user does not exist for password reset")
-        void shouldThrowExceptionWhenUserDoesNotExistForPasswordReset() {
+        @DisplayName("Should not initiate password reset when user does not exist")
+        void shouldNotInitiatePasswordResetWhenUserDoesNotExist() {
             // Given
             when(userRepository.findByEmail(testEmail)).thenReturn(Optional.empty());
 
             // When & Then
-            assertThrows(UsernameNotFoundException.class, () -> {
-                userService.initiatePasswordReset(testEmail);
-            });
+            assertFalse(userService.initiatePasswordReset(testEmail));
 
             verify(userRepository).findByEmail(testEmail);
             verify(userRepository, never()).save(any(User.class));
-            verify(emailService, never()).sendPasswordResetEmail(any(User.class));
+            verify(emailOutboxService, never()).enqueue(any(EmailType.class), any(User.class));
         }
 
         @Test
@@ -414,9 +458,10 @@ class UserServiceTest {
             when(userRepository.save(any(User.class))).thenReturn(testUser);
 
             // When
-            userService.resetPassword(token, newPassword);
+            TokenRedemption result = userService.resetPassword(token, newPassword);
 
             // Then
+            assertEquals(TokenRedemption.REDEEMED, result);
             assertEquals(hashedPassword, testUser.password);
             assertNull(testUser.passwordResetToken);
             assertNull(testUser.passwordResetTokenExpiry);
@@ -427,17 +472,15 @@ class UserServiceTest {
         }
 
         @Test
-        @DisplayName("Should throw exception when reset token is invalid")
-        void shouldThrowExceptionWhenResetTokenIsInvalid() {
+        @DisplayName("Should report an invalid reset token")
+        void shouldReportInvalidResetToken() {
             // Given
             String token = "invalid-token";
             String newPassword = "NewPass123!";
             when(userRepository.findByPasswordResetToken(token)).thenReturn(Optional.empty());
 
             // When & Then
-            assertThrows(IllegalArgumentException.class, () -> {
-                userService.resetPassword(token, newPassword);
-            });
+            assertEquals(TokenRedemption.INVALID, userService.resetPassword(token, newPassword));
 
             verify(userRepository).findByPasswordResetToken(token);
             verify(passwordEncoder, never()).encode(anyString());
@@ -476,11 +519,15 @@ class UserServiceTest {
             // Given
             when(userRepository.findByEmail(testEmail)).thenReturn(Optional.empty());
 
-            // When & Then
-            assertThrows(UsernameNotFoundException.class, () -> {
+            // When
+            UsernameNotFoundException thrown = assertThrows(UsernameNotFoundException.class, () -> {
                 userService.loadUserByUsername(testEmail);
             });
 
+            // Then
+            assertSame(AuthenticationFailures.USER_NOT_FOUND, thrown);
+            assertEquals(0, thrown.getStackTrace().length);
+
             verify(userRepository).findByEmail(testEmail);
         }
     }
@@ -490,28 +537,71 @@ class UserServiceTest {
     class ProfileManagementTests {
 
         @Test
-        @DisplayName("Should update profile successfully")
+        @DisplayName("Should update only the changed profile fields with a version check")
         void shouldUpdateProfileSuccessfully() {
             // Given
-            String newFullName = "Updated Full Name";
             String newPhone = "+1234567890";
             String newProfilePicture = "https://example.com/profile.jpg";
-            when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
-                User user = invocation.getArgument(0);
-                user.updatedAt = LocalDateTime.now();
-                return user;
-            });
+            testUser.version = 3L;
+            when(userRepository.updateProfile(eq(1L), eq(3L), anyMap(), any(LocalDateTime.class))).thenReturn(1);
 
             // When
-            User updatedUser = userService.updateProfile(testUser, newFullName, newPhone, newProfilePicture);
+            ProfileUpdate update = userService.updateProfile(testUser, testFullName, newPhone, newProfilePicture);
 
             // Then
-            assertEquals(newFullName, updatedUser.fullName);
+            User updatedUser = assertInstanceOf(ProfileUpdate.Updated.class, update).user();
+            assertEquals(testFullName, updatedUser.fullName);
             assertEquals(newPhone, updatedUser.phone);
             assertEquals(newProfilePicture, updatedUser.profilePicture);
             assertNotNull(updatedUser.updatedAt);
+            assertEquals(4L, updatedUser.version);
 
-            verify(userRepository).save(testUser);
+            verify(userRepository).updateProfile(eq(1L), eq(3L), eq(Map.of(
+                    ProfileColumn.PHONE, newPhone,
+                    ProfileColumn.PROFILE_PICTURE, newProfilePicture)), any(LocalDateTime.class));
+            verify(userRepository, never()).save(any(User.class));
+        }
+
+        @Test
+        @DisplayName("Should report a conflict and leave the user unchanged when the version moved")
+        void shouldReportConflictOnStaleVersion() {
+            // Given
+            testUser.version = 3L;
+            when(userRepository.updateProfile(eq(1L), eq(3L), anyMap(), any(LocalDateTime.class))).thenReturn(0);
+
+            // When
+            ProfileUpdate update = userService.updateProfile(testUser, "Updated Full Name", null, null);
+
+            // Then
+            assertInstanceOf(ProfileUpdate.Conflict.class, update);
+            assertEquals(testFullName, testUser.fullName);
+            assertEquals(3L, testUser.version);
+        }
+
+        @Test
+        @DisplayName("Should treat a missing version as 0 instead of failing")
+        void shouldUpdateProfileWithoutVersion() {
+            // Given
+            testUser.version = null;
+            when(userRepository.updateProfile(eq(1L), eq(0L), anyMap(), any(LocalDateTime.class))).thenReturn(1);
+
+            // When
+            ProfileUpdate update = userService.updateProfile(testUser, "Updated Full Name", null, null);
+
+            // Then
+            assertInstanceOf(ProfileUpdate.Updated.class, update);
+            assertEquals(1L, testUser.version);
+        }
+
+        @Test
+        @DisplayName("Should not write anything when the profile is unchanged")
+        void shouldSkipUpdateWhenProfileIsUnchanged() {
+            // When
+            ProfileUpdate update = userService.updateProfile(testUser, testFullName, null, null);
+
+            // Then
+            assertInstanceOf(ProfileUpdate.Updated.class, update);
+            verifyNoInteractions(userRepository);
         }
 
         @Test
@@ -608,18 +698,42 @@ class UserServiceTest {
         }
 
         @Test
-        @DisplayName("Should count users correctly")
+        @DisplayName("Should count users from the user counter")
         void shouldCountUsersCorrectly() {
             // Given
             long expectedCount = 5L;
-            when(userRepository.count()).thenReturn(expectedCount);
+            when(userRepository.approximateUserCount()).thenReturn(expectedCount);
 
             // When
             long actualCount = userService.countUsers();
 
             // Then
             assertEquals(expectedCount, actualCount);
-            verify(userRepository).count();
+            verify(userRepository).approximateUserCount();
+            verify(userRepository, never()).count();
+        }
+    }
+
+    @Nested
+    @DisplayName("Password Upgrade Tests")
+    class PasswordUpgradeTests {
+
+        @Test
+        @DisplayName("Should store the upgraded hash with a targeted update")
+        void shouldStoreUpgradedHashWithTargetedUpdate() {
+            // Given
+            String upgradedHash = "$2a$12$upgradedHash";
+            String verifiedHash = testUser.password;
+            when(userRepository.updateUserPasswords(anyMap())).thenReturn(1);
+
+            // When
+            UserDetails result = userService.updatePassword(testUser, upgradedHash);
+
+            // Then
+            assertSame(testUser, result);
+            assertEquals(upgradedHash, testUser.password);
+            verify(userRepository).updateUserPasswords(Map.of(testUser.id, new PasswordUpgrade(verifiedHash, upgradedHash)));
+            verify(userRepository, never()).save(any(User.class));
         }
     }
 }
@@ -0,0 +1,100 @@
+package br.com.authentication.usecase.user.bulkimport.endpoint;
+
+import br.com.authentication.config.TestSecurityConfig;
+import br.com.authentication.service.IUserImportService;
+import br.com.authentication.service.IUserImportService.ImportBatchResult;
+import br.com.authentication.usecase.user.bulkimport.mapping.ImportUserMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ImportUsersEndpoint.class)
+@Import({TestSecurityConfig.class, ImportUserMapper.class})
+@DisplayName("ImportUsersEndpoint Tests")
+class ImportUsersEndpointTest {
+
+    private static final String ROW = "{\"email\":\"ana@example.com\",\"fullName\":\"Ana Silva\",\"password\":\"Secret123!\"}\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IUserImportService userImportService;
+
+    @Nested
+    @DisplayName("Async Timeout Tests")
+    class AsyncTimeoutTests {
+
+        @Test
+        @DisplayName("Should stream the import under the long async timeout instead of the container default")
+        void shouldUseConfiguredAsyncTimeout() throws Exception {
+            // Given
+            when(userImportService.importBatch(anyList())).thenReturn(new ImportBatchResult(1, List.of()));
+
+            // When
+            MvcResult result = startImport();
+
+            // Then
+            assertEquals(Duration.ofHours(6).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("\"type\":\"summary\"")));
+        }
+
+        @Test
+        @DisplayName("Should end the request with 503 when the async timeout fires mid-import")
+        void shouldAnswerServiceUnavailableOnTimeout() throws Exception {
+            // Given
+            CountDownLatch release = new CountDownLatch(1);
+            when(userImportService.importBatch(anyList())).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return new ImportBatchResult(1, List.of());
+            });
+            MvcResult result = startImport();
+
+            // When
+            try {
+                MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+                for (AsyncListener listener : asyncContext.getListeners()) {
+                    listener.onTimeout(new AsyncEvent(asyncContext));
+                }
+
+                // Then
+                mockMvc.perform(asyncDispatch(result))
+                        .andExpect(status().isServiceUnavailable());
+            } finally {
+                release.countDown();
+            }
+        }
+    }
+
+    private MvcResult startImport() throws Exception {
+        return mockMvc.perform(post("/api/admin/users/import")
+                        .contentType("application/x-ndjson")
+                        .content(ROW))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
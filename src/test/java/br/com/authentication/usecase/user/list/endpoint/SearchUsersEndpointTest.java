@@ -0,0 +1,83 @@
+package br.com.authentication.usecase.user.list.endpoint;
+
+import br.com.authentication.config.TestSecurityConfig;
+import br.com.authentication.domain.model.UserStatus;
+import br.com.authentication.domain.repository.UserRepositoryCustom.UserSummary;
+import br.com.authentication.service.IUserSearchService;
+import br.com.authentication.service.IUserService;
+import br.com.authentication.usecase.user.list.mapping.UserListMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SearchUsersEndpoint.class)
+@Import({TestSecurityConfig.class, UserListMapper.class})
+@DisplayName("SearchUsersEndpoint Tests")
+class SearchUsersEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IUserSearchService userSearchService;
+
+    @MockBean
+    private IUserService userService;
+
+    @Test
+    @DisplayName("Should return the matching users")
+    void shouldReturnMatchingUsers() throws Exception {
+        // Given
+        when(userSearchService.search("ana", 10)).thenReturn(Optional.of(List.of(1L)));
+        when(userService.findUserSummaries(List.of(1L))).thenReturn(List.of(new UserSummary(1L, "ana@example.com",
+                "Ana Silva", UserStatus.ACTIVE, null, true, LocalDateTime.of(2026, 1, 1, 10, 0))));
+
+        // When & Then
+        mockMvc.perform(get("/api/admin/users/search").param("q", "ana"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(1))
+                .andExpect(jsonPath("$.data[0].email").value("ana@example.com"))
+                .andExpect(jsonPath("$.data[0].fullName").value("Ana Silva"));
+    }
+
+    @Test
+    @DisplayName("Should cap the limit at the configured maximum")
+    void shouldCapLimit() throws Exception {
+        // Given
+        when(userSearchService.search("ana", 50)).thenReturn(Optional.of(List.of()));
+        when(userService.findUserSummaries(List.of())).thenReturn(List.of());
+
+        // When & Then
+        mockMvc.perform(get("/api/admin/users/search").param("q", "ana").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").isEmpty());
+        verify(userSearchService).search("ana", 50);
+    }
+
+    @Test
+    @DisplayName("Should return 503 while the index is loading")
+    void shouldReturnUnavailableWhileLoading() throws Exception {
+        // Given
+        when(userSearchService.search(anyString(), anyInt())).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/admin/users/search").param("q", "ana"))
+                .andExpect(status().isServiceUnavailable());
+        verify(userService, never()).findUserSummaries(any());
+    }
+}
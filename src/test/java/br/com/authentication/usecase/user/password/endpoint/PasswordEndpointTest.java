@@ -0,0 +1,72 @@
+package br.com.authentication.usecase.user.password.endpoint;
+
+import br.com.authentication.config.TestSecurityConfig;
+import br.com.authentication.service.IUserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PasswordEndpoint.class)
+@Import(TestSecurityConfig.class)
+@DisplayName("PasswordEndpoint Tests")
+class PasswordEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IUserService userService;
+
+    @Nested
+    @DisplayName("Forgot Password Tests")
+    class ForgotPasswordTests {
+
+        @Test
+        @DisplayName("Should answer known and unknown emails identically")
+        void shouldAnswerKnownAndUnknownEmailsIdentically() throws Exception {
+            // Given
+            when(userService.initiatePasswordReset("known@example.com")).thenReturn(true);
+            when(userService.initiatePasswordReset("unknown@example.com")).thenReturn(false);
+
+            // When
+            String known = forgotPassword("known@example.com");
+            String unknown = forgotPassword("unknown@example.com");
+
+            // Then
+            assertEquals(known, unknown);
+            verify(userService).initiatePasswordReset("known@example.com");
+            verify(userService).initiatePasswordReset("unknown@example.com");
+        }
+
+        @Test
+        @DisplayName("Should answer a failed reset like an unknown email")
+        void shouldHideFailures() throws Exception {
+            // Given
+            when(userService.initiatePasswordReset("known@example.com")).thenThrow(new IllegalStateException("smtp down"));
+            when(userService.initiatePasswordReset("unknown@example.com")).thenReturn(false);
+
+            // When & Then
+            assertEquals(forgotPassword("unknown@example.com"), forgotPassword("known@example.com"));
+        }
+    }
+
+    private String forgotPassword(String email) throws Exception {
+        return mockMvc.perform(post("/api/auth/forgot-password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.message").value("If the email exists, a password reset link has been sent"))
+                .andReturn().getResponse().getContentAsString();
+    }
+}
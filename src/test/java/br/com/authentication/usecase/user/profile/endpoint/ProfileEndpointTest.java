@@ -0,0 +1,234 @@
+package br.com.authentication.usecase.user.profile.endpoint;
+
+import br.com.authentication.config.TestSecurityConfig;
+import br.com.authentication.domain.model.Role;
+import br.com.authentication.domain.model.User;
+import br.com.authentication.domain.model.UserStatus;
+import br.com.authentication.service.IUserService;
+import br.com.authentication.service.IUserService.ProfileUpdate;
+import br.com.authentication.usecase.user.profile.mapping.ProfileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ProfileEndpoint.class)
+@Import({TestSecurityConfig.class, ProfileMapper.class})
+@DisplayName("ProfileEndpoint Tests")
+class ProfileEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IUserService userService;
+
+    @SpyBean
+    private ProfileMapper profileMapper;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .id(42L)
+                .email("test@example.com")
+                .password("hashedPassword123")
+                .fullName("Test User")
+                .status(UserStatus.ACTIVE)
+                .emailVerified(true)
+                .roles(Set.of(Role.USER))
+                .createdAt(LocalDateTime.of(2026, 1, 1, 10, 0))
+                .updatedAt(LocalDateTime.of(2026, 2, 1, 10, 0))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Conditional GET Tests")
+    class ConditionalGetTests {
+
+        @Test
+        @DisplayName("Should return the profile with validators and private cache headers")
+        void shouldReturnProfileWithValidators() throws Exception {
+            // When & Then
+            mockMvc.perform(get("/api/user/profile").with(authentication(authenticated(user))))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.ETAG))
+                    .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                    .andExpect(jsonPath("$.data.email").value("test@example.com"));
+        }
+
+        @Test
+        @DisplayName("Should return 304 without building the body when the ETag matches")
+        void shouldReturnNotModifiedForMatchingEtag() throws Exception {
+            // Given
+            String etag = firstResponseEtag();
+            clearInvocations(profileMapper);
+
+            // When & Then
+            MvcResult result = mockMvc.perform(get("/api/user/profile")
+                            .header(HttpHeaders.IF_NONE_MATCH, etag)
+                            .with(authentication(authenticated(user))))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                    .andReturn();
+
+            assertEquals(0, result.getResponse().getContentLength());
+            verify(profileMapper, never()).toResponse(any());
+        }
+
+        @Test
+        @DisplayName("Should return the new profile once it changed")
+        void shouldReturnProfileAfterChange() throws Exception {
+            // Given
+            String etag = firstResponseEtag();
+            user.phone = "+5511999999999";
+
+            // When & Then
+            mockMvc.perform(get("/api/user/profile")
+                            .header(HttpHeaders.IF_NONE_MATCH, etag)
+                            .with(authentication(authenticated(user))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.phone").value("+5511999999999"));
+        }
+
+        @Test
+        @DisplayName("Should give users with the same update time different ETags")
+        void shouldDifferBetweenUsers() {
+            // Given
+            User other = User.builder()
+                    .id(43L)
+                    .email("other@example.com")
+                    .fullName("Test User")
+                    .roles(Set.of(Role.USER))
+                    .createdAt(user.createdAt)
+                    .updatedAt(user.updatedAt)
+                    .build();
+
+            // When / Then
+            assertNotEquals(profileMapper.etag(user), profileMapper.etag(other));
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional PUT Tests")
+    class ConditionalPutTests {
+
+        private static final String UPDATE_BODY = "{\"fullName\":\"Updated User\"}";
+
+        @Test
+        @DisplayName("Should update when If-Match carries the current ETag and return the new ETag")
+        void shouldUpdateWhenEtagMatches() throws Exception {
+            // Given
+            String etag = firstResponseEtag();
+            when(userService.updateProfile(eq(user), eq("Updated User"), isNull(), isNull())).thenAnswer(invocation -> {
+                user.fullName = "Updated User";
+                return new ProfileUpdate.Updated(user);
+            });
+
+            // When
+            String newEtag = mockMvc.perform(put("/api/user/profile")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(UPDATE_BODY)
+                            .header(HttpHeaders.IF_MATCH, etag)
+                            .with(authentication(authenticated(user))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.fullName").value("Updated User"))
+                    .andReturn()
+                    .getResponse()
+                    .getHeader(HttpHeaders.ETAG);
+
+            // Then
+            assertNotNull(newEtag);
+            assertNotEquals(etag, newEtag);
+        }
+
+        @Test
+        @DisplayName("Should answer 412 without writing when the profile changed since the client read it")
+        void shouldRejectStaleEtag() throws Exception {
+            // Given
+            String etag = firstResponseEtag();
+            user.phone = "+5511999999999";
+
+            // When & Then
+            mockMvc.perform(put("/api/user/profile")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(UPDATE_BODY)
+                            .header(HttpHeaders.IF_MATCH, etag)
+                            .with(authentication(authenticated(user))))
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(jsonPath("$.success").value(false));
+            verify(userService, never()).updateProfile(any(), anyString(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should update the current profile when no If-Match is sent")
+        void shouldUpdateWithoutPrecondition() throws Exception {
+            // Given
+            when(userService.updateProfile(eq(user), eq("Updated User"), isNull(), isNull()))
+                    .thenReturn(new ProfileUpdate.Updated(user));
+
+            // When & Then
+            mockMvc.perform(put("/api/user/profile")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(UPDATE_BODY)
+                            .with(authentication(authenticated(user))))
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("Should answer 409 when the version moved between the read and the write")
+        void shouldReportConflictFromVersionCheck() throws Exception {
+            // Given
+            String etag = firstResponseEtag();
+            when(userService.updateProfile(eq(user), eq("Updated User"), isNull(), isNull()))
+                    .thenReturn(new ProfileUpdate.Conflict());
+
+            // When & Then
+            mockMvc.perform(put("/api/user/profile")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(UPDATE_BODY)
+                            .header(HttpHeaders.IF_MATCH, etag)
+                            .with(authentication(authenticated(user))))
+                    .andExpect(status().isConflict());
+        }
+    }
+
+    private String firstResponseEtag() throws Exception {
+        return mockMvc.perform(get("/api/user/profile").with(authentication(authenticated(user))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+
+    private static UsernamePasswordAuthenticationToken authenticated(User user) {
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+}
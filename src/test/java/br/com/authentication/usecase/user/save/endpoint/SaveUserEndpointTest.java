@@ -6,6 +6,7 @@ import br.com.authentication.domain.model.UserStatus;
 import br.com.authentication.service.IEmailService;
 import br.com.authentication.service.IJwtService;
 import br.com.authentication.service.IUserService;
+import br.com.authentication.service.IUserService.Registration;
 import br.com.authentication.usecase.user.create.contract.RegisterUserRequest;
 import br.com.authentication.usecase.user.create.contract.RegisterUserResponse;
 import br.com.authentication.usecase.user.create.endpoint.SaveUserEndpoint;
@@ -93,7 +94,7 @@ class SaveUserEndpointTest {
         @DisplayName("Should register user successfully with valid data")
         void shouldRegisterUserSuccessfullyWithValidData() throws Exception {
             // Given
-            when(userService.createUser(anyString(), anyString(), anyString())).thenReturn(mockUser);
+            when(userService.createUser(anyString(), anyString(), anyString())).thenReturn(new Registration.Registered(mockUser));
             when(userMapper.toResponse(mockUser)).thenReturn(mockResponse);
 
             // When & Then
@@ -116,7 +117,7 @@ class SaveUserEndpointTest {
         @DisplayName("Should return 201 status code for successful registration")
         void shouldReturn201StatusCodeForSuccessfulRegistration() throws Exception {
             // Given
-            when(userService.createUser(anyString(), anyString(), anyString())).thenReturn(mockUser);
+            when(userService.createUser(anyString(), anyString(), anyString())).thenReturn(new Registration.Registered(mockUser));
             when(userMapper.toResponse(mockUser)).thenReturn(mockResponse);
 
             // When & Then
@@ -306,7 +307,7 @@ class SaveUserEndpointTest {
         void shouldReturn409WhenUserAlreadyExists() throws Exception {
             // Given
             when(userService.createUser(anyString(), anyString(), anyString()))
-                    .thenThrow(new IllegalArgumentException("User already exists"));
+                    .thenReturn(new Registration.EmailTaken());
 
             // When & Then
             mockMvc.perform(post("/api/auth/register")
@@ -315,7 +316,7 @@ class SaveUserEndpointTest {
                     .andExpect(status().isConflict())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                     .andExpect(jsonPath("$.success").value(false))
-                    .andExpect(jsonPath("$.error").value("User already exists"))
+                    .andExpect(jsonPath("$.error").value("User with email test@example.com already exists"))
                     .andExpect(jsonPath("$.data").doesNotExist());
 
             verify(userService).createUser("test@example.com", "ValidPass123!", "Test User");
@@ -379,7 +380,7 @@ class SaveUserEndpointTest {
         @DisplayName("Should return response in correct format")
         void shouldReturnResponseInCorrectFormat() throws Exception {
             // Given
-            when(userService.createUser(anyString(), anyString(), anyString())).thenReturn(mockUser);
+            when(userService.createUser(anyString(), anyString(), anyString())).thenReturn(new Registration.Registered(mockUser));
             when(userMapper.toResponse(mockUser)).thenReturn(mockResponse);
 
             // When & Then
@@ -397,7 +398,7 @@ class SaveUserEndpointTest {
         @DisplayName("Should not expose sensitive information in response")
         void shouldNotExposeSensitiveInformationInResponse() throws Exception {
             // Given
-            when(userService.createUser(anyString(), anyString(), anyString())).thenReturn(mockUser);
+            when(userService.createUser(anyString(), anyString(), anyString())).thenReturn(new Registration.Registered(mockUser));
             when(userMapper.toResponse(mockUser)).thenReturn(mockResponse);
             when(userMapper.toResponse(mockUser)).thenReturn(mockResponse);
 
@@ -422,7 +423,7 @@ class SaveUserEndpointTest {
         void shouldHandleVeryLongFullName() throws Exception {
             // Given
             validRequest.fullName = "A".repeat(100); // Very long name (max allowed)
-            when(userService.createUser(anyString(), anyString(), anyString())).thenReturn(mockUser);
+            when(userService.createUser(anyString(), anyString(), anyString())).thenReturn(new Registration.Registered(mockUser));
             when(userMapper.toResponse(mockUser)).thenReturn(mockResponse);
 
             // When & Then
@@ -439,7 +440,7 @@ class SaveUserEndpointTest {
         void shouldHandleSpecialCharactersInFullName() throws Exception {
             // Given
             validRequest.fullName = "José María O'Connor-Smith";
-            when(userService.createUser(anyString(), anyString(), anyString())).thenReturn(mockUser);
+            when(userService.createUser(anyString(), anyString(), anyString())).thenReturn(new Registration.Registered(mockUser));
             when(userMapper.toResponse(mockUser)).thenReturn(mockResponse);
 
             // When & Then
@@ -456,7 +457,7 @@ class SaveUserEndpointTest {
         void shouldHandleInternationalEmailDomains() throws Exception {
             // Given
             validRequest.email = "test@example.co.uk";
-            when(userService.createUser(anyString(), anyString(), anyString())).thenReturn(mockUser);
+            when(userService.createUser(anyString(), anyString(), anyString())).thenReturn(new Registration.Registered(mockUser));
             when(userMapper.toResponse(mockUser)).thenReturn(mockResponse);
 
             // When & Then
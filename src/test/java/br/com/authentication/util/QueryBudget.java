@@ -0,0 +1,53 @@
+package br.com.authentication.util;
+
+import br.com.authentication.config.SqlStatisticsConfig.SqlStatistics;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc matchers for the SQL issued by one request (see SqlStatisticsConfig), so an endpoint
+ * that starts issuing more statements, typically an N+1, fails the build:
+ * {@code mockMvc.perform(get("/api/user/profile")).andExpect(QueryBudget.atMost(2))}.
+ * The test must not be @Transactional: writes are only flushed when the request's own
+ * transaction commits.
+ */
+public class QueryBudget {
+
+    private QueryBudget() {
+        // Utility class - prevent instantiation
+    }
+
+    public static ResultMatcher atMost(int statements) {
+        return result -> {
+            SqlStatistics statistics = statistics(result.getRequest().getAttribute(SqlStatistics.ATTRIBUTE));
+            assertTrue(statistics.statements() <= statements, () -> result.getRequest().getMethod() + " "
+                    + result.getRequest().getRequestURI() + " has a budget of " + statements
+                    + " SQL statements but issued " + statistics);
+        };
+    }
+
+    public static ResultMatcher selectsAtMost(int selects) {
+        return result -> {
+            SqlStatistics statistics = statistics(result.getRequest().getAttribute(SqlStatistics.ATTRIBUTE));
+            assertTrue(statistics.selects() <= selects, () -> result.getRequest().getMethod() + " "
+                    + result.getRequest().getRequestURI() + " has a budget of " + selects
+                    + " selects but issued " + statistics);
+        };
+    }
+
+    public static ResultMatcher writesAtMost(int writes) {
+        return result -> {
+            SqlStatistics statistics = statistics(result.getRequest().getAttribute(SqlStatistics.ATTRIBUTE));
+            assertTrue(statistics.writes() <= writes, () -> result.getRequest().getMethod() + " "
+                    + result.getRequest().getRequestURI() + " has a budget of " + writes
+                    + " inserts, updates and deletes but issued " + statistics);
+        };
+    }
+
+    private static SqlStatistics statistics(Object attribute) {
+        assertNotNull(attribute, "No SQL statistics on the request: is SqlStatisticsFilter registered in MockMvc?");
+        return (SqlStatistics) attribute;
+    }
+}